@@ -0,0 +1,401 @@
+package com.amore.task.benchmark;
+
+import com.amore.task.TaskApplication;
+import com.amore.task.enums.TaskStatus;
+import com.amore.task.model.ToDo;
+import com.amore.task.model.ToDoResultMessage;
+import com.amore.task.service.TaskShards;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load driver for the REST API. Run with {@code ./gradlew loadTest -PloadArgs="--load.rate=500"};
+ * requests are sent on a fixed schedule and latency is taken from the intended send time, so a stalled server
+ * shows up in the percentiles instead of silently lowering the offered rate (coordinated omission).
+ */
+public class TaskLoadGenerator {
+    private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+    private static final long BASE_MILLIS = 1680307200000L;
+    private static final LocalDate BASE_DATE = LocalDate.of(2023, 4, 1);
+
+    private final LoadOptions options;
+    private final TaskShards taskShards;
+    private final String baseUrl;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Random random = new Random(42);
+    private final OperationStatistics[] statistics = new OperationStatistics[Operation.values().length];
+    private final AtomicLong inFlightCount = new AtomicLong();
+
+    private long[] userNos;
+    private LiveToDos liveToDos;
+    private long createdCount;
+
+    private TaskLoadGenerator(LoadOptions options, TaskShards taskShards, int port) {
+        this.options = options;
+        this.taskShards = taskShards;
+        this.baseUrl = "http://localhost:" + port;
+
+        for (Operation operation : Operation.values()) {
+            statistics[operation.ordinal()] = new OperationStatistics();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run(args);
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+        try {
+            TaskLoadGenerator loadGenerator = new TaskLoadGenerator(options, context.getBean(TaskShards.class), port);
+
+            loadGenerator.seed();
+            loadGenerator.run();
+            loadGenerator.report();
+        } finally {
+            SpringApplication.exit(context);
+        }
+
+        System.exit(0);
+    }
+
+    private void seed() {
+        long start = System.nanoTime();
+
+        userNos = new long[options.users];
+        liveToDos = new LiveToDos(options.users * options.days * options.toDosPerDay);
+
+        for (int i=0; i<options.users; i++) {
+            long userNo = taskShards.addUser("load" + i).getNo();
+            userNos[i] = userNo;
+
+            List<ToDo> toDoList = new ArrayList<>(options.days * options.toDosPerDay);
+            for (int day=0; day<options.days; day++) {
+                for (int j=0; j<options.toDosPerDay; j++) {
+                    toDoList.add(newToDo(userNo, day, "부하 업무 " + day + "-" + j));
+                }
+            }
+
+            List<ToDoResultMessage> resultMessages = taskShards.createToDoList(toDoList);
+            for (int j=0; j<resultMessages.size(); j++) {
+                liveToDos.add(resultMessages.get(j).getToDoNo(), userNo, j / options.toDosPerDay);
+            }
+        }
+
+        int delegatedCount = 0;
+        for (int i=0; i<liveToDos.size && options.users > 1; i++) {
+            if (random.nextDouble() < options.delegationRatio) {
+                ToDo toDo = newToDo(liveToDos.userNos[i], liveToDos.days[i], "위임 업무 " + i);
+                toDo.setToDoNo(liveToDos.toDoNos[i]);
+                toDo.setStatus(TaskStatus.DELEGATION);
+                toDo.setTargetUserNo(randomOtherUserNo(liveToDos.userNos[i]));
+
+                taskShards.forUser(toDo.getUserNo()).modifyToDoUnchecked(toDo);
+                delegatedCount++;
+            }
+        }
+
+        System.out.printf("seeded users: %d, toDos: %d, delegated: %d in %d ms%n", options.users, liveToDos.size,
+                delegatedCount, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void run() throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        long start = System.nanoTime();
+        long measureStart = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long end = measureStart + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+
+        for (long i=0; ; i++) {
+            long intendedTime = start + i * intervalNanos;
+
+            if (intendedTime >= end) {
+                break;
+            }
+
+            long waitNanos = intendedTime - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+
+            Operation operation = nextOperation();
+            OperationStatistics operationStatistics = intendedTime >= measureStart ? statistics[operation.ordinal()] : null;
+
+            inFlightCount.incrementAndGet();
+            client.sendAsync(newRequest(operation), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, e) -> {
+                        if (operationStatistics != null) {
+                            operationStatistics.record(System.nanoTime() - intendedTime, response, e);
+                        }
+
+                        inFlightCount.decrementAndGet();
+                    });
+        }
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlightCount.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void report() throws IOException {
+        Path outputDirectory = Paths.get(options.outputPath);
+        Files.createDirectories(outputDirectory);
+
+        System.out.printf("offered rate: %d/s, warmup: %ds, measured: %ds%n", options.rate, options.warmupSeconds, options.durationSeconds);
+        System.out.printf("%-10s %9s %7s %7s %10s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "fails", "tput(/s)", "p50(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+
+        for (Operation operation : Operation.values()) {
+            OperationStatistics operationStatistics = statistics[operation.ordinal()];
+            Histogram histogram = operationStatistics.histogram;
+
+            System.out.printf("%-10s %9d %7d %7d %10.1f %9.3f %9.3f %9.3f %9.3f%n", operation.name().toLowerCase(),
+                    histogram.getTotalCount(), operationStatistics.errorCount.sum(), operationStatistics.failCount.sum(),
+                    (double) histogram.getTotalCount() / options.durationSeconds,
+                    toMillis(histogram.getValueAtPercentile(50)), toMillis(histogram.getValueAtPercentile(99)),
+                    toMillis(histogram.getValueAtPercentile(99.9)), toMillis(histogram.getMaxValue()));
+
+            try (PrintStream out = new PrintStream(Files.newOutputStream(outputDirectory.resolve(operation.name().toLowerCase() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, 1_000_000.0);
+            }
+        }
+
+        System.out.println("percentile distributions (ms) are written to " + outputDirectory.toAbsolutePath());
+    }
+
+    private Operation nextOperation() {
+        int value = random.nextInt(Operation.TOTAL_WEIGHT);
+
+        for (Operation operation : Operation.values()) {
+            value -= operation.weight;
+
+            if (value < 0) {
+                return operation;
+            }
+        }
+
+        return Operation.LIST;
+    }
+
+    private HttpRequest newRequest(Operation operation) {
+        if (liveToDos.size == 0 && operation != Operation.CREATE && operation != Operation.LIST) {
+            operation = Operation.CREATE;
+        }
+
+        switch (operation) {
+            case CREATE: {
+                long userNo = userNos[random.nextInt(userNos.length)];
+
+                return post("/create/todo", newToDo(userNo, random.nextInt(options.days), "신규 업무 " + createdCount++));
+            }
+            case LIST: {
+                long userNo = userNos[random.nextInt(userNos.length)];
+                LocalDate date = BASE_DATE.plusDays(random.nextInt(options.days));
+
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/get/todo/list?userNo=" + userNo + "&date=" + date)).GET().build();
+            }
+            case MODIFY: {
+                int index = random.nextInt(liveToDos.size);
+                ToDo toDo = newToDo(liveToDos.userNos[index], liveToDos.days[index], "수정 업무 " + index);
+                toDo.setToDoNo(liveToDos.toDoNos[index]);
+                toDo.setVersion(getCurrentVersion(toDo.getToDoNo()));
+
+                return post("/modify/todo", toDo);
+            }
+            case DELEGATE: {
+                int index = random.nextInt(liveToDos.size);
+                ToDo toDo = newToDo(liveToDos.userNos[index], liveToDos.days[index], "위임 업무 " + index);
+                toDo.setToDoNo(liveToDos.toDoNos[index]);
+                toDo.setVersion(getCurrentVersion(toDo.getToDoNo()));
+                toDo.setStatus(TaskStatus.DELEGATION);
+                toDo.setTargetUserNo(randomOtherUserNo(liveToDos.userNos[index]));
+
+                return post("/modify/todo", toDo);
+            }
+            default: {
+                ToDo toDo = new ToDo();
+                toDo.setToDoNo(liveToDos.removeAt(random.nextInt(liveToDos.size)));
+                toDo.setVersion(getCurrentVersion(toDo.getToDoNo()));
+
+                return post("/delete/todo", toDo);
+            }
+        }
+    }
+
+    private HttpRequest post(String path, ToDo toDo) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(toDo)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long getCurrentVersion(long toDoNo) {
+        ToDo storedToDo = taskShards.forToDo(toDoNo).toDoMap.get(toDoNo);
+
+        return storedToDo == null ? 0 : storedToDo.getVersion();
+    }
+
+    private long randomOtherUserNo(long userNo) {
+        if (userNos.length < 2) {
+            return userNo;
+        }
+
+        long targetUserNo;
+        do {
+            targetUserNo = userNos[random.nextInt(userNos.length)];
+        } while (targetUserNo == userNo);
+
+        return targetUserNo;
+    }
+
+    private static ToDo newToDo(long userNo, int day, String task) {
+        ToDo toDo = new ToDo();
+        toDo.setUserNo(userNo);
+        toDo.setTask(task);
+        toDo.setDescription("");
+        toDo.setStatus(TaskStatus.PROGRESS);
+        toDo.setExecutionDate(new Date(BASE_MILLIS + day * DAY_MILLIS));
+
+        return toDo;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private enum Operation {
+        CREATE(30),
+        LIST(40),
+        MODIFY(15),
+        DELEGATE(5),
+        DELETE(10);
+
+        private static final int TOTAL_WEIGHT = Arrays.stream(values()).mapToInt(operation -> operation.weight).sum();
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static class OperationStatistics {
+        private final Histogram histogram = new ConcurrentHistogram(3);
+        private final LongAdder errorCount = new LongAdder();
+        private final LongAdder failCount = new LongAdder();
+
+        private void record(long latencyNanos, HttpResponse<String> response, Throwable e) {
+            histogram.recordValue(latencyNanos);
+
+            if (e != null || response.statusCode() >= 400) {
+                errorCount.increment();
+            } else if (response.body().contains("\"resultStatus\":\"FAIL\"") || response.body().contains("\"resultStatus\":\"CONFLICT\"")) {
+                failCount.increment();
+            }
+        }
+    }
+
+    private static class LiveToDos {
+        private final long[] toDoNos;
+        private final long[] userNos;
+        private final int[] days;
+        private int size;
+
+        private LiveToDos(int capacity) {
+            this.toDoNos = new long[capacity];
+            this.userNos = new long[capacity];
+            this.days = new int[capacity];
+        }
+
+        private void add(long toDoNo, long userNo, int day) {
+            toDoNos[size] = toDoNo;
+            userNos[size] = userNo;
+            days[size] = day;
+            size++;
+        }
+
+        private long removeAt(int index) {
+            long toDoNo = toDoNos[index];
+
+            size--;
+            toDoNos[index] = toDoNos[size];
+            userNos[index] = userNos[size];
+            days[index] = days[size];
+
+            return toDoNo;
+        }
+    }
+
+    private static class LoadOptions {
+        private int users = 20;
+        private int days = 14;
+        private int toDosPerDay = 10;
+        private double delegationRatio = 0.1;
+        private int rate = 200;
+        private int warmupSeconds = 5;
+        private int durationSeconds = 30;
+        private String outputPath = "build/load";
+
+        private static LoadOptions parse(String[] args) {
+            LoadOptions options = new LoadOptions();
+
+            for (String arg : args) {
+                if (!arg.startsWith("--load.") || arg.indexOf('=') < 0) {
+                    continue;
+                }
+
+                String key = arg.substring("--load.".length(), arg.indexOf('='));
+                String value = arg.substring(arg.indexOf('=') + 1);
+
+                switch (key) {
+                    case "users": options.users = Integer.parseInt(value); break;
+                    case "days": options.days = Integer.parseInt(value); break;
+                    case "todos-per-day": options.toDosPerDay = Integer.parseInt(value); break;
+                    case "delegation-ratio": options.delegationRatio = Double.parseDouble(value); break;
+                    case "rate": options.rate = Integer.parseInt(value); break;
+                    case "warmup": options.warmupSeconds = Integer.parseInt(value); break;
+                    case "duration": options.durationSeconds = Integer.parseInt(value); break;
+                    case "out": options.outputPath = value; break;
+                    default: throw new IllegalArgumentException("unknown load option: " + arg);
+                }
+            }
+
+            return options;
+        }
+    }
+}
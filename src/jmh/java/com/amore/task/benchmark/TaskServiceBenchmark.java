@@ -0,0 +1,171 @@
+package com.amore.task.benchmark;
+
+import com.amore.task.enums.TaskImportance;
+import com.amore.task.enums.TaskStatus;
+import com.amore.task.model.Policy;
+import com.amore.task.model.ResultMessage;
+import com.amore.task.model.ToDo;
+import com.amore.task.model.ToDoSearchCondition;
+import com.amore.task.model.User;
+import com.amore.task.service.TaskService;
+import com.amore.task.store.DelegationRecord;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hot paths of {@link TaskService}. Run with {@code ./gradlew jmh}; the thread count is taken from
+ * {@code -PjmhThreads=N} and the gc profiler reports allocation rate next to latency.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TaskServiceBenchmark {
+    private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+    private static final long BASE_MILLIS = 1680307200000L;
+    private static final int SEED_DAYS = 7;
+
+    @Param({"10", "100", "500"})
+    public int tasksPerDay;
+
+    @Param({"1", "16"})
+    public int users;
+
+    TaskService taskService;
+    long[] userNos;
+    long delegateUserNo;
+    long[][] seededToDoNos;
+    final AtomicInteger threadSequence = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        taskService = new TaskService();
+        userNos = new long[users];
+        seededToDoNos = new long[users][];
+
+        delegateUserNo = taskService.globalUserNo.incrementAndGet();
+        taskService.userMap.put(delegateUserNo, new User(delegateUserNo, "delegate" + delegateUserNo));
+
+        for (int i=0; i<users; i++) {
+            long userNo = taskService.globalUserNo.incrementAndGet();
+            taskService.userMap.put(userNo, new User(userNo, "bench" + userNo));
+            userNos[i] = userNo;
+
+            seededToDoNos[i] = new long[SEED_DAYS * tasksPerDay];
+            for (int j=0; j<seededToDoNos[i].length; j++) {
+                ToDo toDo = newToDo(userNo, dateOf(j / tasksPerDay));
+                taskService.createToDo(toDo);
+                seededToDoNos[i][j] = toDo.getToDoNo();
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class UserState {
+        int userIndex;
+        long userNo;
+        long targetUserNo;
+        long[] toDoNos;
+        int createdCount;
+        ToDoSearchCondition searchCondition = new ToDoSearchCondition();
+
+        @Setup(Level.Trial)
+        public void setUp(TaskServiceBenchmark benchmark) {
+            userIndex = benchmark.threadSequence.getAndIncrement() % benchmark.users;
+            userNo = benchmark.userNos[userIndex];
+            targetUserNo = benchmark.users > 1 ? benchmark.userNos[(userIndex + 1) % benchmark.users] : benchmark.delegateUserNo;
+            toDoNos = benchmark.seededToDoNos[userIndex];
+            searchCondition.setUserNo(userNo);
+        }
+
+        long randomToDoNo() {
+            return toDoNos[ThreadLocalRandom.current().nextInt(toDoNos.length)];
+        }
+    }
+
+    @Benchmark
+    public ResultMessage createToDo(UserState userState) {
+        int day = SEED_DAYS + userState.createdCount++ / tasksPerDay;
+
+        return taskService.createToDo(newToDo(userState.userNo, dateOf(day)));
+    }
+
+    @Benchmark
+    public Object getToDoList(UserState userState) {
+        userState.searchCondition.setSearchDate(dateOf(ThreadLocalRandom.current().nextInt(SEED_DAYS)));
+
+        return taskService.getToDoList(userState.searchCondition);
+    }
+
+    @Benchmark
+    public ResultMessage modifyToDoImportance(UserState userState) throws CloneNotSupportedException {
+        ToDo toDo = taskService.toDoMap.get(userState.randomToDoNo()).clone();
+        TaskImportance importance = toDo.getPolicy().getImportance() == TaskImportance.B ? TaskImportance.A : TaskImportance.B;
+        toDo.setPolicy(new Policy(importance, ThreadLocalRandom.current().nextInt(tasksPerDay)));
+
+        return taskService.modifyToDo(toDo);
+    }
+
+    @Benchmark
+    public ResultMessage modifyToDoOrder(UserState userState) throws CloneNotSupportedException {
+        ToDo toDo = taskService.toDoMap.get(userState.randomToDoNo()).clone();
+        toDo.setPolicy(new Policy(toDo.getPolicy().getImportance(), ThreadLocalRandom.current().nextInt(tasksPerDay)));
+
+        return taskService.modifyToDo(toDo);
+    }
+
+    @Benchmark
+    public ResultMessage modifyToDoDate(UserState userState) throws CloneNotSupportedException {
+        ToDo toDo = taskService.toDoMap.get(userState.randomToDoNo()).clone();
+        toDo.setPolicy(new Policy(toDo.getPolicy().getImportance(), toDo.getPolicy().getOrder()));
+        toDo.setExecutionDate(dateOf(ThreadLocalRandom.current().nextInt(SEED_DAYS)));
+
+        return taskService.modifyToDo(toDo);
+    }
+
+    @Benchmark
+    public ResultMessage createThenDeleteToDo(UserState userState) {
+        ToDo toDo = newToDo(userState.userNo, dateOf(ThreadLocalRandom.current().nextInt(SEED_DAYS)));
+        taskService.createToDo(toDo);
+
+        return taskService.deleteToDo(toDo);
+    }
+
+    @Benchmark
+    public ResultMessage delegateThenCancelToDo(UserState userState) throws CloneNotSupportedException {
+        ToDo toDo = taskService.toDoMap.get(userState.randomToDoNo()).clone();
+
+        if (toDo.getStatus() == TaskStatus.DELEGATION) {
+            return null;
+        }
+
+        toDo.setStatus(TaskStatus.DELEGATION);
+        toDo.setTargetUserNo(userState.targetUserNo);
+        taskService.modifyToDo(toDo);
+
+        DelegationRecord delegationRecord = taskService.delegationIndex.getByOrigin(toDo.getToDoNo());
+        long delegatedToDoNo = delegationRecord == null ? 0 : delegationRecord.getDelegatedToDoNo();
+
+        ToDo delegatedToDo = new ToDo();
+        delegatedToDo.setToDoNo(delegatedToDoNo);
+
+        return taskService.deleteToDoUnchecked(delegatedToDo);
+    }
+
+    private static ToDo newToDo(long userNo, Date executionDate) {
+        ToDo toDo = new ToDo();
+        toDo.setUserNo(userNo);
+        toDo.setTask("벤치마크 업무");
+        toDo.setStatus(TaskStatus.PROGRESS);
+        toDo.setExecutionDate(executionDate);
+
+        return toDo;
+    }
+
+    private static Date dateOf(int day) {
+        return new Date(BASE_MILLIS + day * DAY_MILLIS);
+    }
+}
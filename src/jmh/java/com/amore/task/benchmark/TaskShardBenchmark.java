@@ -0,0 +1,147 @@
+package com.amore.task.benchmark;
+
+import com.amore.task.enums.TaskStatus;
+import com.amore.task.model.Policy;
+import com.amore.task.model.ResultMessage;
+import com.amore.task.model.ToDo;
+import com.amore.task.model.ToDoSearchCondition;
+import com.amore.task.service.TaskService;
+import com.amore.task.service.TaskShards;
+import com.amore.task.store.DelegationRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput of {@link TaskShards} by shard count. Run with
+ * {@code ./gradlew jmh -PjmhIncludes=TaskShardBenchmark -PjmhThreads=N} and compare shards=1 against shards=N;
+ * every thread works on its own user, so the only shared state left between shards is the lock stripe.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class TaskShardBenchmark {
+    private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+    private static final long BASE_MILLIS = 1680307200000L;
+    private static final int SEED_DAYS = 7;
+    private static final int TASKS_PER_DAY = 10;
+    private static final int USERS = 64;
+
+    @Param({"1", "2", "4", "8"})
+    public int shards;
+
+    TaskShards taskShards;
+    long[] userNos;
+    long[][] seededToDoNos;
+    final AtomicInteger threadSequence = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        taskShards = new TaskShards(shards, "", new SimpleMeterRegistry());
+        userNos = new long[USERS];
+        seededToDoNos = new long[USERS][];
+
+        for (int i=0; i<USERS; i++) {
+            long userNo = taskShards.addUser("bench" + i).getNo();
+            userNos[i] = userNo;
+
+            seededToDoNos[i] = new long[SEED_DAYS * TASKS_PER_DAY];
+            for (int j=0; j<seededToDoNos[i].length; j++) {
+                ToDo toDo = newToDo(userNo, dateOf(j / TASKS_PER_DAY));
+                taskShards.forUser(userNo).createToDo(toDo);
+                seededToDoNos[i][j] = toDo.getToDoNo();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        taskShards.close();
+    }
+
+    @State(Scope.Thread)
+    public static class UserState {
+        long userNo;
+        long targetUserNo;
+        long[] toDoNos;
+        int createdCount;
+        TaskService taskService;
+        ToDoSearchCondition searchCondition = new ToDoSearchCondition();
+
+        @Setup(Level.Trial)
+        public void setUp(TaskShardBenchmark benchmark) {
+            int userIndex = benchmark.threadSequence.getAndIncrement() % USERS;
+
+            userNo = benchmark.userNos[userIndex];
+            targetUserNo = benchmark.userNos[(userIndex + 1) % USERS];
+            toDoNos = benchmark.seededToDoNos[userIndex];
+            taskService = benchmark.taskShards.forUser(userNo);
+            searchCondition.setUserNo(userNo);
+        }
+
+        long randomToDoNo() {
+            return toDoNos[ThreadLocalRandom.current().nextInt(toDoNos.length)];
+        }
+    }
+
+    @Benchmark
+    public ResultMessage createToDo(UserState userState) {
+        int day = SEED_DAYS + userState.createdCount++ / TASKS_PER_DAY;
+
+        return userState.taskService.createToDo(newToDo(userState.userNo, dateOf(day)));
+    }
+
+    @Benchmark
+    public Object getToDoList(UserState userState) {
+        userState.searchCondition.setSearchDate(dateOf(ThreadLocalRandom.current().nextInt(SEED_DAYS)));
+
+        return userState.taskService.getToDoList(userState.searchCondition);
+    }
+
+    @Benchmark
+    public ResultMessage modifyToDoOrder(UserState userState) throws CloneNotSupportedException {
+        ToDo toDo = userState.taskService.toDoMap.get(userState.randomToDoNo()).clone();
+        toDo.setPolicy(new Policy(toDo.getPolicy().getImportance(), ThreadLocalRandom.current().nextInt(TASKS_PER_DAY)));
+
+        return userState.taskService.modifyToDo(toDo);
+    }
+
+    @Benchmark
+    public ResultMessage delegateThenCancelToDo(UserState userState) throws CloneNotSupportedException {
+        ToDo toDo = userState.taskService.toDoMap.get(userState.randomToDoNo()).clone();
+
+        if (toDo.getStatus() == TaskStatus.DELEGATION) {
+            return null;
+        }
+
+        toDo.setStatus(TaskStatus.DELEGATION);
+        toDo.setTargetUserNo(userState.targetUserNo);
+        userState.taskService.modifyToDo(toDo);
+
+        DelegationRecord delegationRecord = userState.taskService.delegationIndex.getByOrigin(toDo.getToDoNo());
+        long delegatedToDoNo = delegationRecord == null ? 0 : delegationRecord.getDelegatedToDoNo();
+
+        ToDo delegatedToDo = new ToDo();
+        delegatedToDo.setToDoNo(delegatedToDoNo);
+
+        return taskShards.forToDo(delegatedToDoNo).deleteToDoUnchecked(delegatedToDo);
+    }
+
+    private static ToDo newToDo(long userNo, Date executionDate) {
+        ToDo toDo = new ToDo();
+        toDo.setUserNo(userNo);
+        toDo.setTask("벤치마크 업무");
+        toDo.setStatus(TaskStatus.PROGRESS);
+        toDo.setExecutionDate(executionDate);
+
+        return toDo;
+    }
+
+    private static Date dateOf(int day) {
+        return new Date(BASE_MILLIS + day * DAY_MILLIS);
+    }
+}
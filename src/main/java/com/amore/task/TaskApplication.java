@@ -1,13 +1,48 @@
 package com.amore.task;
 
+import com.amore.task.enums.ResultStatus;
+import com.amore.task.model.ResultMessage;
+import com.amore.task.model.ToDoImportResultMessage;
+import com.amore.task.service.TaskShards;
+import com.amore.task.service.ToDoImportService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+@Slf4j
 @RestController
 @SpringBootApplication
 public class TaskApplication {
+	private static final String IMPORT_COMMAND = "import";
+
 	public static void main(String[] args) {
+		if (args.length > 1 && IMPORT_COMMAND.equals(args[0])) {
+			System.exit(importToDoList(args[1], Arrays.copyOfRange(args, 2, args.length)));
+		}
+
 		SpringApplication.run(TaskApplication.class, args);
 	}
+
+	private static int importToDoList(String path, String[] args) {
+		SpringApplication application = new SpringApplication(TaskApplication.class);
+		application.setWebApplicationType(WebApplicationType.NONE);
+
+		ConfigurableApplicationContext context = application.run(args);
+		ToDoImportResultMessage resultMessage = context.getBean(ToDoImportService.class).importToDoList(Paths.get(path), null);
+		log.info("[TaskApplication::importToDoList] {} read: {}, imported: {}, failed: {}, elapsed: {}ms", resultMessage.getMessage(),
+				resultMessage.getReadCount(), resultMessage.getImportedCount(), resultMessage.getFailedCount(), resultMessage.getElapsedMillis());
+
+		if (resultMessage.getResultStatus() == ResultStatus.SUCCESS) {
+			ResultMessage checkpointMessage = context.getBean(TaskShards.class).checkpoint();
+			log.info("[TaskApplication::importToDoList] {}", checkpointMessage.getMessage());
+		}
+
+		return SpringApplication.exit(context, () -> resultMessage.getResultStatus() == ResultStatus.SUCCESS ? 0 : 1);
+	}
 }
@@ -0,0 +1,46 @@
+package com.amore.task.config;
+
+import com.amore.task.enums.ResultStatus;
+import com.amore.task.model.ResultMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnExpression("!'${task.replication.primary:}'.isEmpty()")
+public class ReplicaReadOnlyConfiguration implements WebMvcConfigurer {
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadOnlyInterceptor())
+                .addPathPatterns("/**")
+                .excludePathPatterns("/get/**", "/search/**", "/export/**", "/subscribe/**");
+    }
+
+    private class ReadOnlyInterceptor implements HandlerInterceptor {
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+            ResultMessage resultMessage = new ResultMessage();
+            resultMessage.setResult(ResultStatus.FAIL, "읽기 전용 복제본에서는 업무를 변경할 수 없습니다.");
+
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            objectMapper.writeValue(response.getOutputStream(), resultMessage);
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.amore.task.config;
+
+import com.amore.task.service.TaskService;
+import com.amore.task.service.TaskShards;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TaskServiceConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "task.shards", havingValue = "1", matchIfMissing = true)
+    public TaskService taskService(TaskShards taskShards) {
+        return taskShards.getShard(0);
+    }
+}
@@ -0,0 +1,35 @@
+package com.amore.task.controller;
+
+import com.amore.task.model.ReplicationStatus;
+import com.amore.task.replication.ChangeStreamPublisher;
+import com.amore.task.replication.ChangeStreamReplica;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class ReplicationController {
+    private final ObjectProvider<ChangeStreamPublisher> changeStreamPublisher;
+    private final ObjectProvider<ChangeStreamReplica> changeStreamReplica;
+
+    @PostMapping(value = "/get/replication/status", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ReplicationStatus getReplicationStatus() {
+        ChangeStreamReplica replica = changeStreamReplica.getIfAvailable();
+        if (replica != null) {
+            return replica.getStatus();
+        }
+
+        ChangeStreamPublisher publisher = changeStreamPublisher.getIfAvailable();
+        if (publisher != null) {
+            return publisher.getStatus();
+        }
+
+        ReplicationStatus status = new ReplicationStatus();
+        status.setRole("STANDALONE");
+
+        return status;
+    }
+}
@@ -2,49 +2,188 @@ package com.amore.task.controller;
 
 import com.amore.task.enums.ResultStatus;
 import com.amore.task.enums.TaskStatus;
+import com.amore.task.model.DailyToDoList;
+import com.amore.task.model.DelegationSearchCondition;
+import com.amore.task.model.ToDoExportCondition;
+import com.amore.task.model.ToDoImportCondition;
+import com.amore.task.model.ToDoImportResultMessage;
+import com.amore.task.model.ToDoListCacheStatistics;
 import com.amore.task.model.ResultMessage;
 import com.amore.task.model.ToDo;
+import com.amore.task.model.ToDoRangeSearchCondition;
+import com.amore.task.model.ToDoResultMessage;
 import com.amore.task.model.ToDoSearchCondition;
+import com.amore.task.model.ToDoTextSearchCondition;
 import com.amore.task.model.User;
-import com.amore.task.service.TaskService;
+import com.amore.task.model.UserPage;
+import com.amore.task.model.UserSearchCondition;
+import com.amore.task.service.TaskShards;
+import com.amore.task.service.ToDoImportService;
+import com.amore.task.store.EpochDays;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.xml.transform.Result;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequiredArgsConstructor
 public class TaskController {
-    private final TaskService taskService;
+    private final TaskShards taskShards;
+    private final ToDoImportService toDoImportService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping(value = "/create/todo", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResultMessage createToDo(@RequestBody ToDo toDo) {
+    public CompletableFuture<ResultMessage> createToDo(@RequestBody ToDo toDo) {
         toDo.setStatus(TaskStatus.PROGRESS);
-        return taskService.createToDo(toDo);
+        return taskShards.forUser(toDo.getUserNo()).createToDoAsync(toDo);
+    }
+
+    @PostMapping(value = "/create/todo/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<ToDoResultMessage> createToDoList(@RequestBody List<ToDo> toDoList) {
+        toDoList.forEach(toDo -> toDo.setStatus(TaskStatus.PROGRESS));
+        return taskShards.createToDoList(toDoList);
+    }
+
+    @PostMapping(value = "/import/todo", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ToDoImportResultMessage importToDoList(@RequestBody ToDoImportCondition importCondition) {
+        return toDoImportService.importToDoList(importCondition);
     }
 
     @PostMapping(value = "/get/todo/list", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public List<ToDo> getToDoList(@RequestBody ToDoSearchCondition searchCondition) {
-        return taskService.getToDoList(searchCondition);
+        return taskShards.forUser(searchCondition.getUserNo()).getToDoList(searchCondition);
+    }
+
+    @GetMapping(value = "/get/todo/list", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ToDo>> getToDoList(@RequestParam long userNo,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                  WebRequest webRequest) {
+        if (webRequest.checkNotModified(taskShards.forUser(userNo).getToDoListETag(userNo, toDate(date)))) {
+            return null;
+        }
+
+        ToDoSearchCondition searchCondition = new ToDoSearchCondition();
+        searchCondition.setUserNo(userNo);
+        searchCondition.setSearchDate(toDate(date));
+
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(taskShards.forUser(userNo).getToDoList(searchCondition));
+    }
+
+    @PostMapping(value = "/get/todo/list/range", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<DailyToDoList> getToDoListByRange(@RequestBody ToDoRangeSearchCondition rangeSearchCondition) {
+        return taskShards.forUser(rangeSearchCondition.getUserNo()).getToDoListByRange(rangeSearchCondition);
+    }
+
+    @GetMapping(value = "/get/todo/list/range", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<DailyToDoList>> getToDoListByRange(@RequestParam long userNo,
+                                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+                                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+                                                                  @RequestParam(required = false) TaskStatus status,
+                                                                  WebRequest webRequest) {
+        ToDoRangeSearchCondition rangeSearchCondition = new ToDoRangeSearchCondition();
+        rangeSearchCondition.setUserNo(userNo);
+        rangeSearchCondition.setFromDate(toDate(fromDate));
+        rangeSearchCondition.setToDate(toDate(toDate));
+        rangeSearchCondition.setStatus(status);
+
+        if (webRequest.checkNotModified(taskShards.forUser(userNo).getToDoListByRangeETag(rangeSearchCondition))) {
+            return null;
+        }
+
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(taskShards.forUser(userNo).getToDoListByRange(rangeSearchCondition));
+    }
+
+    @PostMapping(value = "/get/todo/list/cache", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ToDoListCacheStatistics getToDoListCacheStatistics() {
+        return taskShards.getToDoListCacheStatistics();
+    }
+
+    @PostMapping(value = "/search/todo", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<ToDo> searchToDoList(@RequestBody ToDoTextSearchCondition textSearchCondition) {
+        return taskShards.forUser(textSearchCondition.getUserNo()).searchToDoList(textSearchCondition);
+    }
+
+    @PostMapping(value = "/get/todo/delegation/outgoing", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<ToDo> getOutgoingDelegationList(@RequestBody DelegationSearchCondition delegationSearchCondition) {
+        return taskShards.forUser(delegationSearchCondition.getUserNo()).getOutgoingDelegationList(delegationSearchCondition.getUserNo());
+    }
+
+    @PostMapping(value = "/get/todo/delegation/incoming", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<ToDo> getIncomingDelegationList(@RequestBody DelegationSearchCondition delegationSearchCondition) {
+        return taskShards.forUser(delegationSearchCondition.getUserNo()).getIncomingDelegationList(delegationSearchCondition.getUserNo());
+    }
+
+    @PostMapping(value = "/export/todo", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportToDoList(@RequestBody ToDoExportCondition exportCondition) {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody responseBody = outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            taskShards.exportToDoList(exportCondition.getUserNo(), toDo -> {
+                try {
+                    writer.writeValue(generator, toDo);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            generator.flush();
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(responseBody);
     }
 
     @PostMapping(value = "/get/user/all", produces = {"application/json"})
     public List<User> getAllUserList() {
-        return taskService.getAllUserList();
+        return taskShards.getAllUserList();
+    }
+
+    @PostMapping(value = "/get/user/list", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public UserPage getUserList(@RequestBody UserSearchCondition userSearchCondition) {
+        return taskShards.getUserList(userSearchCondition);
     }
 
     @PostMapping(value = "/modify/todo", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResultMessage modifyToDo(@RequestBody ToDo toDo) {
-        return taskService.modifyToDo(toDo);
+    public CompletableFuture<ResultMessage> modifyToDo(@RequestBody ToDo toDo) {
+        return taskShards.forUser(toDo.getUserNo()).modifyToDoAsync(toDo);
     }
 
     @PostMapping(value = "/delete/todo", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResultMessage deleteToDo(@RequestBody ToDo toDo) {
-        return taskService.deleteToDo(toDo);
+    public CompletableFuture<ResultMessage> deleteToDo(@RequestBody ToDo toDo) {
+        return taskShards.forToDo(toDo.getToDoNo()).deleteToDoAsync(toDo);
+    }
+
+    @PostMapping(value = "/checkpoint", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResultMessage checkpoint() {
+        return taskShards.checkpoint();
+    }
+
+    private Date toDate(LocalDate date) {
+        return EpochDays.toDate((int) date.toEpochDay());
     }
 }
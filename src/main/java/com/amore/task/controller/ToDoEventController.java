@@ -0,0 +1,22 @@
+package com.amore.task.controller;
+
+import com.amore.task.event.ToDoEventHub;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequiredArgsConstructor
+public class ToDoEventController {
+    private final ToDoEventHub toDoEventHub;
+
+    @GetMapping(value = "/subscribe/todo", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToDoEvents(@RequestParam long userNo,
+                                          @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return toDoEventHub.subscribe(userNo, lastEventId);
+    }
+}
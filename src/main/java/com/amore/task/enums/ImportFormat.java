@@ -0,0 +1,6 @@
+package com.amore.task.enums;
+
+public enum ImportFormat {
+    NDJSON,
+    CSV;
+}
@@ -1,5 +1,5 @@
 package com.amore.task.enums;
 
 public enum ResultStatus {
-    SUCCESS,FAIL;
+    SUCCESS,FAIL,CONFLICT;
 }
@@ -0,0 +1,18 @@
+package com.amore.task.enums;
+
+public enum TaskOperation {
+    CREATE,
+    CREATE_BATCH,
+    IMPORT,
+    GET_LIST,
+    GET_RANGE,
+    GET_OUTGOING_DELEGATION,
+    GET_INCOMING_DELEGATION,
+    GET_ALL_USERS,
+    GET_USER_LIST,
+    SEARCH,
+    EXPORT,
+    MODIFY,
+    DELETE,
+    CHECKPOINT;
+}
@@ -0,0 +1,10 @@
+package com.amore.task.enums;
+
+public enum ToDoEventType {
+    CREATE,
+    MODIFY,
+    DELETE,
+    DELEGATE,
+    CANCEL_DELEGATION,
+    RESYNC;
+}
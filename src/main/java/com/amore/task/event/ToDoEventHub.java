@@ -0,0 +1,408 @@
+package com.amore.task.event;
+
+import com.amore.task.enums.ToDoEventType;
+import com.amore.task.model.ToDoEvent;
+import com.amore.task.service.TaskShards;
+import com.amore.task.service.ToDoEventListener;
+import com.amore.task.store.ConcurrentLongObjectMap;
+import com.amore.task.store.LongList;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans ToDo events out to the SSE subscribers of each user. Writers only append to the user's channel under a short
+ * lock; every subscriber has its own bounded queue drained on the dispatcher threads, and a subscriber whose queue
+ * overflows is disconnected so it can resume with {@code Last-Event-ID} instead of holding events for the writers.
+ */
+@Slf4j
+@Component
+public class ToDoEventHub implements ToDoEventListener {
+    private static final int DRAIN_BATCH_SIZE = 64;
+    private static final long HEARTBEAT_SECONDS = 15;
+    private static final long IDLE_CHANNEL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final long NO_LAST_EVENT = Long.MIN_VALUE;
+    private static final Entry HEARTBEAT = new Entry(0, null);
+
+    private final int historySize;
+    private final int queueSize;
+    private final long timeoutMillis;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong eventSequence = new AtomicLong();
+    private final ConcurrentLongObjectMap<UserChannel> channels = new ConcurrentLongObjectMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService scheduler;
+    private final Counter publishedCounter;
+    private final Counter droppedCounter;
+
+    @Autowired
+    public ToDoEventHub(TaskShards taskShards, @Value("${task.events.history-size:256}") int historySize,
+                        @Value("${task.events.queue-size:1024}") int queueSize, @Value("${task.events.timeout-millis:1800000}") long timeoutMillis,
+                        @Value("${task.events.dispatchers:4}") int dispatchers, MeterRegistry meterRegistry) {
+        this.historySize = historySize;
+        this.queueSize = queueSize;
+        this.timeoutMillis = timeoutMillis;
+        this.dispatcher = Executors.newFixedThreadPool(dispatchers, daemonThreadFactory("task-event-dispatcher-"));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("task-event-heartbeat-"));
+        this.scheduler.scheduleWithFixedDelay(this::heartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+
+        Gauge.builder("todo.events.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+        publishedCounter = Counter.builder("todo.events.published").register(meterRegistry);
+        droppedCounter = Counter.builder("todo.events.dropped").register(meterRegistry);
+
+        taskShards.publishEventsTo(this);
+    }
+
+    public SseEmitter subscribe(long userNo, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        subscribe(userNo, lastEventId, emitter);
+
+        return emitter;
+    }
+
+    void subscribe(long userNo, String lastEventId, SseEmitter emitter) {
+        long lastSequence = getLastSequence(lastEventId);
+        UserChannel channel;
+        Subscriber subscriber;
+
+        do {
+            channel = channels.computeIfAbsent(userNo, no -> new UserChannel(userNo, eventSequence.get()));
+            subscriber = new Subscriber(channel, emitter);
+        } while (!channel.subscribe(subscriber, lastSequence));
+
+        Subscriber subscribed = subscriber;
+        emitter.onCompletion(subscribed::close);
+        emitter.onTimeout(subscribed::close);
+        emitter.onError(e -> subscribed.close());
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @Override
+    public boolean isSubscribed(long userNo) {
+        return channels.containsKey(userNo);
+    }
+
+    @Override
+    public void publish(ToDoEvent event) {
+        UserChannel channel = channels.get(event.getUserNo());
+
+        if (channel != null) {
+            channel.publish(event);
+            publishedCounter.increment();
+        }
+    }
+
+    @Override
+    public void reset() {
+        channels.forEachValue(UserChannel::resync);
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+        channels.forEachValue(UserChannel::complete);
+        dispatcher.shutdown();
+    }
+
+    void heartbeat() {
+        long now = System.currentTimeMillis();
+        LongList idleUserNos = new LongList();
+
+        channels.forEach((userNo, channel) -> {
+            if (channel.isIdle(now)) {
+                idleUserNos.add(userNo);
+            } else {
+                channel.offerAll(HEARTBEAT);
+            }
+        });
+
+        for (int i=0; i<idleUserNos.size(); i++) {
+            long userNo = idleUserNos.get(i);
+            UserChannel channel = channels.get(userNo);
+
+            if (channel != null && channel.closeIfIdle(now)) {
+                channels.remove(userNo);
+            }
+        }
+    }
+
+    private long getLastSequence(String lastEventId) {
+        if (!StringUtils.hasText(lastEventId)) {
+            return NO_LAST_EVENT;
+        }
+
+        int separator = lastEventId.lastIndexOf('-');
+
+        if (separator < 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+            return -1;
+        }
+
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String getEventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger threadSequence = new AtomicInteger();
+
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadSequence.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        };
+    }
+
+    private static class Entry {
+        private final long sequence;
+        private final ToDoEvent event;
+
+        private Entry(long sequence, ToDoEvent event) {
+            this.sequence = sequence;
+            this.event = event;
+        }
+
+        private SseEmitter.SseEventBuilder toSseEvent() {
+            if (event == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+
+            return SseEmitter.event()
+                    .id(event.getEventId())
+                    .name(event.getType().name())
+                    .data(event, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private class UserChannel {
+        private final long userNo;
+        private final ArrayDeque<Entry> history = new ArrayDeque<>();
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        private long floorSequence;
+        private long headSequence;
+        private long idleSince = System.currentTimeMillis();
+        private boolean closed;
+
+        private UserChannel(long userNo, long sequence) {
+            this.userNo = userNo;
+            this.floorSequence = sequence;
+            this.headSequence = sequence;
+        }
+
+        private synchronized void publish(ToDoEvent event) {
+            if (closed) {
+                return;
+            }
+
+            long sequence = eventSequence.incrementAndGet();
+            event.setEventId(getEventId(sequence));
+
+            Entry entry = new Entry(sequence, event);
+            history.addLast(entry);
+            headSequence = sequence;
+
+            if (history.size() > historySize) {
+                floorSequence = history.removeFirst().sequence;
+            }
+
+            offerAll(entry);
+        }
+
+        private synchronized boolean subscribe(Subscriber subscriber, long lastSequence) {
+            if (closed) {
+                return false;
+            }
+
+            if (lastSequence >= floorSequence) {
+                for (Entry entry : history) {
+                    if (entry.sequence > lastSequence) {
+                        subscriber.offer(entry);
+                    }
+                }
+            } else if (lastSequence != NO_LAST_EVENT) {
+                subscriber.offer(newResyncEntry(headSequence));
+            }
+
+            subscribers.add(subscriber);
+            subscriberCount.incrementAndGet();
+
+            return true;
+        }
+
+        private synchronized void remove(Subscriber subscriber) {
+            if (subscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+
+            if (subscribers.isEmpty()) {
+                idleSince = System.currentTimeMillis();
+            }
+        }
+
+        private synchronized void resync() {
+            long sequence = eventSequence.incrementAndGet();
+
+            history.clear();
+            floorSequence = sequence;
+            headSequence = sequence;
+
+            offerAll(newResyncEntry(sequence));
+        }
+
+        private synchronized void offerAll(Entry entry) {
+            for (int i=subscribers.size() - 1; i>=0; i--) {
+                subscribers.get(i).offer(entry);
+            }
+        }
+
+        private synchronized boolean isIdle(long now) {
+            return subscribers.isEmpty() && now - idleSince >= IDLE_CHANNEL_MILLIS;
+        }
+
+        private synchronized boolean closeIfIdle(long now) {
+            closed = isIdle(now);
+
+            return closed;
+        }
+
+        private void complete() {
+            List<Subscriber> current;
+
+            synchronized (this) {
+                current = new ArrayList<>(subscribers);
+            }
+
+            current.forEach(subscriber -> subscriber.emitter.complete());
+        }
+
+        private Entry newResyncEntry(long sequence) {
+            ToDoEvent event = new ToDoEvent();
+            event.setEventId(getEventId(sequence));
+            event.setType(ToDoEventType.RESYNC);
+            event.setUserNo(userNo);
+
+            return new Entry(sequence, event);
+        }
+    }
+
+    private class Subscriber {
+        private final UserChannel channel;
+        private final SseEmitter emitter;
+        private final ArrayDeque<Entry> queue = new ArrayDeque<>();
+        private boolean scheduled;
+        private boolean overflowed;
+        private boolean closed;
+
+        private Subscriber(UserChannel channel, SseEmitter emitter) {
+            this.channel = channel;
+            this.emitter = emitter;
+        }
+
+        private void offer(Entry entry) {
+            synchronized (this) {
+                if (closed || overflowed) {
+                    return;
+                }
+
+                if (queue.size() >= queueSize) {
+                    overflowed = true;
+                    droppedCounter.increment(queue.size());
+                    queue.clear();
+
+                    log.info("[ToDoEventHub::offer] slow subscriber is disconnected. userNo: {}, queue: {}", channel.userNo, queueSize);
+                } else {
+                    queue.addLast(entry);
+                }
+
+                if (scheduled) {
+                    return;
+                }
+
+                scheduled = true;
+            }
+
+            dispatcher.execute(this::drain);
+        }
+
+        private void drain() {
+            for (int i=0; i<DRAIN_BATCH_SIZE; i++) {
+                Entry entry;
+
+                synchronized (this) {
+                    if (overflowed) {
+                        scheduled = false;
+                        break;
+                    }
+
+                    entry = queue.pollFirst();
+
+                    if (entry == null) {
+                        scheduled = false;
+                        return;
+                    }
+                }
+
+                try {
+                    emitter.send(entry.toSseEvent());
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("[ToDoEventHub::drain] subscriber is gone. userNo: {}, message: {}", channel.userNo, e.getMessage());
+                    close();
+                    return;
+                }
+            }
+
+            synchronized (this) {
+                if (!overflowed) {
+                    dispatcher.execute(this::drain);
+                    return;
+                }
+            }
+
+            close();
+            emitter.complete();
+        }
+
+        private void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+
+                closed = true;
+                queue.clear();
+            }
+
+            channel.remove(this);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.amore.task.journal;
+
+import com.amore.task.enums.TaskImportance;
+import com.amore.task.model.ToDo;
+import com.amore.task.model.User;
+
+import java.util.concurrent.CompletableFuture;
+
+class DisabledTaskJournal implements TaskJournal {
+
+    @Override
+    public void appendUser(User user) {
+    }
+
+    @Override
+    public void appendCreate(ToDo toDo, TaskImportance importance, int order) {
+    }
+
+    @Override
+    public void appendModify(ToDo toDo, TaskImportance importance, int order) {
+    }
+
+    @Override
+    public void appendDelete(long toDoNo) {
+    }
+
+    @Override
+    public void appendDelegate(long originToDoNo, long userNo, long targetUserNo, long delegatedToDoNo) {
+    }
+
+    @Override
+    public void appendCancelDelegate(long delegatedToDoNo) {
+    }
+
+    @Override
+    public int roll() {
+        return 0;
+    }
+
+    @Override
+    public void deleteSegmentsBefore(int segment) {
+    }
+
+    @Override
+    public void awaitFlushed() {
+    }
+
+    @Override
+    public CompletableFuture<Void> flushed() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,171 @@
+package com.amore.task.journal;
+
+import com.amore.task.enums.TaskImportance;
+import com.amore.task.enums.TaskStatus;
+import com.amore.task.model.ToDo;
+import com.amore.task.model.User;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.function.IntFunction;
+
+class JournalCodec {
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final byte NO_ENUM = -1;
+    private static final int NO_STRING = -1;
+
+    private static final TaskImportance[] IMPORTANCES = TaskImportance.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final JournalRecordType[] RECORD_TYPES = JournalRecordType.values();
+
+    private JournalCodec() {
+    }
+
+    static ByteBuffer encodeUser(User user, IntFunction<ByteBuffer> allocator) {
+        byte[] name = encode(user.getName());
+        ByteBuffer record = record(JournalRecordType.USER, Long.BYTES + sizeOf(name), allocator);
+
+        record.putLong(user.getNo());
+        putBytes(record, name);
+
+        return record;
+    }
+
+    static ByteBuffer encodeToDo(JournalRecordType type, ToDo toDo, TaskImportance importance, int order, IntFunction<ByteBuffer> allocator) {
+        byte[] task = encode(toDo.getTask());
+        byte[] description = encode(toDo.getDescription());
+        ByteBuffer record = record(type, Long.BYTES * 4 + 2 + Integer.BYTES + sizeOf(task) + sizeOf(description), allocator);
+
+        putToDo(record, toDo, importance, order, task, description);
+
+        return record;
+    }
+
+    static ByteBuffer encodeDelete(long toDoNo, IntFunction<ByteBuffer> allocator) {
+        ByteBuffer record = record(JournalRecordType.DELETE, Long.BYTES, allocator);
+
+        record.putLong(toDoNo);
+
+        return record;
+    }
+
+    static ByteBuffer encodeDelegate(long originToDoNo, long userNo, long targetUserNo, long delegatedToDoNo, IntFunction<ByteBuffer> allocator) {
+        ByteBuffer record = record(JournalRecordType.DELEGATE, Long.BYTES * 4, allocator);
+
+        record.putLong(originToDoNo);
+        record.putLong(userNo);
+        record.putLong(targetUserNo);
+        record.putLong(delegatedToDoNo);
+
+        return record;
+    }
+
+    static ByteBuffer encodeCancelDelegate(long delegatedToDoNo, IntFunction<ByteBuffer> allocator) {
+        ByteBuffer record = record(JournalRecordType.CANCEL_DELEGATE, Long.BYTES, allocator);
+
+        record.putLong(delegatedToDoNo);
+
+        return record;
+    }
+
+    private static ByteBuffer record(JournalRecordType type, int payloadSize, IntFunction<ByteBuffer> allocator) {
+        ByteBuffer record = allocator.apply(1 + payloadSize);
+        record.put((byte) type.ordinal());
+
+        return record;
+    }
+
+    private static byte[] encode(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int sizeOf(byte[] value) {
+        return Integer.BYTES + (value == null ? 0 : value.length);
+    }
+
+    private static void putToDo(ByteBuffer buffer, ToDo toDo, TaskImportance importance, int order, byte[] task, byte[] description) {
+        buffer.putLong(toDo.getToDoNo());
+        buffer.putLong(toDo.getUserNo());
+        buffer.putLong(toDo.getExecutionDate() == null ? NO_DATE : toDo.getExecutionDate().getTime());
+        buffer.put(toDo.getStatus() == null ? NO_ENUM : (byte) toDo.getStatus().ordinal());
+        buffer.putLong(toDo.getTargetUserNo());
+        putBytes(buffer, task);
+        putBytes(buffer, description);
+        buffer.put(importance == null ? NO_ENUM : (byte) importance.ordinal());
+        buffer.putInt(order);
+    }
+
+    static ToDo getToDo(ByteBuffer buffer) {
+        ToDo toDo = new ToDo();
+
+        toDo.setToDoNo(buffer.getLong());
+        toDo.setUserNo(buffer.getLong());
+
+        long executionTime = buffer.getLong();
+        toDo.setExecutionDate(executionTime == NO_DATE ? null : new Date(executionTime));
+
+        byte status = buffer.get();
+        toDo.setStatus(status == NO_ENUM ? null : STATUSES[status]);
+        toDo.setTargetUserNo(buffer.getLong());
+        toDo.setTask(getString(buffer));
+        toDo.setDescription(getString(buffer));
+
+        return toDo;
+    }
+
+    static TaskImportance getImportance(ByteBuffer buffer) {
+        byte importance = buffer.get();
+
+        return importance == NO_ENUM ? null : IMPORTANCES[importance];
+    }
+
+    static void dispatch(ByteBuffer record, JournalReplayer replayer) {
+        switch (RECORD_TYPES[record.get()]) {
+            case USER:
+                long userNo = record.getLong();
+                replayer.onUser(new User(userNo, getString(record)));
+                break;
+            case CREATE:
+                ToDo newToDo = getToDo(record);
+                replayer.onCreate(newToDo, getImportance(record), record.getInt());
+                break;
+            case MODIFY:
+                ToDo toDo = getToDo(record);
+                replayer.onModify(toDo, getImportance(record), record.getInt());
+                break;
+            case DELETE:
+                replayer.onDelete(record.getLong());
+                break;
+            case DELEGATE:
+                replayer.onDelegate(record.getLong(), record.getLong(), record.getLong(), record.getLong());
+                break;
+            case CANCEL_DELEGATE:
+                replayer.onCancelDelegate(record.getLong());
+                break;
+        }
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(NO_STRING);
+            return;
+        }
+
+        buffer.putInt(value.length);
+        buffer.put(value);
+    }
+
+    static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+
+        if (length == NO_STRING) {
+            return null;
+        }
+
+        byte[] value = new byte[length];
+        buffer.get(value);
+
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,10 @@
+package com.amore.task.journal;
+
+public enum JournalRecordType {
+    USER,
+    CREATE,
+    MODIFY,
+    DELETE,
+    DELEGATE,
+    CANCEL_DELEGATE;
+}
@@ -0,0 +1,19 @@
+package com.amore.task.journal;
+
+import com.amore.task.enums.TaskImportance;
+import com.amore.task.model.ToDo;
+import com.amore.task.model.User;
+
+public interface JournalReplayer {
+    void onUser(User user);
+
+    void onCreate(ToDo toDo, TaskImportance importance, int order);
+
+    void onModify(ToDo toDo, TaskImportance importance, int order);
+
+    void onDelete(long toDoNo);
+
+    void onDelegate(long originToDoNo, long userNo, long targetUserNo, long delegatedToDoNo);
+
+    void onCancelDelegate(long delegatedToDoNo);
+}
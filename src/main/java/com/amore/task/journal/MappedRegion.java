@@ -0,0 +1,65 @@
+package com.amore.task.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+class MappedRegion {
+    private static final int CHUNK_BITS = 30;
+    private static final long CHUNK_MASK = (1L << CHUNK_BITS) - 1;
+    private static final int CHUNK_OVERLAP = Long.BYTES;
+
+    private final MappedByteBuffer[] chunks;
+    private final long size;
+
+    private MappedRegion(MappedByteBuffer[] chunks, long size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    static MappedRegion map(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int chunkCount = (int) ((size + CHUNK_MASK) >>> CHUNK_BITS);
+        MappedByteBuffer[] chunks = new MappedByteBuffer[Math.max(chunkCount, 1)];
+
+        for (int i=0; i<chunks.length; i++) {
+            long position = (long) i << CHUNK_BITS;
+            long length = Math.min(size - position, (1L << CHUNK_BITS) + CHUNK_OVERLAP);
+
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.max(length, 0));
+        }
+
+        return new MappedRegion(chunks, size);
+    }
+
+    long size() {
+        return size;
+    }
+
+    byte get(long position) {
+        return chunks[(int) (position >>> CHUNK_BITS)].get((int) (position & CHUNK_MASK));
+    }
+
+    int getInt(long position) {
+        return chunks[(int) (position >>> CHUNK_BITS)].getInt((int) (position & CHUNK_MASK));
+    }
+
+    long getLong(long position) {
+        return chunks[(int) (position >>> CHUNK_BITS)].getLong((int) (position & CHUNK_MASK));
+    }
+
+    String getString(long position, int length) {
+        if (length == 0) {
+            return "";
+        }
+
+        byte[] value = new byte[length];
+
+        for (int i=0; i<length; i++) {
+            value[i] = get(position + i);
+        }
+
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
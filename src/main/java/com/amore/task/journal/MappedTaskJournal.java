@@ -0,0 +1,459 @@
+package com.amore.task.journal;
+
+import com.amore.task.enums.TaskImportance;
+import com.amore.task.model.ToDo;
+import com.amore.task.model.User;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+@Slf4j
+public class MappedTaskJournal implements TaskJournal {
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ConcurrentSkipListMap<Integer, MappedByteBuffer> segments = new ConcurrentSkipListMap<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Object flushMonitor = new Object();
+    private final PriorityQueue<FlushWaiter> flushWaiters = new PriorityQueue<>(Comparator.comparingLong(FlushWaiter::getPosition));
+    private final ThreadLocal<ByteBuffer> recordBuffers = ThreadLocal.withInitial(() -> ByteBuffer.allocate(256));
+    private final ThreadLocal<long[]> appendedPositions = ThreadLocal.withInitial(() -> new long[1]);
+    private final IntFunction<ByteBuffer> recordAllocator = this::recordBuffer;
+    private final Thread flusher;
+
+    private MappedByteBuffer current;
+    private int currentSegment;
+    private int currentOffset;
+
+    private long requestedPosition;
+    private volatile long flushedPosition;
+    private volatile RuntimeException flushFailure;
+    private volatile boolean closed;
+
+    private MappedTaskJournal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.flusher = new Thread(this::flushLoop, "task-journal-flusher");
+        this.flusher.setDaemon(true);
+    }
+
+    public static MappedTaskJournal open(Path directory, int fromSegment, JournalReplayer replayer) {
+        return open(directory, DEFAULT_SEGMENT_SIZE, fromSegment, replayer);
+    }
+
+    public static MappedTaskJournal open(Path directory, int segmentSize, int fromSegment, JournalReplayer replayer) {
+        MappedTaskJournal journal = new MappedTaskJournal(directory, segmentSize);
+
+        try {
+            Files.createDirectories(directory);
+            journal.replay(fromSegment, replayer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("journal open failed. directory: " + directory, e);
+        }
+
+        journal.flusher.start();
+
+        return journal;
+    }
+
+    @Override
+    public void appendUser(User user) {
+        append(JournalCodec.encodeUser(user, recordAllocator));
+    }
+
+    @Override
+    public void appendCreate(ToDo toDo, TaskImportance importance, int order) {
+        append(JournalCodec.encodeToDo(JournalRecordType.CREATE, toDo, importance, order, recordAllocator));
+    }
+
+    @Override
+    public void appendModify(ToDo toDo, TaskImportance importance, int order) {
+        append(JournalCodec.encodeToDo(JournalRecordType.MODIFY, toDo, importance, order, recordAllocator));
+    }
+
+    @Override
+    public void appendDelete(long toDoNo) {
+        append(JournalCodec.encodeDelete(toDoNo, recordAllocator));
+    }
+
+    @Override
+    public void appendDelegate(long originToDoNo, long userNo, long targetUserNo, long delegatedToDoNo) {
+        append(JournalCodec.encodeDelegate(originToDoNo, userNo, targetUserNo, delegatedToDoNo, recordAllocator));
+    }
+
+    @Override
+    public void appendCancelDelegate(long delegatedToDoNo) {
+        append(JournalCodec.encodeCancelDelegate(delegatedToDoNo, recordAllocator));
+    }
+
+    @Override
+    public void awaitFlushed() {
+        long position = appendedPositions.get()[0];
+
+        if (position <= flushedPosition) {
+            return;
+        }
+
+        synchronized (flushMonitor) {
+            if (requestedPosition < position) {
+                requestedPosition = position;
+                flushMonitor.notifyAll();
+            }
+
+            while (flushedPosition < position && flushFailure == null && !closed) {
+                try {
+                    flushMonitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("interrupted while waiting for the journal flush. position: " + position, e);
+                }
+            }
+        }
+
+        if (flushFailure != null) {
+            throw flushFailure;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> flushed() {
+        long position = appendedPositions.get()[0];
+
+        if (position <= flushedPosition) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+
+        synchronized (flushMonitor) {
+            if (flushFailure != null) {
+                future.completeExceptionally(flushFailure);
+                return future;
+            }
+
+            if (flushedPosition >= position || closed) {
+                future.complete(null);
+                return future;
+            }
+
+            flushWaiters.add(new FlushWaiter(position, future));
+
+            if (requestedPosition < position) {
+                requestedPosition = position;
+                flushMonitor.notifyAll();
+            }
+        }
+
+        return future;
+    }
+
+    @Override
+    public int roll() {
+        appendLock.lock();
+        try {
+            if (currentOffset > 0) {
+                mapNextSegment();
+            }
+
+            return currentSegment;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void deleteSegmentsBefore(int segment) {
+        for (Integer index : new ArrayList<>(segments.headMap(segment).keySet())) {
+            segments.remove(index);
+
+            try {
+                Files.deleteIfExists(segmentPath(index));
+            } catch (IOException e) {
+                throw new UncheckedIOException("journal segment delete failed. segment: " + index, e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (flushMonitor) {
+            closed = true;
+            flushMonitor.notifyAll();
+        }
+
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (MappedByteBuffer segment : segments.values()) {
+            segment.force();
+        }
+
+        synchronized (flushMonitor) {
+            flushWaiters.forEach(flushWaiter -> flushWaiter.complete(flushFailure));
+            flushWaiters.clear();
+        }
+    }
+
+    private ByteBuffer recordBuffer(int size) {
+        if (HEADER_SIZE + size > segmentSize) {
+            throw new IllegalArgumentException("journal record is larger than a segment. size: " + size);
+        }
+
+        ByteBuffer record = recordBuffers.get();
+
+        if (record.capacity() < size) {
+            record = ByteBuffer.allocate(Math.max(size, record.capacity() * 2));
+            recordBuffers.set(record);
+        }
+
+        record.clear();
+
+        return record;
+    }
+
+    private void append(ByteBuffer record) {
+        record.flip();
+
+        int length = record.remaining();
+        int checksum = checksumOf(record);
+        long position;
+
+        appendLock.lock();
+        try {
+            if (currentOffset + HEADER_SIZE + length > segmentSize) {
+                mapNextSegment();
+            }
+
+            current.putInt(currentOffset, length);
+            current.putInt(currentOffset + Integer.BYTES, checksum);
+            current.position(currentOffset + HEADER_SIZE);
+            current.put(record);
+
+            currentOffset += HEADER_SIZE + length;
+            position = positionOf(currentSegment, currentOffset);
+        } finally {
+            appendLock.unlock();
+        }
+
+        appendedPositions.get()[0] = position;
+    }
+
+    private void flushLoop() {
+        while (true) {
+            long position;
+
+            synchronized (flushMonitor) {
+                while (!closed && requestedPosition <= flushedPosition) {
+                    try {
+                        flushMonitor.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+
+                if (closed) {
+                    return;
+                }
+
+                position = requestedPosition;
+            }
+
+            try {
+                int firstSegment = (int) (flushedPosition / segmentSize);
+                int lastSegment = (int) ((position - 1) / segmentSize);
+
+                for (MappedByteBuffer segment : segments.subMap(firstSegment, true, lastSegment, true).values()) {
+                    segment.force();
+                }
+            } catch (RuntimeException e) {
+                log.error("[MappedTaskJournal::flushLoop] journal flush failed. directory: {}, message: {}", directory, e.getMessage());
+                flushFailure = e;
+            }
+
+            List<FlushWaiter> flushedWaiters = new ArrayList<>();
+
+            synchronized (flushMonitor) {
+                flushedPosition = Math.max(flushedPosition, position);
+                flushMonitor.notifyAll();
+
+                while (!flushWaiters.isEmpty() && (flushFailure != null || flushWaiters.peek().getPosition() <= flushedPosition)) {
+                    flushedWaiters.add(flushWaiters.poll());
+                }
+            }
+
+            flushedWaiters.forEach(flushWaiter -> flushWaiter.complete(flushFailure));
+        }
+    }
+
+    private void replay(int fromSegment, JournalReplayer replayer) throws IOException {
+        List<Integer> indexes = listSegments();
+
+        for (Integer index : indexes) {
+            if (index < fromSegment) {
+                Files.delete(segmentPath(index));
+            }
+        }
+
+        indexes.removeIf(index -> index < fromSegment);
+
+        for (int i=0; i<indexes.size(); i++) {
+            int index = indexes.get(i);
+            MappedByteBuffer segment = mapSegment(index);
+            int offset = replaySegment(segment, replayer);
+            boolean lastSegment = i == indexes.size() - 1;
+
+            if (offset + HEADER_SIZE <= segmentSize && segment.getInt(offset) != 0) {
+                log.warn("[MappedTaskJournal::replay] truncated journal tail is dropped. segment: {}, offset: {}", index, offset);
+                clearSegment(segment, offset);
+
+                for (Integer nextIndex : indexes.subList(i + 1, indexes.size())) {
+                    Files.delete(segmentPath(nextIndex));
+                }
+
+                lastSegment = true;
+            }
+
+            if (lastSegment) {
+                current = segment;
+                currentSegment = index;
+                currentOffset = offset;
+                break;
+            }
+        }
+
+        if (current == null) {
+            current = mapSegment(fromSegment);
+            currentSegment = fromSegment;
+            currentOffset = 0;
+        }
+
+        flushedPosition = positionOf(currentSegment, currentOffset);
+        requestedPosition = flushedPosition;
+    }
+
+    private int replaySegment(MappedByteBuffer segment, JournalReplayer replayer) {
+        int offset = 0;
+
+        while (offset + HEADER_SIZE <= segmentSize) {
+            int length = segment.getInt(offset);
+
+            if (length <= 0 || offset + HEADER_SIZE + length > segmentSize) {
+                break;
+            }
+
+            ByteBuffer record = segment.duplicate();
+            record.limit(offset + HEADER_SIZE + length);
+            record.position(offset + HEADER_SIZE);
+
+            if (checksumOf(record) != segment.getInt(offset + Integer.BYTES)) {
+                break;
+            }
+
+            JournalCodec.dispatch(record.slice(), replayer);
+
+            offset += HEADER_SIZE + length;
+        }
+
+        return offset;
+    }
+
+    private List<Integer> listSegments() throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Integer.valueOf(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private void mapNextSegment() {
+        current = mapSegment(currentSegment + 1);
+        currentSegment++;
+        currentOffset = 0;
+    }
+
+    private MappedByteBuffer mapSegment(int index) {
+        Path path = segmentPath(index);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            segments.put(index, segment);
+
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("journal segment map failed. path: " + path, e);
+        }
+    }
+
+    private long positionOf(int segment, int offset) {
+        return (long) segment * segmentSize + offset;
+    }
+
+    private void clearSegment(MappedByteBuffer segment, int offset) {
+        for (int i=offset; i<segmentSize; i++) {
+            segment.put(i, (byte) 0);
+        }
+
+        segment.force();
+    }
+
+    private static int checksumOf(ByteBuffer record) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(record.duplicate());
+
+        return (int) crc32.getValue();
+    }
+
+    private static class FlushWaiter {
+        private final long position;
+        private final CompletableFuture<Void> future;
+
+        private FlushWaiter(long position, CompletableFuture<Void> future) {
+            this.position = position;
+            this.future = future;
+        }
+
+        private long getPosition() {
+            return position;
+        }
+
+        private void complete(RuntimeException flushFailure) {
+            if (flushFailure == null) {
+                future.complete(null);
+            } else {
+                future.completeExceptionally(flushFailure);
+            }
+        }
+    }
+}
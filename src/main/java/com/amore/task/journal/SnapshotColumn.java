@@ -0,0 +1,24 @@
+package com.amore.task.journal;
+
+public enum SnapshotColumn {
+    USER_NO,
+    USER_NAME,
+    USER_NAME_END,
+    TODO_NO,
+    TODO_USER_NO,
+    TODO_EXECUTION_TIME,
+    TODO_TARGET_USER_NO,
+    TODO_ORDER,
+    TODO_STATUS,
+    TODO_IMPORTANCE,
+    TODO_TASK,
+    TODO_TASK_END,
+    TODO_DESCRIPTION,
+    TODO_DESCRIPTION_END,
+    RELATION_ORIGIN_NO,
+    RELATION_USER_NO,
+    RELATION_TARGET_USER_NO,
+    DELEGATED_NO,
+    DELEGATED_ORIGIN_NO,
+    TODO_VERSION;
+}
@@ -0,0 +1,93 @@
+package com.amore.task.journal;
+
+import com.amore.task.enums.TaskImportance;
+import com.amore.task.model.ToDo;
+import com.amore.task.model.User;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Forwards every record to the wrapped journal and also hands the encoded record to a sink. Records are encoded by
+ * the same {@link JournalCodec} as {@link MappedTaskJournal}, so a reader can apply them with
+ * {@link #replay(ByteBuffer, JournalReplayer)}.
+ */
+public class StreamingTaskJournal implements TaskJournal {
+    private final TaskJournal journal;
+    private final Consumer<byte[]> sink;
+
+    public StreamingTaskJournal(TaskJournal journal, Consumer<byte[]> sink) {
+        this.journal = journal;
+        this.sink = sink;
+    }
+
+    public static void replay(ByteBuffer record, JournalReplayer replayer) {
+        JournalCodec.dispatch(record, replayer);
+    }
+
+    @Override
+    public void appendUser(User user) {
+        journal.appendUser(user);
+        publish(JournalCodec.encodeUser(user, ByteBuffer::allocate));
+    }
+
+    @Override
+    public void appendCreate(ToDo toDo, TaskImportance importance, int order) {
+        journal.appendCreate(toDo, importance, order);
+        publish(JournalCodec.encodeToDo(JournalRecordType.CREATE, toDo, importance, order, ByteBuffer::allocate));
+    }
+
+    @Override
+    public void appendModify(ToDo toDo, TaskImportance importance, int order) {
+        journal.appendModify(toDo, importance, order);
+        publish(JournalCodec.encodeToDo(JournalRecordType.MODIFY, toDo, importance, order, ByteBuffer::allocate));
+    }
+
+    @Override
+    public void appendDelete(long toDoNo) {
+        journal.appendDelete(toDoNo);
+        publish(JournalCodec.encodeDelete(toDoNo, ByteBuffer::allocate));
+    }
+
+    @Override
+    public void appendDelegate(long originToDoNo, long userNo, long targetUserNo, long delegatedToDoNo) {
+        journal.appendDelegate(originToDoNo, userNo, targetUserNo, delegatedToDoNo);
+        publish(JournalCodec.encodeDelegate(originToDoNo, userNo, targetUserNo, delegatedToDoNo, ByteBuffer::allocate));
+    }
+
+    @Override
+    public void appendCancelDelegate(long delegatedToDoNo) {
+        journal.appendCancelDelegate(delegatedToDoNo);
+        publish(JournalCodec.encodeCancelDelegate(delegatedToDoNo, ByteBuffer::allocate));
+    }
+
+    @Override
+    public int roll() {
+        return journal.roll();
+    }
+
+    @Override
+    public void deleteSegmentsBefore(int segment) {
+        journal.deleteSegmentsBefore(segment);
+    }
+
+    @Override
+    public void awaitFlushed() {
+        journal.awaitFlushed();
+    }
+
+    @Override
+    public CompletableFuture<Void> flushed() {
+        return journal.flushed();
+    }
+
+    @Override
+    public void close() {
+        journal.close();
+    }
+
+    private void publish(ByteBuffer record) {
+        sink.accept(record.array());
+    }
+}
@@ -0,0 +1,33 @@
+package com.amore.task.journal;
+
+import com.amore.task.enums.TaskImportance;
+import com.amore.task.model.ToDo;
+import com.amore.task.model.User;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface TaskJournal {
+    TaskJournal DISABLED = new DisabledTaskJournal();
+
+    void appendUser(User user);
+
+    void appendCreate(ToDo toDo, TaskImportance importance, int order);
+
+    void appendModify(ToDo toDo, TaskImportance importance, int order);
+
+    void appendDelete(long toDoNo);
+
+    void appendDelegate(long originToDoNo, long userNo, long targetUserNo, long delegatedToDoNo);
+
+    void appendCancelDelegate(long delegatedToDoNo);
+
+    int roll();
+
+    void deleteSegmentsBefore(int segment);
+
+    void awaitFlushed();
+
+    CompletableFuture<Void> flushed();
+
+    void close();
+}
@@ -0,0 +1,177 @@
+package com.amore.task.journal;
+
+import com.amore.task.enums.TaskImportance;
+import com.amore.task.enums.TaskStatus;
+import com.amore.task.model.ToDo;
+import com.amore.task.model.User;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+
+public class TaskSnapshotReader {
+    private static final SnapshotColumn[] COLUMNS = SnapshotColumn.values();
+    private static final TaskImportance[] IMPORTANCES = TaskImportance.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final MappedRegion region;
+    private final long[] columnPositions = new long[COLUMNS.length];
+
+    private final int version;
+    private final int journalSegment;
+    private final long globalUserNo;
+    private final long globalToDoNo;
+    private final int userCount;
+    private final int toDoCount;
+    private final int relationCount;
+    private final int delegatedCount;
+
+    private TaskSnapshotReader(MappedRegion region) {
+        this.region = region;
+
+        if (region.size() < TaskSnapshotWriter.HEADER_SIZE + Integer.BYTES
+                || region.getInt(0) != TaskSnapshotWriter.MAGIC
+                || region.getInt(region.size() - Integer.BYTES) != TaskSnapshotWriter.MAGIC) {
+            throw new IllegalStateException("snapshot file is broken.");
+        }
+
+        this.version = region.getInt(4);
+
+        if (version != TaskSnapshotWriter.VERSION && version != TaskSnapshotWriter.UNVERSIONED) {
+            throw new IllegalStateException("unsupported snapshot version: " + version);
+        }
+
+        int columnCount = version == TaskSnapshotWriter.UNVERSIONED ? SnapshotColumn.TODO_VERSION.ordinal() : COLUMNS.length;
+
+        if (region.size() < TaskSnapshotWriter.HEADER_SIZE + (long) Long.BYTES * columnCount + Integer.BYTES) {
+            throw new IllegalStateException("snapshot file is broken.");
+        }
+
+        this.journalSegment = region.getInt(8);
+        this.globalUserNo = region.getLong(12);
+        this.globalToDoNo = region.getLong(20);
+        this.userCount = region.getInt(28);
+        this.toDoCount = region.getInt(32);
+        this.relationCount = region.getInt(36);
+        this.delegatedCount = region.getInt(40);
+
+        long footer = region.size() - Integer.BYTES - (long) Long.BYTES * columnCount;
+        for (int i=0; i<columnCount; i++) {
+            columnPositions[i] = region.getLong(footer + (long) Long.BYTES * i);
+        }
+    }
+
+    public static TaskSnapshotReader open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new TaskSnapshotReader(MappedRegion.map(channel));
+        } catch (IOException e) {
+            throw new UncheckedIOException("snapshot open failed. path: " + path, e);
+        }
+    }
+
+    public int getJournalSegment() {
+        return journalSegment;
+    }
+
+    public long getGlobalUserNo() {
+        return globalUserNo;
+    }
+
+    public long getGlobalToDoNo() {
+        return globalToDoNo;
+    }
+
+    public int getUserCount() {
+        return userCount;
+    }
+
+    public int getToDoCount() {
+        return toDoCount;
+    }
+
+    public int getRelationCount() {
+        return relationCount;
+    }
+
+    public int getDelegatedCount() {
+        return delegatedCount;
+    }
+
+    public User getUser(int index) {
+        return new User(getLong(SnapshotColumn.USER_NO, index), getString(SnapshotColumn.USER_NAME, SnapshotColumn.USER_NAME_END, index));
+    }
+
+    public long getToDoUserNo(int index) {
+        return getLong(SnapshotColumn.TODO_USER_NO, index);
+    }
+
+    public ToDo getToDo(int index) {
+        ToDo toDo = new ToDo();
+
+        toDo.setToDoNo(getLong(SnapshotColumn.TODO_NO, index));
+        toDo.setUserNo(getLong(SnapshotColumn.TODO_USER_NO, index));
+
+        long executionTime = getLong(SnapshotColumn.TODO_EXECUTION_TIME, index);
+        toDo.setExecutionDate(executionTime == TaskSnapshotWriter.NO_DATE ? null : new Date(executionTime));
+
+        byte status = region.get(columnPositions[SnapshotColumn.TODO_STATUS.ordinal()] + index);
+        toDo.setStatus(status == TaskSnapshotWriter.NO_ENUM ? null : STATUSES[status]);
+        toDo.setTargetUserNo(getLong(SnapshotColumn.TODO_TARGET_USER_NO, index));
+        toDo.setTask(getString(SnapshotColumn.TODO_TASK, SnapshotColumn.TODO_TASK_END, index));
+        toDo.setDescription(getString(SnapshotColumn.TODO_DESCRIPTION, SnapshotColumn.TODO_DESCRIPTION_END, index));
+        toDo.setVersion(version == TaskSnapshotWriter.UNVERSIONED ? 1 : getLong(SnapshotColumn.TODO_VERSION, index));
+
+        return toDo;
+    }
+
+    public TaskImportance getImportance(int index) {
+        return IMPORTANCES[region.get(columnPositions[SnapshotColumn.TODO_IMPORTANCE.ordinal()] + index)];
+    }
+
+    public int getOrder(int index) {
+        return region.getInt(columnPositions[SnapshotColumn.TODO_ORDER.ordinal()] + (long) Integer.BYTES * index);
+    }
+
+    public long getRelationOriginNo(int index) {
+        return getLong(SnapshotColumn.RELATION_ORIGIN_NO, index);
+    }
+
+    public long getRelationUserNo(int index) {
+        return getLong(SnapshotColumn.RELATION_USER_NO, index);
+    }
+
+    public long getRelationTargetUserNo(int index) {
+        return getLong(SnapshotColumn.RELATION_TARGET_USER_NO, index);
+    }
+
+    public long getDelegatedNo(int index) {
+        return getLong(SnapshotColumn.DELEGATED_NO, index);
+    }
+
+    public long getDelegatedOriginNo(int index) {
+        return getLong(SnapshotColumn.DELEGATED_ORIGIN_NO, index);
+    }
+
+    private long getLong(SnapshotColumn column, int index) {
+        return region.getLong(columnPositions[column.ordinal()] + (long) Long.BYTES * index);
+    }
+
+    private String getString(SnapshotColumn column, SnapshotColumn endColumn, int index) {
+        long end = getLong(endColumn, index);
+
+        if (end < 0) {
+            return null;
+        }
+
+        long start = index == 0 ? 0 : getLong(endColumn, index - 1);
+
+        if (start < 0) {
+            start = ~start;
+        }
+
+        return region.getString(columnPositions[column.ordinal()] + start, (int) (end - start));
+    }
+}
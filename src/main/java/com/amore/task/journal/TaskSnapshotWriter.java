@@ -0,0 +1,258 @@
+package com.amore.task.journal;
+
+import com.amore.task.enums.TaskImportance;
+import com.amore.task.model.ToDo;
+import com.amore.task.model.User;
+import com.amore.task.store.LongList;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TaskSnapshotWriter {
+    public static final String FILE_NAME = "snapshot.bin";
+
+    static final int MAGIC = 0x54534E50;
+    static final int VERSION = 2;
+    static final int UNVERSIONED = 1;
+    static final int HEADER_SIZE = Integer.BYTES * 7 + Long.BYTES * 2;
+    static final byte NO_ENUM = -1;
+    static final long NO_DATE = Long.MIN_VALUE;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final int journalSegment;
+    private final long globalUserNo;
+    private final long globalToDoNo;
+    private final List<User> users = new ArrayList<>();
+
+    private int toDoCount;
+    private long[] toDoNos;
+    private long[] userNos;
+    private long[] executionTimes;
+    private long[] targetUserNos;
+    private long[] versions;
+    private int[] orders;
+    private byte[] statuses;
+    private byte[] importances;
+    private String[] tasks;
+    private String[] descriptions;
+
+    private final LongList relationOriginNos = new LongList();
+    private final LongList relationUserNos = new LongList();
+    private final LongList relationTargetUserNos = new LongList();
+    private final LongList delegatedNos = new LongList();
+    private final LongList delegatedOriginNos = new LongList();
+
+    public TaskSnapshotWriter(int journalSegment, long globalUserNo, long globalToDoNo, int expectedToDoCount) {
+        this.journalSegment = journalSegment;
+        this.globalUserNo = globalUserNo;
+        this.globalToDoNo = globalToDoNo;
+
+        allocate(Math.max(expectedToDoCount, 16));
+    }
+
+    public int getJournalSegment() {
+        return journalSegment;
+    }
+
+    public void addUser(User user) {
+        users.add(user);
+    }
+
+    public void addToDo(ToDo toDo, TaskImportance importance, int order) {
+        if (toDoCount == toDoNos.length) {
+            allocate(toDoCount << 1);
+        }
+
+        int i = toDoCount++;
+
+        toDoNos[i] = toDo.getToDoNo();
+        userNos[i] = toDo.getUserNo();
+        executionTimes[i] = toDo.getExecutionDate() == null ? NO_DATE : toDo.getExecutionDate().getTime();
+        targetUserNos[i] = toDo.getTargetUserNo();
+        versions[i] = toDo.getVersion();
+        orders[i] = order;
+        statuses[i] = toDo.getStatus() == null ? NO_ENUM : (byte) toDo.getStatus().ordinal();
+        importances[i] = (byte) importance.ordinal();
+        tasks[i] = toDo.getTask();
+        descriptions[i] = toDo.getDescription();
+    }
+
+    public void addDelegationRelation(long originToDoNo, long userNo, long targetUserNo) {
+        relationOriginNos.add(originToDoNo);
+        relationUserNos.add(userNo);
+        relationTargetUserNos.add(targetUserNo);
+    }
+
+    public void addDelegatedToDo(long toDoNo, long originToDoNo) {
+        delegatedNos.add(toDoNo);
+        delegatedOriginNos.add(originToDoNo);
+    }
+
+    public void writeTo(Path path) {
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (FileOutputStream file = new FileOutputStream(tempPath.toFile());
+             PositionOutputStream position = new PositionOutputStream(new BufferedOutputStream(file, BUFFER_SIZE));
+             DataOutputStream out = new DataOutputStream(position)) {
+            long[] columnPositions = new long[SnapshotColumn.values().length];
+
+            writeHeader(out);
+            writeColumns(out, position, columnPositions);
+
+            for (long columnPosition : columnPositions) {
+                out.writeLong(columnPosition);
+            }
+
+            out.writeInt(MAGIC);
+            out.flush();
+            file.getChannel().force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("snapshot write failed. path: " + tempPath, e);
+        }
+
+        try {
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("snapshot move failed. path: " + path, e);
+        }
+    }
+
+    private void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(journalSegment);
+        out.writeLong(globalUserNo);
+        out.writeLong(globalToDoNo);
+        out.writeInt(users.size());
+        out.writeInt(toDoCount);
+        out.writeInt(relationOriginNos.size());
+        out.writeInt(delegatedNos.size());
+    }
+
+    private void writeColumns(DataOutputStream out, PositionOutputStream position, long[] columnPositions) throws IOException {
+        String[] userNames = new String[users.size()];
+
+        columnPositions[SnapshotColumn.USER_NO.ordinal()] = position.getPosition();
+        for (int i=0; i<users.size(); i++) {
+            out.writeLong(users.get(i).getNo());
+            userNames[i] = users.get(i).getName();
+        }
+
+        writeStrings(out, position, columnPositions, SnapshotColumn.USER_NAME, SnapshotColumn.USER_NAME_END, userNames, userNames.length);
+
+        writeLongs(out, position, columnPositions, SnapshotColumn.TODO_NO, toDoNos, toDoCount);
+        writeLongs(out, position, columnPositions, SnapshotColumn.TODO_USER_NO, userNos, toDoCount);
+        writeLongs(out, position, columnPositions, SnapshotColumn.TODO_EXECUTION_TIME, executionTimes, toDoCount);
+        writeLongs(out, position, columnPositions, SnapshotColumn.TODO_TARGET_USER_NO, targetUserNos, toDoCount);
+
+        columnPositions[SnapshotColumn.TODO_ORDER.ordinal()] = position.getPosition();
+        for (int i=0; i<toDoCount; i++) {
+            out.writeInt(orders[i]);
+        }
+
+        columnPositions[SnapshotColumn.TODO_STATUS.ordinal()] = position.getPosition();
+        out.write(statuses, 0, toDoCount);
+
+        columnPositions[SnapshotColumn.TODO_IMPORTANCE.ordinal()] = position.getPosition();
+        out.write(importances, 0, toDoCount);
+
+        writeStrings(out, position, columnPositions, SnapshotColumn.TODO_TASK, SnapshotColumn.TODO_TASK_END, tasks, toDoCount);
+        writeStrings(out, position, columnPositions, SnapshotColumn.TODO_DESCRIPTION, SnapshotColumn.TODO_DESCRIPTION_END, descriptions, toDoCount);
+
+        writeLongs(out, position, columnPositions, SnapshotColumn.RELATION_ORIGIN_NO, relationOriginNos);
+        writeLongs(out, position, columnPositions, SnapshotColumn.RELATION_USER_NO, relationUserNos);
+        writeLongs(out, position, columnPositions, SnapshotColumn.RELATION_TARGET_USER_NO, relationTargetUserNos);
+        writeLongs(out, position, columnPositions, SnapshotColumn.DELEGATED_NO, delegatedNos);
+        writeLongs(out, position, columnPositions, SnapshotColumn.DELEGATED_ORIGIN_NO, delegatedOriginNos);
+        writeLongs(out, position, columnPositions, SnapshotColumn.TODO_VERSION, versions, toDoCount);
+    }
+
+    private void writeLongs(DataOutputStream out, PositionOutputStream position, long[] columnPositions,
+                            SnapshotColumn column, long[] values, int size) throws IOException {
+        columnPositions[column.ordinal()] = position.getPosition();
+
+        for (int i=0; i<size; i++) {
+            out.writeLong(values[i]);
+        }
+    }
+
+    private void writeLongs(DataOutputStream out, PositionOutputStream position, long[] columnPositions,
+                            SnapshotColumn column, LongList values) throws IOException {
+        columnPositions[column.ordinal()] = position.getPosition();
+
+        for (int i=0; i<values.size(); i++) {
+            out.writeLong(values.get(i));
+        }
+    }
+
+    private void writeStrings(DataOutputStream out, PositionOutputStream position, long[] columnPositions,
+                              SnapshotColumn column, SnapshotColumn endColumn, String[] values, int size) throws IOException {
+        long[] ends = new long[size];
+        long end = 0;
+
+        columnPositions[column.ordinal()] = position.getPosition();
+        for (int i=0; i<size; i++) {
+            if (values[i] == null) {
+                ends[i] = ~end;
+                continue;
+            }
+
+            byte[] value = values[i].getBytes(StandardCharsets.UTF_8);
+            out.write(value);
+            end += value.length;
+            ends[i] = end;
+        }
+
+        writeLongs(out, position, columnPositions, endColumn, ends, size);
+    }
+
+    private void allocate(int capacity) {
+        toDoNos = toDoNos == null ? new long[capacity] : Arrays.copyOf(toDoNos, capacity);
+        userNos = userNos == null ? new long[capacity] : Arrays.copyOf(userNos, capacity);
+        executionTimes = executionTimes == null ? new long[capacity] : Arrays.copyOf(executionTimes, capacity);
+        targetUserNos = targetUserNos == null ? new long[capacity] : Arrays.copyOf(targetUserNos, capacity);
+        versions = versions == null ? new long[capacity] : Arrays.copyOf(versions, capacity);
+        orders = orders == null ? new int[capacity] : Arrays.copyOf(orders, capacity);
+        statuses = statuses == null ? new byte[capacity] : Arrays.copyOf(statuses, capacity);
+        importances = importances == null ? new byte[capacity] : Arrays.copyOf(importances, capacity);
+        tasks = tasks == null ? new String[capacity] : Arrays.copyOf(tasks, capacity);
+        descriptions = descriptions == null ? new String[capacity] : Arrays.copyOf(descriptions, capacity);
+    }
+
+    private static class PositionOutputStream extends FilterOutputStream {
+        private long position;
+
+        private PositionOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        private long getPosition() {
+            return position;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            position++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            position += len;
+        }
+    }
+}
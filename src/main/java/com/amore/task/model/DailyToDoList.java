@@ -0,0 +1,21 @@
+package com.amore.task.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+import java.util.List;
+
+@Setter
+@Getter
+@NoArgsConstructor
+public class DailyToDoList {
+    private Date date;
+    private List<ToDo> toDoList;
+
+    public DailyToDoList(Date date, List<ToDo> toDoList) {
+        this.date = date;
+        this.toDoList = toDoList;
+    }
+}
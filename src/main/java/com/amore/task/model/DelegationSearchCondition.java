@@ -0,0 +1,12 @@
+package com.amore.task.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DelegationSearchCondition {
+    long userNo;
+}
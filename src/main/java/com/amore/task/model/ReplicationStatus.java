@@ -0,0 +1,16 @@
+package com.amore.task.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class ReplicationStatus {
+    String role;
+    boolean connected;
+    int replicaCount;
+    long headSequence;
+    long appliedSequence;
+    long lagRecords;
+    long lagMillis;
+}
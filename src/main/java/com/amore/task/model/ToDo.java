@@ -24,6 +24,7 @@ public class ToDo implements Serializable, Cloneable {
     private String description;
     private TaskStatus status;
     private long targetUserNo;
+    private long version;
 
     public ToDo(long toDoNo, Date executionDate, long userNo, Policy policy, String task, String description) {
         this.toDoNo = toDoNo;
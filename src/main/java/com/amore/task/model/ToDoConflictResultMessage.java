@@ -0,0 +1,10 @@
+package com.amore.task.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class ToDoConflictResultMessage extends ResultMessage {
+    ToDo currentToDo;
+}
@@ -0,0 +1,20 @@
+package com.amore.task.model;
+
+import com.amore.task.enums.ToDoEventType;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Date;
+
+@Setter
+@Getter
+public class ToDoEvent {
+    String eventId;
+    ToDoEventType type;
+    long userNo;
+    long toDoNo;
+    Date executionDate;
+    ToDo toDo;
+    long relatedUserNo;
+    long relatedToDoNo;
+}
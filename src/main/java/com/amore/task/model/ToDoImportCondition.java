@@ -0,0 +1,14 @@
+package com.amore.task.model;
+
+import com.amore.task.enums.ImportFormat;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ToDoImportCondition {
+    String path;
+    ImportFormat format;
+}
@@ -0,0 +1,13 @@
+package com.amore.task.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class ToDoImportResultMessage extends ResultMessage {
+    long readCount;
+    long importedCount;
+    long failedCount;
+    long elapsedMillis;
+}
@@ -0,0 +1,14 @@
+package com.amore.task.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class ToDoListCacheStatistics {
+    int size;
+    int capacity;
+    long hitCount;
+    long missCount;
+    long evictionCount;
+}
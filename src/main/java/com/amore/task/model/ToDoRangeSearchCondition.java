@@ -0,0 +1,18 @@
+package com.amore.task.model;
+
+import com.amore.task.enums.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Date;
+
+@Setter
+@Getter
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ToDoRangeSearchCondition {
+    long userNo;
+    Date fromDate;
+    Date toDate;
+    TaskStatus status;
+}
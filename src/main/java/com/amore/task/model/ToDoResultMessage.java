@@ -0,0 +1,11 @@
+package com.amore.task.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class ToDoResultMessage extends ResultMessage {
+    long toDoNo;
+    long version;
+}
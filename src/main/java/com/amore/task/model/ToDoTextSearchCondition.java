@@ -0,0 +1,20 @@
+package com.amore.task.model;
+
+import com.amore.task.enums.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Date;
+
+@Setter
+@Getter
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ToDoTextSearchCondition {
+    long userNo;
+    String query;
+    Date fromDate;
+    Date toDate;
+    TaskStatus status;
+    int limit;
+}
@@ -0,0 +1,20 @@
+package com.amore.task.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Setter
+@Getter
+@NoArgsConstructor
+public class UserPage {
+    private List<User> userList;
+    private long nextCursor;
+
+    public UserPage(List<User> userList, long nextCursor) {
+        this.userList = userList;
+        this.nextCursor = nextCursor;
+    }
+}
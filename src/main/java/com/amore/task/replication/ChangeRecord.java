@@ -0,0 +1,31 @@
+package com.amore.task.replication;
+
+class ChangeRecord {
+    private final long sequence;
+    private final int shardIndex;
+    private final long timestamp;
+    private final byte[] record;
+
+    ChangeRecord(long sequence, int shardIndex, long timestamp, byte[] record) {
+        this.sequence = sequence;
+        this.shardIndex = shardIndex;
+        this.timestamp = timestamp;
+        this.record = record;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    int getShardIndex() {
+        return shardIndex;
+    }
+
+    long getTimestamp() {
+        return timestamp;
+    }
+
+    byte[] getRecord() {
+        return record;
+    }
+}
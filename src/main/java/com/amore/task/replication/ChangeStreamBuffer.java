@@ -0,0 +1,93 @@
+package com.amore.task.replication;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ring of the most recent change records. Writers only pay for a short append under the lock; a replica that falls
+ * further behind than the capacity loses its place and has to bootstrap again instead of holding writers back.
+ */
+class ChangeStreamBuffer {
+    private final ChangeRecord[] records;
+    private final int mask;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+
+    private volatile long headSequence;
+
+    ChangeStreamBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+
+        this.records = new ChangeRecord[size];
+        this.mask = size - 1;
+    }
+
+    long append(int shardIndex, byte[] record) {
+        lock.lock();
+        try {
+            long sequence = headSequence + 1;
+
+            records[(int) (sequence & mask)] = new ChangeRecord(sequence, shardIndex, System.currentTimeMillis(), record);
+            headSequence = sequence;
+            appended.signalAll();
+
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getHeadSequence() {
+        return headSequence;
+    }
+
+    int capacity() {
+        return records.length;
+    }
+
+    boolean contains(long fromSequence) {
+        long head = headSequence;
+
+        return fromSequence > 0 && fromSequence <= head + 1 && fromSequence > head - records.length;
+    }
+
+    int read(long fromSequence, List<ChangeRecord> batch, int limit) {
+        lock.lock();
+        try {
+            if (!contains(fromSequence)) {
+                return -1;
+            }
+
+            int count = 0;
+
+            for (long sequence = fromSequence; sequence <= headSequence && count < limit; sequence++, count++) {
+                batch.add(records[(int) (sequence & mask)]);
+            }
+
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean awaitAfter(long sequence, long timeoutMillis) throws InterruptedException {
+        if (headSequence > sequence) {
+            return true;
+        }
+
+        lock.lock();
+        try {
+            long nanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+            while (headSequence <= sequence && nanos > 0) {
+                nanos = appended.awaitNanos(nanos);
+            }
+
+            return headSequence > sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
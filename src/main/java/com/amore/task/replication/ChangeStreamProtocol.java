@@ -0,0 +1,17 @@
+package com.amore.task.replication;
+
+final class ChangeStreamProtocol {
+    static final int MAGIC = 0x54535250;
+
+    static final byte RESUME = 0;
+    static final byte BOOTSTRAP = 1;
+
+    static final byte RECORD = 1;
+    static final byte HEARTBEAT = 2;
+
+    static final long HEARTBEAT_MILLIS = 1000;
+    static final int READ_TIMEOUT_MILLIS = 5000;
+
+    private ChangeStreamProtocol() {
+    }
+}
@@ -0,0 +1,250 @@
+package com.amore.task.replication;
+
+import com.amore.task.journal.TaskSnapshotWriter;
+import com.amore.task.model.ReplicationStatus;
+import com.amore.task.service.TaskShards;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Primary side of the change stream. Every journal record of every shard is numbered in one sequence and kept in a
+ * bounded {@link ChangeStreamBuffer}; each replica connection gets its own sender thread reading from that buffer.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("!'${task.replication.port:}'.isEmpty()")
+public class ChangeStreamPublisher {
+    private static final int BATCH_SIZE = 1024;
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    private final TaskShards taskShards;
+    private final ChangeStreamBuffer buffer;
+    private final long epoch = System.currentTimeMillis();
+    private final ServerSocket serverSocket;
+    private final Thread acceptor;
+    private final Set<Socket> replicas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger sessionSequence = new AtomicInteger();
+
+    private volatile boolean closed;
+
+    @Autowired
+    public ChangeStreamPublisher(TaskShards taskShards, @Value("${task.replication.port}") int port,
+                                 @Value("${task.replication.buffer-size:65536}") int bufferSize, MeterRegistry meterRegistry) {
+        this.taskShards = taskShards;
+        this.buffer = new ChangeStreamBuffer(bufferSize);
+
+        try {
+            this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new UncheckedIOException("change stream listen failed. port: " + port, e);
+        }
+
+        taskShards.streamChangesTo((record, shardIndex) -> buffer.append(shardIndex, record));
+
+        Gauge.builder("replication.head.sequence", buffer, ChangeStreamBuffer::getHeadSequence).register(meterRegistry);
+        Gauge.builder("replication.replicas", replicas, Set::size).register(meterRegistry);
+
+        this.acceptor = new Thread(this::acceptLoop, "task-replication-acceptor");
+        this.acceptor.setDaemon(true);
+        this.acceptor.start();
+
+        log.info("[ChangeStreamPublisher::ChangeStreamPublisher] change stream is listening. port: {}, buffer: {}", getPort(), buffer.capacity());
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public ReplicationStatus getStatus() {
+        ReplicationStatus status = new ReplicationStatus();
+        status.setRole("PRIMARY");
+        status.setConnected(!closed);
+        status.setReplicaCount(replicas.size());
+        status.setHeadSequence(buffer.getHeadSequence());
+        status.setAppliedSequence(buffer.getHeadSequence());
+
+        return status;
+    }
+
+    @PreDestroy
+    public void close() {
+        closed = true;
+
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            log.warn("[ChangeStreamPublisher::close] change stream close failed. message: {}", e.getMessage());
+        }
+
+        disconnectReplicas();
+    }
+
+    void disconnectReplicas() {
+        replicas.forEach(this::closeQuietly);
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                socket.setKeepAlive(true);
+                replicas.add(socket);
+
+                Thread session = new Thread(() -> serve(socket), "task-replication-session-" + sessionSequence.incrementAndGet());
+                session.setDaemon(true);
+                session.start();
+            } catch (IOException e) {
+                if (!closed) {
+                    log.warn("[ChangeStreamPublisher::acceptLoop] replica accept failed. message: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        String replica = socket.getRemoteSocketAddress().toString();
+
+        try {
+            socket.setSoTimeout(ChangeStreamProtocol.READ_TIMEOUT_MILLIS);
+
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), STREAM_BUFFER_SIZE));
+
+            if (in.readInt() != ChangeStreamProtocol.MAGIC) {
+                throw new IOException("unexpected handshake.");
+            }
+
+            long replicaEpoch = in.readLong();
+            long appliedSequence = in.readLong();
+
+            out.writeInt(ChangeStreamProtocol.MAGIC);
+            out.writeInt(taskShards.size());
+            out.writeLong(epoch);
+
+            long nextSequence;
+
+            if (replicaEpoch == epoch && buffer.contains(appliedSequence + 1)) {
+                out.writeByte(ChangeStreamProtocol.RESUME);
+                nextSequence = appliedSequence + 1;
+
+                log.info("[ChangeStreamPublisher::serve] replica resumes from the buffer. replica: {}, sequence: {}", replica, appliedSequence);
+            } else {
+                nextSequence = bootstrap(out) + 1;
+
+                log.info("[ChangeStreamPublisher::serve] replica is bootstrapped. replica: {}, sequence: {}", replica, nextSequence - 1);
+            }
+
+            stream(out, nextSequence);
+        } catch (IOException e) {
+            if (!closed) {
+                log.info("[ChangeStreamPublisher::serve] replica is disconnected. replica: {}, message: {}", replica, e.getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            replicas.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    private long bootstrap(DataOutputStream out) throws IOException {
+        Bootstrap bootstrap = taskShards.captureSnapshots(
+                snapshots -> new Bootstrap(buffer.getHeadSequence(), System.currentTimeMillis(), snapshots));
+
+        out.writeByte(ChangeStreamProtocol.BOOTSTRAP);
+        out.writeLong(bootstrap.sequence);
+        out.writeLong(bootstrap.timestamp);
+
+        for (TaskSnapshotWriter snapshot : bootstrap.snapshots) {
+            Path snapshotPath = Files.createTempFile("task-replication-", ".bin");
+
+            try {
+                snapshot.writeTo(snapshotPath);
+                out.writeLong(Files.size(snapshotPath));
+                Files.copy(snapshotPath, out);
+            } finally {
+                Files.deleteIfExists(snapshotPath);
+            }
+        }
+
+        return bootstrap.sequence;
+    }
+
+    private void stream(DataOutputStream out, long nextSequence) throws IOException, InterruptedException {
+        List<ChangeRecord> batch = new ArrayList<>(BATCH_SIZE);
+
+        while (!closed) {
+            batch.clear();
+
+            if (buffer.read(nextSequence, batch, BATCH_SIZE) < 0) {
+                throw new IOException("replica fell behind the change buffer. sequence: " + nextSequence);
+            }
+
+            for (ChangeRecord changeRecord : batch) {
+                out.writeByte(ChangeStreamProtocol.RECORD);
+                out.writeLong(changeRecord.getSequence());
+                out.writeLong(changeRecord.getTimestamp());
+                out.writeInt(changeRecord.getShardIndex());
+                out.writeInt(changeRecord.getRecord().length);
+                out.write(changeRecord.getRecord());
+            }
+
+            nextSequence += batch.size();
+
+            if (batch.size() == BATCH_SIZE) {
+                continue;
+            }
+
+            out.writeByte(ChangeStreamProtocol.HEARTBEAT);
+            out.writeLong(buffer.getHeadSequence());
+            out.writeLong(System.currentTimeMillis());
+            out.flush();
+
+            buffer.awaitAfter(nextSequence - 1, ChangeStreamProtocol.HEARTBEAT_MILLIS);
+        }
+    }
+
+    private void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            log.debug("[ChangeStreamPublisher::closeQuietly] replica close failed. message: {}", e.getMessage());
+        }
+    }
+
+    private static class Bootstrap {
+        private final long sequence;
+        private final long timestamp;
+        private final List<TaskSnapshotWriter> snapshots;
+
+        private Bootstrap(long sequence, long timestamp, List<TaskSnapshotWriter> snapshots) {
+            this.sequence = sequence;
+            this.timestamp = timestamp;
+            this.snapshots = snapshots;
+        }
+    }
+}
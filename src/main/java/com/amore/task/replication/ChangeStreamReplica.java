@@ -0,0 +1,276 @@
+package com.amore.task.replication;
+
+import com.amore.task.model.ReplicationStatus;
+import com.amore.task.service.TaskShards;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-only copy of a primary. Connects to {@code task.replication.primary}, loads the snapshot the primary sends on
+ * the first connection and then applies the change stream to the local {@link TaskShards}. After a reconnect it asks
+ * to resume after the last applied sequence and only bootstraps again when the primary no longer buffers it.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("!'${task.replication.primary:}'.isEmpty()")
+public class ChangeStreamReplica {
+    private static final int CONNECT_TIMEOUT_MILLIS = 3000;
+    private static final long RECONNECT_MILLIS = 1000;
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    private final TaskShards taskShards;
+    private final String primary;
+    private final String primaryHost;
+    private final int primaryPort;
+    private final Thread replicator;
+
+    private volatile boolean closed;
+    private volatile Socket socket;
+    private volatile boolean connected;
+    private volatile long epoch;
+    private volatile long appliedSequence;
+    private volatile long headSequence;
+    private volatile long syncedTimestamp;
+
+    @Autowired
+    public ChangeStreamReplica(TaskShards taskShards, @Value("${task.replication.primary}") String primary,
+                               @Value("${task.replication.port:}") String port, @Value("${task.journal.path:}") String journalPath,
+                               MeterRegistry meterRegistry) {
+        if (StringUtils.hasText(journalPath) || StringUtils.hasText(port)) {
+            throw new IllegalStateException("replica keeps its state in memory and does not publish. "
+                    + "task.journal.path and task.replication.port must be empty.");
+        }
+
+        int separator = primary.lastIndexOf(':');
+
+        this.taskShards = taskShards;
+        this.primary = primary;
+        this.primaryHost = primary.substring(0, separator);
+        this.primaryPort = Integer.parseInt(primary.substring(separator + 1));
+        this.replicator = new Thread(this::replicateLoop, "task-replication-replica");
+        this.replicator.setDaemon(true);
+
+        Gauge.builder("replication.applied.sequence", this, ChangeStreamReplica::getAppliedSequence).register(meterRegistry);
+        Gauge.builder("replication.lag.records", this, ChangeStreamReplica::getLagRecords).register(meterRegistry);
+        TimeGauge.builder("replication.lag", this, TimeUnit.MILLISECONDS, ChangeStreamReplica::getLagMillis).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        replicator.start();
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    public long getLagRecords() {
+        return Math.max(0, headSequence - appliedSequence);
+    }
+
+    public long getLagMillis() {
+        if (syncedTimestamp == 0) {
+            return 0;
+        }
+
+        if (connected && appliedSequence >= headSequence) {
+            return 0;
+        }
+
+        return Math.max(0, System.currentTimeMillis() - syncedTimestamp);
+    }
+
+    public ReplicationStatus getStatus() {
+        ReplicationStatus status = new ReplicationStatus();
+        status.setRole("REPLICA");
+        status.setConnected(connected);
+        status.setHeadSequence(headSequence);
+        status.setAppliedSequence(appliedSequence);
+        status.setLagRecords(getLagRecords());
+        status.setLagMillis(getLagMillis());
+
+        return status;
+    }
+
+    @PreDestroy
+    public void close() {
+        closed = true;
+        replicator.interrupt();
+
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                log.debug("[ChangeStreamReplica::close] primary close failed. message: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void replicateLoop() {
+        while (!closed) {
+            try (Socket primarySocket = new Socket()) {
+                socket = primarySocket;
+                primarySocket.connect(new InetSocketAddress(primaryHost, primaryPort), CONNECT_TIMEOUT_MILLIS);
+                primarySocket.setSoTimeout(ChangeStreamProtocol.READ_TIMEOUT_MILLIS);
+                primarySocket.setTcpNoDelay(true);
+
+                replicate(primarySocket);
+            } catch (IOException | RuntimeException e) {
+                if (!closed) {
+                    log.warn("[ChangeStreamReplica::replicateLoop] change stream is disconnected. primary: {}, sequence: {}, message: {}",
+                            primary, appliedSequence, e.getMessage());
+                }
+            } finally {
+                connected = false;
+                socket = null;
+            }
+
+            try {
+                Thread.sleep(RECONNECT_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void replicate(Socket primarySocket) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(primarySocket.getInputStream(), STREAM_BUFFER_SIZE));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(primarySocket.getOutputStream()));
+
+        out.writeInt(ChangeStreamProtocol.MAGIC);
+        out.writeLong(epoch);
+        out.writeLong(appliedSequence);
+        out.flush();
+
+        if (in.readInt() != ChangeStreamProtocol.MAGIC) {
+            throw new IOException("unexpected handshake.");
+        }
+
+        int shardCount = in.readInt();
+        if (shardCount != taskShards.size()) {
+            throw new IllegalStateException("shard count differs from the primary. primary: " + shardCount + ", replica: " + taskShards.size());
+        }
+
+        long primaryEpoch = in.readLong();
+
+        if (in.readByte() == ChangeStreamProtocol.BOOTSTRAP) {
+            bootstrap(in, shardCount);
+            epoch = primaryEpoch;
+        } else if (primaryEpoch != epoch) {
+            throw new IOException("primary resumed a different change stream. epoch: " + primaryEpoch);
+        }
+
+        connected = true;
+        log.info("[ChangeStreamReplica::replicate] change stream is connected. primary: {}, sequence: {}", primary, appliedSequence);
+
+        while (!closed) {
+            byte type = in.readByte();
+
+            if (type == ChangeStreamProtocol.RECORD) {
+                apply(in);
+            } else if (type == ChangeStreamProtocol.HEARTBEAT) {
+                long primaryHeadSequence = in.readLong();
+                long timestamp = in.readLong();
+
+                headSequence = Math.max(primaryHeadSequence, appliedSequence);
+                if (appliedSequence >= primaryHeadSequence) {
+                    syncedTimestamp = timestamp;
+                }
+            } else {
+                throw new IOException("unexpected message. type: " + type);
+            }
+        }
+    }
+
+    private void bootstrap(DataInputStream in, int shardCount) throws IOException {
+        long sequence = in.readLong();
+        long timestamp = in.readLong();
+        List<Path> snapshotPaths = new ArrayList<>(shardCount);
+
+        try {
+            for (int i=0; i<shardCount; i++) {
+                Path snapshotPath = Files.createTempFile("task-replica-", ".bin");
+                snapshotPaths.add(snapshotPath);
+
+                try (OutputStream snapshot = Files.newOutputStream(snapshotPath)) {
+                    copy(in, snapshot, in.readLong());
+                }
+            }
+
+            taskShards.loadReplicaSnapshots(snapshotPaths);
+        } finally {
+            for (Path snapshotPath : snapshotPaths) {
+                Files.deleteIfExists(snapshotPath);
+            }
+        }
+
+        appliedSequence = sequence;
+        headSequence = sequence;
+        syncedTimestamp = timestamp;
+
+        log.info("[ChangeStreamReplica::bootstrap] snapshot is loaded. sequence: {}, users: {}", sequence, taskShards.getAllUserList().size());
+    }
+
+    private void apply(DataInputStream in) throws IOException {
+        long sequence = in.readLong();
+        long timestamp = in.readLong();
+        int shardIndex = in.readInt();
+        byte[] record = new byte[in.readInt()];
+        in.readFully(record);
+
+        if (sequence != appliedSequence + 1) {
+            throw new IOException("change stream has a gap. expected: " + (appliedSequence + 1) + ", received: " + sequence);
+        }
+
+        taskShards.applyChange(shardIndex, ByteBuffer.wrap(record));
+
+        appliedSequence = sequence;
+        headSequence = Math.max(headSequence, sequence);
+        syncedTimestamp = timestamp;
+    }
+
+    private static void copy(InputStream in, OutputStream out, long length) throws IOException {
+        byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+
+        while (length > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, length));
+
+            if (read < 0) {
+                throw new IOException("snapshot is truncated.");
+            }
+
+            out.write(buffer, 0, read);
+            length -= read;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.amore.task.service;
+
+import com.amore.task.enums.ResultStatus;
+import com.amore.task.enums.TaskOperation;
+import com.amore.task.model.ResultMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+class TaskMetrics {
+    private static final TaskOperation[] OPERATIONS = TaskOperation.values();
+    private static final String[] RESULTS = {ResultStatus.SUCCESS.name(), ResultStatus.FAIL.name(), ResultStatus.CONFLICT.name(), "ERROR"};
+    private static final int ERROR = RESULTS.length - 1;
+
+    private final MeterRegistry meterRegistry;
+    private final Tags tags;
+    private final Timer[][] timers = new Timer[OPERATIONS.length][RESULTS.length];
+    private final DistributionSummary dayBucketSize;
+    private final DistributionSummary shiftedToDoCount;
+    private final Counter delegateCounter;
+    private final Counter cancelDelegateCounter;
+
+    TaskMetrics(MeterRegistry meterRegistry, Tags tags) {
+        this.meterRegistry = meterRegistry;
+        this.tags = tags;
+
+        this.dayBucketSize = DistributionSummary.builder("task.day.bucket.size")
+                .tags(tags)
+                .baseUnit("todos")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(16384.0)
+                .register(meterRegistry);
+        this.shiftedToDoCount = DistributionSummary.builder("task.day.bucket.shifted")
+                .tags(tags)
+                .baseUnit("todos")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(16384.0)
+                .register(meterRegistry);
+        this.delegateCounter = Counter.builder("task.delegation").tags(tags).tag("action", "delegate").register(meterRegistry);
+        this.cancelDelegateCounter = Counter.builder("task.delegation").tags(tags).tag("action", "cancel").register(meterRegistry);
+    }
+
+    ResultMessage record(TaskOperation operation, Supplier<ResultMessage> action) {
+        return record(operation, action, ResultMessage::getResultStatus);
+    }
+
+    <T> T record(TaskOperation operation, Supplier<T> action, Function<T, ResultStatus> resultStatus) {
+        long start = meterRegistry.config().clock().monotonicTime();
+        int result = ERROR;
+
+        try {
+            T value = action.get();
+            result = getResult(resultStatus.apply(value));
+
+            return value;
+        } finally {
+            stop(operation, result, start);
+        }
+    }
+
+    CompletableFuture<ResultMessage> recordAsync(TaskOperation operation, Supplier<CompletableFuture<ResultMessage>> action) {
+        long start = meterRegistry.config().clock().monotonicTime();
+        CompletableFuture<ResultMessage> future;
+
+        try {
+            future = action.get();
+        } catch (RuntimeException e) {
+            stop(operation, ERROR, start);
+            throw e;
+        }
+
+        return future.whenComplete((resultMessage, e) ->
+                stop(operation, e == null ? getResult(resultMessage.getResultStatus()) : ERROR, start));
+    }
+
+    void recordDayBucketSize(int size) {
+        dayBucketSize.record(size);
+    }
+
+    void recordShiftedToDoCount(int count) {
+        shiftedToDoCount.record(count);
+    }
+
+    void incrementDelegate() {
+        delegateCounter.increment();
+    }
+
+    void incrementCancelDelegate() {
+        cancelDelegateCounter.increment();
+    }
+
+    private int getResult(ResultStatus resultStatus) {
+        return resultStatus == null ? ResultStatus.SUCCESS.ordinal() : resultStatus.ordinal();
+    }
+
+    private void stop(TaskOperation operation, int result, long start) {
+        getTimer(operation, result).record(meterRegistry.config().clock().monotonicTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer getTimer(TaskOperation operation, int result) {
+        Timer timer = timers[operation.ordinal()][result];
+
+        if (timer == null) {
+            timer = Timer.builder("task.operation")
+                    .tags(tags)
+                    .tag("operation", operation.name().toLowerCase())
+                    .tag("result", RESULTS[result])
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(1000))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(meterRegistry);
+            timers[operation.ordinal()][result] = timer;
+        }
+
+        return timer;
+    }
+}
@@ -2,174 +2,1085 @@ package com.amore.task.service;
 
 import com.amore.task.enums.ResultStatus;
 import com.amore.task.enums.TaskImportance;
+import com.amore.task.enums.TaskOperation;
 import com.amore.task.enums.TaskStatus;
+import com.amore.task.enums.ToDoEventType;
+import com.amore.task.journal.JournalReplayer;
+import com.amore.task.journal.MappedTaskJournal;
+import com.amore.task.journal.StreamingTaskJournal;
+import com.amore.task.journal.TaskJournal;
+import com.amore.task.journal.TaskSnapshotReader;
+import com.amore.task.journal.TaskSnapshotWriter;
 import com.amore.task.model.*;
+import com.amore.task.store.ConcurrentLongLongMap;
+import com.amore.task.store.ConcurrentLongLruCache;
+import com.amore.task.store.ConcurrentLongObjectMap;
+import com.amore.task.store.DayBucket;
+import com.amore.task.store.DayIndex;
+import com.amore.task.store.DelegationIndex;
+import com.amore.task.store.DelegationRecord;
+import com.amore.task.store.EpochDays;
+import com.amore.task.store.RankedPolicy;
+import com.amore.task.store.TextTokenizer;
+import com.amore.task.store.ToDoSnapshot;
+import com.amore.task.store.ToDoTextIndex;
+import com.amore.task.store.UserLockStripe;
+import com.amore.task.store.UserMailboxExecutor;
+import com.amore.task.store.UserNameIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Service;
-import org.springframework.util.CollectionUtils;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
-import java.text.SimpleDateFormat;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
 @Slf4j
-@Service
 public class TaskService {
-    public static long globalUserNo = 0;
-    public static long globalToDoNo = 0;
+    private static final int USER_LOCK_STRIPE_COUNT = 64;
+    private static final int DAY_TO_DO_LIST_CACHE_SIZE = 16384;
+    private static final int DEFAULT_USER_PAGE_SIZE = 50;
+    private static final int MAX_USER_PAGE_SIZE = 500;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MAX_RANGE_ETAG_DAYS = 366;
+    private static final int MAX_TASK_LENGTH = 200;
+    private static final int MAX_DESCRIPTION_LENGTH = 2000;
+
+    public AtomicLong globalUserNo = new AtomicLong();
+    public AtomicLong globalToDoNo = new AtomicLong();
+
+    public Map<Long, User> userMap = new ConcurrentHashMap<>();
+    public UserNameIndex userNameIndex = new UserNameIndex();
+    public ConcurrentLongObjectMap<ToDo> toDoMap = new ConcurrentLongObjectMap<>();
+    public ConcurrentLongObjectMap<DayIndex<DayBucket>> userToDoListMap = new ConcurrentLongObjectMap<>();
+    public DelegationIndex delegationIndex = new DelegationIndex();
+    public ConcurrentLongObjectMap<ToDoTextIndex> toDoTextIndexMap = new ConcurrentLongObjectMap<>();
+    public ConcurrentLongLruCache<List<ToDo>> dayToDoListCache = new ConcurrentLongLruCache<>(DAY_TO_DO_LIST_CACHE_SIZE, USER_LOCK_STRIPE_COUNT);
+    public ConcurrentLongLongMap dayVersionMap = new ConcurrentLongLongMap();
+    public ConcurrentLongLongMap userVersionMap = new ConcurrentLongLongMap();
+    public AtomicLong globalDayVersion = new AtomicLong();
+
+    private final TaskShards taskShards;
+    private final int shardIndex;
+    private final int shardCount;
+    private final UserLockStripe userLockStripe;
+    private final UserMailboxExecutor userMailboxExecutor;
+
+    private volatile TaskJournal journal = TaskJournal.DISABLED;
+    private volatile ToDoEventListener eventListener = ToDoEventListener.NONE;
+    private Path journalDirectory;
+    private final Object checkpointLock = new Object();
+    private volatile String dayVersionEpoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final TaskMetrics taskMetrics;
 
-    public static Map<Long, User> userMap = new HashMap<>();
-    public static Map<Long, ToDo> toDoMap = new HashMap<>();
-    public static Map<Long, Map<String, List<Long>>> userToDoListMap = new HashMap<>();
-    public static Map<Long, List<Long>> delegationRelationMap = new HashMap<>();
-    public static Map<Long, Long> delegatedToDoMap = new HashMap<>();
+    public TaskService() {
+        this("");
+    }
+
+    public TaskService(String journalPath) {
+        this(journalPath, Metrics.globalRegistry);
+    }
+
+    public TaskService(String journalPath, MeterRegistry meterRegistry) {
+        this(journalPath, meterRegistry, null, 0);
+
+        if (StringUtils.hasText(journalPath) && !userMap.isEmpty()) {
+            return;
+        }
+
+        String[] testUser = {"test1", "test2", "test3", "test4", "test1"};
+
+        for (int i=0; i<5; i++) {
+            addUser(new User(globalUserNo.incrementAndGet(), testUser[i]));
+        }
+    }
+
+    TaskService(String journalPath, MeterRegistry meterRegistry, TaskShards taskShards, int shardIndex) {
+        this.taskShards = taskShards;
+        this.shardIndex = shardIndex;
+        this.shardCount = taskShards == null ? 1 : taskShards.size();
+        this.userLockStripe = taskShards == null ? new UserLockStripe(USER_LOCK_STRIPE_COUNT) : taskShards.getUserLockStripe();
+        this.userMailboxExecutor = new UserMailboxExecutor(Math.max(1, Runtime.getRuntime().availableProcessors() / shardCount));
+
+        Tags tags = taskShards == null ? Tags.empty() : Tags.of("shard", Integer.toString(shardIndex));
+        taskMetrics = new TaskMetrics(meterRegistry, tags);
+        registerGauges(meterRegistry, tags);
+
+        if (StringUtils.hasText(journalPath)) {
+            journalDirectory = Paths.get(journalPath);
+            journal = MappedTaskJournal.open(journalDirectory, loadSnapshot(), new TaskJournalReplayer());
+        }
+    }
+
+    private void registerGauges(MeterRegistry meterRegistry, Tags tags) {
+        Gauge.builder("task.users", () -> userMap.size()).tags(tags).register(meterRegistry);
+        Gauge.builder("task.todos", () -> toDoMap.size()).tags(tags).register(meterRegistry);
+        Gauge.builder("task.delegations", () -> delegationIndex.size()).tags(tags).register(meterRegistry);
+
+        Gauge.builder("cache.size", dayToDoListCache, ConcurrentLongLruCache::size)
+                .tags(tags).tag("cache", "todo.list").register(meterRegistry);
+        FunctionCounter.builder("cache.gets", dayToDoListCache, ConcurrentLongLruCache::getHitCount)
+                .tags(tags).tag("cache", "todo.list").tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("cache.gets", dayToDoListCache, ConcurrentLongLruCache::getMissCount)
+                .tags(tags).tag("cache", "todo.list").tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", dayToDoListCache, ConcurrentLongLruCache::getEvictionCount)
+                .tags(tags).tag("cache", "todo.list").register(meterRegistry);
+    }
+
+    void addUser(User user) {
+        putUser(user);
+        globalUserNo.accumulateAndGet(user.getNo(), Math::max);
+        journal.appendUser(user);
+        journal.awaitFlushed();
+    }
+
+    int getShardIndex() {
+        return shardIndex;
+    }
+
+    UserLockStripe getUserLockStripe() {
+        return userLockStripe;
+    }
+
+    void streamChangesTo(Consumer<byte[]> sink) {
+        journal = new StreamingTaskJournal(journal, sink);
+    }
+
+    void publishEventsTo(ToDoEventListener eventListener) {
+        this.eventListener = eventListener;
+    }
+
+    void applyChange(ByteBuffer record) {
+        StreamingTaskJournal.replay(record, new ReplicaJournalReplayer());
+    }
+
+    void loadReplicaSnapshot(Path snapshotPath) {
+        userMap.clear();
+        userNameIndex.clear();
+        toDoMap.clear();
+        userToDoListMap.clear();
+        delegationIndex.clear();
+        toDoTextIndexMap.clear();
+        dayToDoListCache.clear();
+        globalUserNo.set(0);
+        globalToDoNo.set(0);
+        dayVersionEpoch = Long.toString(System.currentTimeMillis(), 36);
+
+        loadSnapshot(TaskSnapshotReader.open(snapshotPath));
+    }
+
+    private long nextToDoNo() {
+        return globalToDoNo.incrementAndGet() * shardCount + shardIndex;
+    }
+
+    private TaskService getUserShard(long userNo) {
+        return taskShards == null ? this : taskShards.forUser(userNo);
+    }
+
+    private TaskService getToDoShard(long toDoNo) {
+        return taskShards == null ? this : taskShards.forToDo(toDoNo);
+    }
+
+    private User getUser(long userNo) {
+        return getUserShard(userNo).userMap.get(userNo);
+    }
+
+    public void closeJournal() {
+        journal.close();
+        journal = TaskJournal.DISABLED;
+        journalDirectory = null;
+    }
+
+    public ResultMessage checkpoint() {
+        return taskMetrics.record(TaskOperation.CHECKPOINT, this::checkpointSnapshot);
+    }
+
+    private ResultMessage checkpointSnapshot() {
+        ResultMessage resultMessage = new ResultMessage();
+
+        if (journalDirectory == null) {
+            resultMessage.setResult(ResultStatus.FAIL, "저장소 경로가 설정되지 않았습니다.");
+            return resultMessage;
+        }
+
+        synchronized (checkpointLock) {
+            TaskSnapshotWriter snapshot = userLockStripe.callWithAll(() -> captureSnapshot(journal.roll()));
+
+            snapshot.writeTo(journalDirectory.resolve(TaskSnapshotWriter.FILE_NAME));
+            journal.deleteSegmentsBefore(snapshot.getJournalSegment());
+        }
+
+        resultMessage.setResult(ResultStatus.SUCCESS, "체크포인트가 저장되었습니다.");
+
+        return resultMessage;
+    }
+
+    TaskSnapshotWriter captureSnapshot(int journalSegment) {
+        TaskSnapshotWriter snapshot = new TaskSnapshotWriter(journalSegment, globalUserNo.get(), globalToDoNo.get(), toDoMap.size());
+
+        userMap.values().forEach(snapshot::addUser);
+        userToDoListMap.forEach((userNo, dayToDoListIndex) -> {
+            for (int position = 0; position < dayToDoListIndex.size(); position++) {
+                dayToDoListIndex.valueAt(position).forEach((no, importance, order) -> snapshot.addToDo(toDoMap.get(no), importance, order));
+            }
+        });
+        delegationIndex.forEach(record -> {
+            snapshot.addDelegationRelation(record.getOriginToDoNo(), record.getUserNo(), record.getTargetUserNo());
+            snapshot.addDelegatedToDo(record.getDelegatedToDoNo(), record.getOriginToDoNo());
+        });
+
+        return snapshot;
+    }
+
+    private int loadSnapshot() {
+        Path snapshotPath = journalDirectory.resolve(TaskSnapshotWriter.FILE_NAME);
+
+        if (!Files.exists(snapshotPath)) {
+            return 0;
+        }
+
+        return loadSnapshot(TaskSnapshotReader.open(snapshotPath));
+    }
+
+    private int loadSnapshot(TaskSnapshotReader snapshot) {
+        for (int i=0; i<snapshot.getUserCount(); i++) {
+            putUser(snapshot.getUser(i));
+        }
+
+        globalUserNo.set(snapshot.getGlobalUserNo());
+        globalToDoNo.set(snapshot.getGlobalToDoNo());
+
+        List<int[]> userRanges = new ArrayList<>();
+        for (int from = 0, to = 0; from < snapshot.getToDoCount(); from = to) {
+            long userNo = snapshot.getToDoUserNo(from);
+
+            while (to < snapshot.getToDoCount() && snapshot.getToDoUserNo(to) == userNo) {
+                to++;
+            }
+
+            userRanges.add(new int[] {from, to});
+        }
+
+        userRanges.parallelStream().forEach(userRange -> loadUserToDoList(snapshot, userRange[0], userRange[1]));
+
+        loadDelegationIndex(snapshot);
+
+        log.info("[TaskService::loadSnapshot] snapshot is loaded. users: {}, toDos: {}", snapshot.getUserCount(), snapshot.getToDoCount());
+
+        return snapshot.getJournalSegment();
+    }
+
+    private void loadDelegationIndex(TaskSnapshotReader snapshot) {
+        Map<Long, Integer> relationIndexMap = new HashMap<>();
+
+        for (int i=0; i<snapshot.getRelationCount(); i++) {
+            relationIndexMap.put(snapshot.getRelationOriginNo(i), i);
+        }
+
+        for (int i=0; i<snapshot.getDelegatedCount(); i++) {
+            long originToDoNo = snapshot.getDelegatedOriginNo(i);
+            long delegatedToDoNo = snapshot.getDelegatedNo(i);
+            int relationIndex = i < snapshot.getRelationCount() && snapshot.getRelationOriginNo(i) == originToDoNo
+                    ? i
+                    : relationIndexMap.getOrDefault(originToDoNo, -1);
+
+            if (relationIndex >= 0) {
+                delegationIndex.put(originToDoNo, snapshot.getRelationUserNo(relationIndex),
+                        snapshot.getRelationTargetUserNo(relationIndex), delegatedToDoNo);
+                continue;
+            }
+
+            ToDo originToDo = toDoMap.get(originToDoNo);
+            ToDo delegatedToDo = toDoMap.get(delegatedToDoNo);
+
+            if (originToDo != null && delegatedToDo != null) {
+                delegationIndex.put(originToDoNo, originToDo.getUserNo(), delegatedToDo.getUserNo(), delegatedToDoNo);
+            }
+        }
+    }
+
+    private void loadUserToDoList(TaskSnapshotReader snapshot, int from, int to) {
+        DayIndex<DayBucket> dayToDoListIndex = new DayIndex<>();
+        ToDoTextIndex toDoTextIndex = new ToDoTextIndex();
+
+        for (int i=from; i<to; i++) {
+            ToDo toDo = snapshot.getToDo(i);
+            int keyDay = getKeyDay(toDo.getExecutionDate());
+            DayBucket dayBucket = dayToDoListIndex.get(keyDay);
+
+            if (dayBucket == null) {
+                dayBucket = new DayBucket();
+                dayToDoListIndex.put(keyDay, dayBucket);
+            }
+
+            toDo.setPolicy(dayBucket.insert(toDo.getToDoNo(), snapshot.getImportance(i), snapshot.getOrder(i)));
+            toDoMap.put(toDo.getToDoNo(), toDo);
+            toDoTextIndex.put(toDo.getToDoNo(), toDo.getTask(), toDo.getDescription());
+        }
+
+        userToDoListMap.put(snapshot.getToDoUserNo(from), dayToDoListIndex);
+        toDoTextIndexMap.put(snapshot.getToDoUserNo(from), toDoTextIndex);
+    }
+
+    public ResultMessage createToDo(ToDo newToDo) {
+        return taskMetrics.record(TaskOperation.CREATE, () -> createValidToDo(newToDo));
+    }
+
+    private ResultMessage createValidToDo(ToDo newToDo) {
+        ResultMessage resultMessage = new ResultMessage();
+
+        if (!validateBasicToDo(newToDo, resultMessage)) {
+            return resultMessage;
+        }
+
+        setDefaultToDo(newToDo);
+
+        ResultMessage result = userLockStripe.callWith(newToDo.getUserNo(), () -> createToDo(newToDo, resultMessage));
+        journal.awaitFlushed();
+
+        return result;
+    }
+
+    public CompletableFuture<ResultMessage> createToDoAsync(ToDo newToDo) {
+        return taskMetrics.recordAsync(TaskOperation.CREATE, () -> submitCreateToDo(newToDo));
+    }
+
+    private CompletableFuture<ResultMessage> submitCreateToDo(ToDo newToDo) {
+        ResultMessage resultMessage = new ResultMessage();
+
+        if (!validateBasicToDo(newToDo, resultMessage)) {
+            return CompletableFuture.completedFuture(resultMessage);
+        }
+
+        setDefaultToDo(newToDo);
+
+        return submitMutation(newToDo.getUserNo(), newToDo.getUserNo(), () -> createToDo(newToDo, resultMessage));
+    }
+
+    private ResultMessage createToDo(ToDo newToDo, ResultMessage resultMessage) {
+        DayBucket dayBucket = getOrCreateDayBucket(newToDo.getUserNo(), getKeyDay(newToDo.getExecutionDate()));
+
+        addNewToDo(dayBucket, newToDo, resultMessage);
+
+        return resultMessage;
+    }
+
+    public List<ToDoResultMessage> createToDoList(List<ToDo> newToDoList) {
+        return taskMetrics.record(TaskOperation.CREATE_BATCH, () -> createValidToDoList(newToDoList), this::getResultStatus);
+    }
+
+    private List<ToDoResultMessage> createValidToDoList(List<ToDo> newToDoList) {
+        List<ToDoResultMessage> resultMessages = new ArrayList<>(newToDoList.size());
+        Map<Long, Map<Integer, List<Integer>>> userDayIndexMap = new LinkedHashMap<>();
+
+        for (int i=0; i<newToDoList.size(); i++) {
+            ToDo newToDo = newToDoList.get(i);
+            ToDoResultMessage resultMessage = new ToDoResultMessage();
+            resultMessages.add(resultMessage);
+
+            if (!validateBasicToDo(newToDo, resultMessage)) {
+                continue;
+            }
+
+            setDefaultToDo(newToDo);
+
+            userDayIndexMap.computeIfAbsent(newToDo.getUserNo(), userNo -> new LinkedHashMap<>())
+                    .computeIfAbsent(getKeyDay(newToDo.getExecutionDate()), keyDay -> new ArrayList<>())
+                    .add(i);
+        }
+
+        userDayIndexMap.forEach((userNo, dayIndexMap) -> userLockStripe.callWith(userNo,
+                () -> createToDoList(userNo, dayIndexMap, newToDoList, resultMessages)));
+        journal.awaitFlushed();
+
+        return resultMessages;
+    }
+
+    private List<ToDoResultMessage> createToDoList(long userNo, Map<Integer, List<Integer>> dayIndexMap,
+                                                   List<ToDo> newToDoList, List<ToDoResultMessage> resultMessages) {
+        dayIndexMap.forEach((keyDay, indexes) -> {
+            DayBucket dayBucket = getOrCreateDayBucket(userNo, keyDay);
+
+            for (int index : indexes) {
+                ToDo newToDo = newToDoList.get(index);
+                ToDoResultMessage resultMessage = resultMessages.get(index);
+
+                addNewToDo(dayBucket, newToDo, resultMessage);
+                resultMessage.setToDoNo(newToDo.getToDoNo());
+                resultMessage.setVersion(newToDo.getVersion());
+            }
+        });
+
+        return resultMessages;
+    }
+
+    private ResultStatus getResultStatus(List<ToDoResultMessage> resultMessages) {
+        for (ToDoResultMessage resultMessage : resultMessages) {
+            if (resultMessage.getResultStatus() != ResultStatus.SUCCESS) {
+                return ResultStatus.FAIL;
+            }
+        }
+
+        return ResultStatus.SUCCESS;
+    }
+
+    private void addNewToDo(DayBucket dayBucket, ToDo newToDo, ResultMessage resultMessage) {
+        if (!dayBucket.isEmpty()) {
+            setLowestPolicy(dayBucket, newToDo);
+        }
+
+        setNewToDo(newToDo, dayBucket);
+
+        if (newToDo.getStatus() == TaskStatus.DELEGATION) {
+            resultMessage.setResult(ResultStatus.SUCCESS, "업무가 위임되었습니다.");
+        } else {
+            resultMessage.setResult(ResultStatus.SUCCESS, "새로운 업무가 생성되었습니다.");
+        }
+    }
+
+    public int importToDoList(long userNo, List<ToDo> toDoList) {
+        return taskMetrics.record(TaskOperation.IMPORT, () -> importValidToDoList(userNo, toDoList),
+                importedCount -> importedCount > 0 || toDoList.isEmpty() ? ResultStatus.SUCCESS : ResultStatus.FAIL);
+    }
+
+    private int importValidToDoList(long userNo, List<ToDo> toDoList) {
+        if (!userMap.containsKey(userNo)) {
+            return 0;
+        }
+
+        Map<Integer, List<ToDo>> dayToDoListMap = new LinkedHashMap<>();
+
+        for (ToDo toDo : toDoList) {
+            if (!StringUtils.hasText(toDo.getTask()) || toDo.getTask().length() > MAX_TASK_LENGTH
+                    || (toDo.getDescription() != null && toDo.getDescription().length() > MAX_DESCRIPTION_LENGTH)) {
+                continue;
+            }
+
+            setImportToDo(toDo);
+
+            dayToDoListMap.computeIfAbsent(getKeyDay(toDo.getExecutionDate()), keyDay -> new ArrayList<>()).add(toDo);
+        }
+
+        int importedCount = userLockStripe.callWith(userNo, () -> importToDoList(userNo, dayToDoListMap));
+        journal.awaitFlushed();
+
+        return importedCount;
+    }
+
+    private int importToDoList(long userNo, Map<Integer, List<ToDo>> dayToDoListMap) {
+        int importedCount = 0;
+
+        for (Map.Entry<Integer, List<ToDo>> dayToDoList : dayToDoListMap.entrySet()) {
+            DayBucket dayBucket = getOrCreateDayBucket(userNo, dayToDoList.getKey());
+
+            for (ToDo toDo : dayToDoList.getValue()) {
+                TaskImportance importance = getImportImportance(dayBucket, toDo.getPolicy());
+
+                toDo.setToDoNo(nextToDoNo());
+                putNewToDo(toDo, dayBucket, importance, dayBucket.sizeOf(importance));
+                importedCount++;
+            }
+        }
+
+        return importedCount;
+    }
+
+    private void setImportToDo(ToDo toDo) {
+        if (!StringUtils.hasText(toDo.getDescription())) {
+            toDo.setDescription("");
+        }
+
+        if (ObjectUtils.isEmpty(toDo.getExecutionDate())) {
+            toDo.setExecutionDate(new Date());
+        }
+
+        if (toDo.getStatus() == null || toDo.getStatus() == TaskStatus.NONE || toDo.getStatus() == TaskStatus.DELEGATION) {
+            toDo.setStatus(TaskStatus.PROGRESS);
+        }
+
+        toDo.setTargetUserNo(0);
+    }
+
+    private TaskImportance getImportImportance(DayBucket dayBucket, Policy policy) {
+        if (policy != null && policy.getImportance() != null && policy.getImportance() != TaskImportance.NONE) {
+            return policy.getImportance();
+        }
+
+        return dayBucket.isEmpty() ? TaskImportance.B : dayBucket.getFirstImportance();
+    }
+
+    public List<ToDo> getToDoList(ToDoSearchCondition toDoSearchCondition) {
+        return taskMetrics.record(TaskOperation.GET_LIST, () -> getCachedToDoList(toDoSearchCondition), toDoList -> ResultStatus.SUCCESS);
+    }
+
+    private List<ToDo> getCachedToDoList(ToDoSearchCondition toDoSearchCondition) {
+        if (ObjectUtils.isEmpty(toDoSearchCondition.getSearchDate())) {
+            return new ArrayList<>();
+        }
+
+        long userNo = toDoSearchCondition.getUserNo();
+        int keyDay = getKeyDay(toDoSearchCondition.getSearchDate());
+        List<ToDo> toDoList = dayToDoListCache.get(getDayToDoListKey(userNo, keyDay));
+
+        if (toDoList != null) {
+            return toDoList;
+        }
+
+        return userLockStripe.callWith(userNo, () -> putDayToDoList(userNo, keyDay, getDayBucket(userNo, keyDay)));
+    }
+
+    private List<ToDo> getDayToDoList(long userNo, int keyDay, DayBucket dayBucket) {
+        List<ToDo> toDoList = dayToDoListCache.get(getDayToDoListKey(userNo, keyDay));
+
+        if (toDoList != null) {
+            return toDoList;
+        }
+
+        return putDayToDoList(userNo, keyDay, dayBucket);
+    }
+
+    private List<ToDo> putDayToDoList(long userNo, int keyDay, DayBucket dayBucket) {
+        List<ToDo> toDoList = dayBucket == null || dayBucket.isEmpty()
+                ? Collections.emptyList()
+                : Collections.unmodifiableList(getUserToDoList(dayBucket, TaskStatus.NONE));
+
+        dayToDoListCache.put(getDayToDoListKey(userNo, keyDay), toDoList);
+
+        return toDoList;
+    }
+
+    private void invalidateDayToDoList(long userNo, int keyDay) {
+        long dayToDoListKey = getDayToDoListKey(userNo, keyDay);
+
+        long version = globalDayVersion.incrementAndGet();
+
+        dayVersionMap.put(dayToDoListKey, version);
+        userVersionMap.put(userNo, version);
+        dayToDoListCache.remove(dayToDoListKey);
+    }
+
+    public String getToDoListETag(long userNo, Date searchDate) {
+        if (ObjectUtils.isEmpty(searchDate)) {
+            return getETag(0);
+        }
+
+        return getETag(dayVersionMap.get(getDayToDoListKey(userNo, getKeyDay(searchDate))));
+    }
+
+    public String getToDoListByRangeETag(ToDoRangeSearchCondition rangeSearchCondition) {
+        if (ObjectUtils.isEmpty(rangeSearchCondition.getFromDate()) || ObjectUtils.isEmpty(rangeSearchCondition.getToDate())) {
+            return getETag(0);
+        }
+
+        long version = 0;
+        int fromDay = getKeyDay(rangeSearchCondition.getFromDate());
+        int toDay = getKeyDay(rangeSearchCondition.getToDate());
+
+        if ((long) toDay - fromDay >= MAX_RANGE_ETAG_DAYS) {
+            return getETag(userVersionMap.get(rangeSearchCondition.getUserNo()));
+        }
+
+        for (int day = fromDay; day <= toDay; day++) {
+            version = Math.max(version, dayVersionMap.get(getDayToDoListKey(rangeSearchCondition.getUserNo(), day)));
+        }
+
+        return getETag(version);
+    }
+
+    private String getETag(long version) {
+        return dayVersionEpoch + "-" + version;
+    }
+
+    private long getDayToDoListKey(long userNo, int keyDay) {
+        return userNo << 32 | (keyDay & 0xFFFFFFFFL);
+    }
+
+    public ToDoListCacheStatistics getToDoListCacheStatistics() {
+        ToDoListCacheStatistics statistics = new ToDoListCacheStatistics();
+
+        statistics.setSize(dayToDoListCache.size());
+        statistics.setCapacity(dayToDoListCache.getCapacity());
+        statistics.setHitCount(dayToDoListCache.getHitCount());
+        statistics.setMissCount(dayToDoListCache.getMissCount());
+        statistics.setEvictionCount(dayToDoListCache.getEvictionCount());
+
+        return statistics;
+    }
+
+    public List<DailyToDoList> getToDoListByRange(ToDoRangeSearchCondition rangeSearchCondition) {
+        return taskMetrics.record(TaskOperation.GET_RANGE,
+                () -> userLockStripe.callWith(rangeSearchCondition.getUserNo(), () -> getLockedToDoListByRange(rangeSearchCondition)),
+                dailyToDoLists -> ResultStatus.SUCCESS);
+    }
+
+    private List<DailyToDoList> getLockedToDoListByRange(ToDoRangeSearchCondition rangeSearchCondition) {
+        List<DailyToDoList> dailyToDoLists = new ArrayList<>();
+
+        DayIndex<DayBucket> dayToDoListIndex = userToDoListMap.get(rangeSearchCondition.getUserNo());
+
+        if (dayToDoListIndex == null
+                || ObjectUtils.isEmpty(rangeSearchCondition.getFromDate())
+                || ObjectUtils.isEmpty(rangeSearchCondition.getToDate())) {
+            return dailyToDoLists;
+        }
+
+        int fromDay = getKeyDay(rangeSearchCondition.getFromDate());
+        int toDay = getKeyDay(rangeSearchCondition.getToDate());
+        TaskStatus status = ObjectUtils.isEmpty(rangeSearchCondition.getStatus()) ? TaskStatus.NONE : rangeSearchCondition.getStatus();
+
+        for (int position = dayToDoListIndex.positionFrom(fromDay); position < dayToDoListIndex.size(); position++) {
+            int day = dayToDoListIndex.dayAt(position);
+
+            if (day > toDay) {
+                break;
+            }
+
+            List<ToDo> toDoList = getDayToDoList(rangeSearchCondition.getUserNo(), day, dayToDoListIndex.valueAt(position));
+
+            if (status != TaskStatus.NONE) {
+                toDoList = toDoList.stream().filter(toDo -> toDo.getStatus() == status).collect(Collectors.toList());
+            }
+
+            if (!toDoList.isEmpty()) {
+                dailyToDoLists.add(new DailyToDoList(EpochDays.toDate(day), toDoList));
+            }
+        }
+
+        return dailyToDoLists;
+    }
+
+    public void exportToDoList(long userNo, Consumer<ToDo> action) {
+        taskMetrics.record(TaskOperation.EXPORT, () -> {
+            exportUserToDoList(userNo, action);
+            return ResultStatus.SUCCESS;
+        }, Function.identity());
+    }
+
+    private void exportUserToDoList(long userNo, Consumer<ToDo> action) {
+        List<Long> userNos = userNo == 0 ? userMap.keySet().stream().sorted().collect(Collectors.toList()) : List.of(userNo);
+
+        for (long exportUserNo : userNos) {
+            int fromDay = Integer.MIN_VALUE;
+            DailyToDoList dailyToDoList;
+
+            while ((dailyToDoList = getNextDailyToDoList(exportUserNo, fromDay)) != null) {
+                dailyToDoList.getToDoList().forEach(action);
+                fromDay = getKeyDay(dailyToDoList.getDate()) + 1;
+            }
+        }
+    }
+
+    private DailyToDoList getNextDailyToDoList(long userNo, int fromDay) {
+        return userLockStripe.callWith(userNo, () -> {
+            DayIndex<DayBucket> dayToDoListIndex = userToDoListMap.get(userNo);
+
+            if (dayToDoListIndex == null) {
+                return null;
+            }
+
+            int position = dayToDoListIndex.positionFrom(fromDay);
+
+            if (position >= dayToDoListIndex.size()) {
+                return null;
+            }
+
+            DayBucket dayBucket = dayToDoListIndex.valueAt(position);
+            List<ToDo> toDoList = new ArrayList<>(dayBucket.size());
+
+            dayBucket.forEach((no, importance, order) -> addExportToDo(toDoList, no, importance, order));
+
+            return new DailyToDoList(EpochDays.toDate(dayToDoListIndex.dayAt(position)), toDoList);
+        });
+    }
+
+    private void addExportToDo(List<ToDo> toDoList, long no, TaskImportance importance, int order) {
+        ToDo storedToDo = toDoMap.get(no);
+
+        if (storedToDo == null) {
+            return;
+        }
+
+        toDoList.add(copyToDo(storedToDo, importance, order));
+    }
+
+    private ToDo copyToDo(ToDo storedToDo, TaskImportance importance, int order) {
+        ToDo toDo = new ToDo(storedToDo.getToDoNo(), storedToDo.getExecutionDate(), storedToDo.getUserNo(),
+                new Policy(importance, order), storedToDo.getTask(), storedToDo.getDescription(), storedToDo.getStatus());
+        toDo.setTargetUserNo(storedToDo.getTargetUserNo());
+        toDo.setVersion(storedToDo.getVersion());
+
+        return toDo;
+    }
+
+    public List<ToDo> getOutgoingDelegationList(long userNo) {
+        return taskMetrics.record(TaskOperation.GET_OUTGOING_DELEGATION,
+                () -> userLockStripe.callWith(userNo, () -> getDelegationToDoList(delegationIndex.getOutgoing(userNo), DelegationRecord::getOriginToDoNo)),
+                toDoList -> ResultStatus.SUCCESS);
+    }
+
+    public List<ToDo> getIncomingDelegationList(long userNo) {
+        return taskMetrics.record(TaskOperation.GET_INCOMING_DELEGATION,
+                () -> userLockStripe.callWith(userNo, () -> getDelegationToDoList(delegationIndex.getIncoming(userNo), DelegationRecord::getDelegatedToDoNo)),
+                toDoList -> ResultStatus.SUCCESS);
+    }
+
+    private List<ToDo> getDelegationToDoList(List<DelegationRecord> delegationRecords, ToLongFunction<DelegationRecord> toDoNoOf) {
+        List<ToDo> toDoList = new ArrayList<>(delegationRecords.size());
+
+        for (DelegationRecord delegationRecord : delegationRecords) {
+            addStoredToDo(toDoList, toDoNoOf.applyAsLong(delegationRecord));
+        }
+
+        return toDoList;
+    }
+
+    private void addStoredToDo(List<ToDo> toDoList, long toDoNo) {
+        ToDo storedToDo = toDoMap.get(toDoNo);
+
+        if (storedToDo == null) {
+            return;
+        }
+
+        DayBucket dayBucket = getDayBucket(storedToDo.getUserNo(), getKeyDay(storedToDo.getExecutionDate()));
+        RankedPolicy policy = dayBucket == null ? null : dayBucket.get(toDoNo);
+
+        if (policy != null) {
+            addUserToDo(toDoList, toDoNo, policy.getImportance(), policy.getOrder(), TaskStatus.NONE);
+        }
+    }
+
+    public List<ToDo> searchToDoList(ToDoTextSearchCondition textSearchCondition) {
+        return taskMetrics.record(TaskOperation.SEARCH,
+                () -> userLockStripe.callWith(textSearchCondition.getUserNo(), () -> getLockedSearchToDoList(textSearchCondition)),
+                toDoList -> ResultStatus.SUCCESS);
+    }
+
+    private List<ToDo> getLockedSearchToDoList(ToDoTextSearchCondition textSearchCondition) {
+        ToDoTextIndex toDoTextIndex = toDoTextIndexMap.get(textSearchCondition.getUserNo());
+        Set<String> queryTerms = new LinkedHashSet<>();
+
+        TextTokenizer.tokenize(textSearchCondition.getQuery(), queryTerms::add);
+
+        if (toDoTextIndex == null || queryTerms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        int limit = textSearchCondition.getLimit() <= 0 ? DEFAULT_SEARCH_LIMIT : Math.min(textSearchCondition.getLimit(), MAX_SEARCH_LIMIT);
+        int fromDay = ObjectUtils.isEmpty(textSearchCondition.getFromDate()) ? Integer.MIN_VALUE : getKeyDay(textSearchCondition.getFromDate());
+        int toDay = ObjectUtils.isEmpty(textSearchCondition.getToDate()) ? Integer.MAX_VALUE : getKeyDay(textSearchCondition.getToDate());
+        TaskStatus status = ObjectUtils.isEmpty(textSearchCondition.getStatus()) ? TaskStatus.NONE : textSearchCondition.getStatus();
+
+        long[] toDoNos = toDoTextIndex.search(queryTerms, toDoNo -> {
+            ToDo storedToDo = toDoMap.get(toDoNo);
+
+            if (storedToDo == null || (status != TaskStatus.NONE && storedToDo.getStatus() != status)) {
+                return false;
+            }
 
+            int keyDay = getKeyDay(storedToDo.getExecutionDate());
 
-    public TaskService() {
-        String[] testUser = {"test1", "test2", "test3", "test4", "test1"};
+            return keyDay >= fromDay && keyDay <= toDay;
+        }, limit);
 
-        for (int i=0; i<5; i++) {
-            globalUserNo++;
+        List<ToDo> toDoList = new ArrayList<>(toDoNos.length);
 
-            userMap.put(globalUserNo, new User(globalUserNo, testUser[i]));
+        for (long toDoNo : toDoNos) {
+            addStoredToDo(toDoList, toDoNo);
         }
+
+        return toDoList;
     }
 
-    public ResultMessage createToDo(ToDo newToDo) {
-        ResultMessage resultMessage = new ResultMessage();
+    private void indexToDo(ToDo toDo) {
+        toDoTextIndexMap.computeIfAbsent(toDo.getUserNo(), userNo -> new ToDoTextIndex())
+                .put(toDo.getToDoNo(), toDo.getTask(), toDo.getDescription());
+    }
 
-        if (!validateBasicToDo(newToDo, resultMessage)) {
-            return resultMessage;
+    private void unindexToDo(ToDo toDo) {
+        ToDoTextIndex toDoTextIndex = toDoTextIndexMap.get(toDo.getUserNo());
+
+        if (toDoTextIndex != null) {
+            toDoTextIndex.remove(toDo.getToDoNo());
         }
+    }
 
-        setDefaultToDo(newToDo);
+    public List<User> getAllUserList() {
+        return taskMetrics.record(TaskOperation.GET_ALL_USERS, () -> userMap.values().stream().collect(Collectors.toList()),
+                userList -> ResultStatus.SUCCESS);
+    }
 
-        String keyDate = getKeyDate(newToDo.getExecutionDate());
+    public UserPage getUserList(UserSearchCondition userSearchCondition) {
+        return taskMetrics.record(TaskOperation.GET_USER_LIST, () -> getUserPage(userSearchCondition), userPage -> ResultStatus.SUCCESS);
+    }
 
-        Map<String, List<Long>> dateToDoListMap = new HashMap<>();
-        List<Long> toDoNoList = new ArrayList<>();
+    List<User> findUserList(String prefix, User after, int limit) {
+        return taskMetrics.record(TaskOperation.GET_USER_LIST, () -> userNameIndex.find(prefix, after, limit), userList -> ResultStatus.SUCCESS);
+    }
 
-        if (!isFirstToDo(newToDo.getUserNo())) {
-            dateToDoListMap = userToDoListMap.get(newToDo.getUserNo());
+    private UserPage getUserPage(UserSearchCondition userSearchCondition) {
+        int size = getUserPageSize(userSearchCondition);
+        String prefix = userSearchCondition.getPrefix() == null ? "" : userSearchCondition.getPrefix();
+        User after = null;
 
-            if (!isFirstToDoOnExecutionData(dateToDoListMap, keyDate)) {
-                toDoNoList = dateToDoListMap.get(keyDate);
+        if (userSearchCondition.getCursor() > 0) {
+            after = userMap.get(userSearchCondition.getCursor());
 
-                if (toDoNoList.size() > 0) {
-                    setLowestPolicy(toDoNoList, newToDo);
-                }
+            if (after == null) {
+                return new UserPage(new ArrayList<>(), 0);
             }
         }
 
-        setNewToDo(newToDo, keyDate, toDoNoList, dateToDoListMap);
+        List<User> userList = userNameIndex.find(prefix, after, size + 1);
 
-        if (newToDo.getStatus() == TaskStatus.DELEGATION) {
-            resultMessage.setResult(ResultStatus.SUCCESS, "업무가 위임되었습니다.");
-        } else {
-            resultMessage.setResult(ResultStatus.SUCCESS, "새로운 업무가 생성되었습니다.");
+        if (userList.size() <= size) {
+            return new UserPage(userList, 0);
         }
 
-        return resultMessage;
+        userList.remove(size);
+
+        return new UserPage(userList, userList.get(size - 1).getNo());
     }
 
-    public List<ToDo> getToDoList(ToDoSearchCondition toDoSearchCondition) {
-        List<ToDo> toDoList = new ArrayList<>();
+    static int getUserPageSize(UserSearchCondition userSearchCondition) {
+        return userSearchCondition.getSize() <= 0 ? DEFAULT_USER_PAGE_SIZE : Math.min(userSearchCondition.getSize(), MAX_USER_PAGE_SIZE);
+    }
 
-        List<Long> toDoNoList = getToDoNoList(toDoSearchCondition);
+    private void putUser(User user) {
+        User previousUser = userMap.put(user.getNo(), user);
 
-        if (CollectionUtils.isEmpty(toDoNoList)) {
-            return toDoList;
+        if (previousUser != null) {
+            userNameIndex.remove(previousUser);
         }
 
-        toDoList = getUserToDoList(toDoNoList);
+        userNameIndex.put(user);
+    }
+
+    public ResultMessage modifyToDo(ToDo toDo) {
+        return taskMetrics.record(TaskOperation.MODIFY, () -> modifyValidToDo(toDo, true));
+    }
 
-        return orderToDoListByPolicy(toDoList);
+    public ResultMessage modifyToDoUnchecked(ToDo toDo) {
+        return taskMetrics.record(TaskOperation.MODIFY, () -> modifyValidToDo(toDo, false));
     }
 
-    private List<ToDo> getToDoList(long userNo, Date searchDate) {
-        ToDoSearchCondition searchCondition = new ToDoSearchCondition();
+    private ResultMessage modifyValidToDo(ToDo toDo, boolean checkVersion) {
+        ToDoResultMessage resultMessage= new ToDoResultMessage();
+
+        if (!validateBasicToDo(toDo, resultMessage)) {
+            return resultMessage;
+        }
+
+        long relatedUserNo = getRelatedUserNo(toDo);
 
-        searchCondition.setUserNo(userNo);
-        searchCondition.setSearchDate(searchDate);
+        ResultMessage result = userLockStripe.callWith(toDo.getUserNo(), relatedUserNo, () -> modifyToDo(toDo, checkVersion, resultMessage));
+        awaitFlushed(relatedUserNo);
 
-        return getToDoList(searchCondition);
+        return result;
     }
 
-    public List<User> getAllUserList() {
-        return userMap.values().stream().collect(Collectors.toList());
+    public CompletableFuture<ResultMessage> modifyToDoAsync(ToDo toDo) {
+        return taskMetrics.recordAsync(TaskOperation.MODIFY, () -> submitModifyToDo(toDo));
     }
 
-    public ResultMessage modifyToDo(ToDo toDo) {
-        ResultMessage resultMessage= new ResultMessage();
+    private CompletableFuture<ResultMessage> submitModifyToDo(ToDo toDo) {
+        ToDoResultMessage resultMessage = new ToDoResultMessage();
 
         if (!validateBasicToDo(toDo, resultMessage)) {
-            return resultMessage;
+            return CompletableFuture.completedFuture(resultMessage);
         }
 
+        long relatedUserNo = getRelatedUserNo(toDo);
+
+        return submitMutation(toDo.getUserNo(), relatedUserNo,
+                () -> relatedUserNo == getRelatedUserNo(toDo) ? modifyToDo(toDo, true, resultMessage) : null)
+                .thenCompose(result -> result == null ? submitModifyToDo(toDo) : CompletableFuture.completedFuture(result));
+    }
+
+    private ResultMessage modifyToDo(ToDo toDo, boolean checkVersion, ToDoResultMessage resultMessage) {
         User user = userMap.get(toDo.getUserNo());
         ToDo originToDo = toDoMap.get(toDo.getToDoNo());
 
+        if (originToDo == null) {
+            resultMessage.setResult(ResultStatus.FAIL, "변경할 업무가 존재하지 않습니다.");
+            return resultMessage;
+        }
+
         if (!validateModifyToDo(originToDo, toDo, user.getName(), resultMessage)) {
             return resultMessage;
         }
 
+        if (checkVersion && !validateVersion(toDo.getVersion(), resultMessage)) {
+            return resultMessage;
+        }
+
+        if (checkVersion && !isCurrentVersion(originToDo, toDo.getVersion())) {
+            return getConflictResultMessage(originToDo, "다른 사용자가 먼저 업무를 변경했습니다.");
+        }
+
         if (toDo.getStatus() == TaskStatus.DELEGATION) {
             if (!validateDelegationToDo(toDo, resultMessage)) {
                 return resultMessage;
             }
 
             delegateToDo(toDo);
-        } else if (toDo.getStatus() == TaskStatus.CANCEL && delegatedToDoMap.containsKey(toDo.getToDoNo())) {
+        } else if (toDo.getStatus() == TaskStatus.CANCEL && delegationIndex.isDelegated(toDo.getToDoNo())) {
             cancelDelegateToDo(toDo.getToDoNo());
         }
 
-        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyyMMdd");
-        String executionDate = simpleDateFormat.format(toDo.getExecutionDate());
-        String originExecutionDate = simpleDateFormat.format(originToDo.getExecutionDate());
-
-        if (!executionDate.equals(originExecutionDate)) {
-            changePolicy(originToDo, originExecutionDate, "remove");
-            changePolicy(toDo, executionDate, "add");
-        } else if (toDo.getPolicy().getImportance() != originToDo.getPolicy().getImportance()) {
-            changePolicy(toDo, executionDate, "changeImportance");
-            setModifiedToDo(toDo);
-        } else if (toDo.getPolicy().getOrder() != originToDo.getPolicy().getOrder()) {
-            changePolicy(toDo, executionDate, "changeOrder");
-            setModifiedToDo(toDo);
-        }else {
-            setModifiedToDo(toDo);
-        }
-
-        setModifiedToDo(toDo);
+        updateToDo(originToDo, toDo);
 
         resultMessage.setResult(ResultStatus.SUCCESS, "업무 변경이 완료되었습니다.");
+        resultMessage.setToDoNo(toDo.getToDoNo());
+        resultMessage.setVersion(toDo.getVersion());
 
         return resultMessage;
     }
 
     public ResultMessage deleteToDo(ToDo toDo) {
+        return taskMetrics.record(TaskOperation.DELETE, () -> deleteValidToDo(toDo, true));
+    }
+
+    public ResultMessage deleteToDoUnchecked(ToDo toDo) {
+        return taskMetrics.record(TaskOperation.DELETE, () -> deleteValidToDo(toDo, false));
+    }
+
+    private ResultMessage deleteValidToDo(ToDo toDo, boolean checkVersion) {
+        ResultMessage resultMessage = new ResultMessage();
+
+        while (true) {
+            ToDo currentToDo = toDoMap.get(toDo.getToDoNo());
+
+            if (!validateDeleteToDo(currentToDo, resultMessage)) {
+                return resultMessage;
+            }
+
+            long relatedUserNo = getRelatedUserNo(currentToDo);
+            ResultMessage result = userLockStripe.callWith(currentToDo.getUserNo(), relatedUserNo,
+                    () -> deleteToDo(toDo.getToDoNo(), relatedUserNo, toDo.getVersion(), checkVersion, resultMessage));
+
+            if (result != null) {
+                awaitFlushed(relatedUserNo);
+                return result;
+            }
+        }
+    }
+
+    public CompletableFuture<ResultMessage> deleteToDoAsync(ToDo toDo) {
+        return taskMetrics.recordAsync(TaskOperation.DELETE, () -> submitDeleteToDo(toDo));
+    }
+
+    private CompletableFuture<ResultMessage> submitDeleteToDo(ToDo toDo) {
         ResultMessage resultMessage = new ResultMessage();
+        ToDo currentToDo = toDoMap.get(toDo.getToDoNo());
 
-        if (!validateDeleteToDo(toDo.getToDoNo(), resultMessage)) {
+        if (!validateDeleteToDo(currentToDo, resultMessage)) {
+            return CompletableFuture.completedFuture(resultMessage);
+        }
+
+        long relatedUserNo = getRelatedUserNo(currentToDo);
+
+        return submitMutation(currentToDo.getUserNo(), relatedUserNo, () -> deleteToDo(toDo.getToDoNo(), relatedUserNo, toDo.getVersion(), true, resultMessage))
+                .thenCompose(result -> result == null ? submitDeleteToDo(toDo) : CompletableFuture.completedFuture(result));
+    }
+
+    private ResultMessage deleteToDo(long toDoNo, long relatedUserNo, long version, boolean checkVersion, ResultMessage resultMessage) {
+        ToDo storedToDo = toDoMap.get(toDoNo);
+
+        if (!validateDeleteToDo(storedToDo, resultMessage)) {
             return resultMessage;
         }
 
-        if (isDelegatedToDo(toDo.getToDoNo())) {
-            cancelDelegateToDo(toDo.getToDoNo());
+        if (relatedUserNo != getRelatedUserNo(storedToDo)) {
+            return null;
         }
 
-        String keyDate = getKeyDate(toDo.getExecutionDate());
-        changePolicy(toDo, keyDate, "remove");
-        toDoMap.remove(toDo.getToDoNo());
-        toDo = null;
+        if (checkVersion && !validateVersion(version, resultMessage)) {
+            return resultMessage;
+        }
+
+        if (checkVersion && !isCurrentVersion(storedToDo, version)) {
+            return getConflictResultMessage(storedToDo, "다른 사용자가 먼저 업무를 변경했습니다.");
+        }
+
+        if (isDelegatedToDo(toDoNo)) {
+            cancelDelegateToDo(toDoNo);
+        }
+
+        removeToDo(storedToDo);
 
         resultMessage.setResult(ResultStatus.SUCCESS, "업무가 삭제되었습니다.");
 
         return resultMessage;
     }
 
+    private void removeToDo(ToDo toDo) {
+        removeFromDayBucket(toDo.getUserNo(), getKeyDay(toDo.getExecutionDate()), toDo.getToDoNo());
+        toDoMap.remove(toDo.getToDoNo());
+        unindexToDo(toDo);
+
+        journal.appendDelete(toDo.getToDoNo());
+        publishToDoEvent(ToDoEventType.DELETE, toDo);
+    }
+
+    private CompletableFuture<ResultMessage> submitMutation(long userNo, long relatedUserNo, Supplier<ResultMessage> mutation) {
+        return userMailboxExecutor.submit(userNo, relatedUserNo, () -> {
+            ResultMessage result = userLockStripe.callWith(userNo, relatedUserNo, mutation);
+
+            return flushed(relatedUserNo).thenApply(flushed -> result);
+        }).thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<Void> flushed(long relatedUserNo) {
+        TaskService relatedShard = getUserShard(relatedUserNo);
+
+        if (relatedShard == this) {
+            return journal.flushed();
+        }
+
+        return CompletableFuture.allOf(journal.flushed(), relatedShard.journal.flushed());
+    }
+
+    private void awaitFlushed(long relatedUserNo) {
+        journal.awaitFlushed();
+
+        TaskService relatedShard = getUserShard(relatedUserNo);
+        if (relatedShard != this) {
+            relatedShard.journal.awaitFlushed();
+        }
+    }
+
+    private long getRelatedUserNo(ToDo toDo) {
+        if (toDo.getStatus() == TaskStatus.DELEGATION && getUser(toDo.getTargetUserNo()) != null) {
+            return toDo.getTargetUserNo();
+        }
+
+        DelegationRecord delegationRecord = delegationIndex.getByDelegated(toDo.getToDoNo());
+        ToDo originToDo = delegationRecord == null ? null : getToDoShard(delegationRecord.getOriginToDoNo()).toDoMap.get(delegationRecord.getOriginToDoNo());
+
+        if (originToDo != null) {
+            return originToDo.getUserNo();
+        }
+
+        return toDo.getUserNo();
+    }
+
     private boolean validateBasicToDo(ToDo toDo, ResultMessage resultMessage) {
         if (toDo.getUserNo() == 0) {
             resultMessage.setResult(ResultStatus.FAIL, "담당자가 입력되지 않았습니다.");
@@ -186,6 +1097,16 @@ public class TaskService {
             return false;
         }
 
+        if (toDo.getTask().length() > MAX_TASK_LENGTH) {
+            resultMessage.setResult(ResultStatus.FAIL, "업무제목은 " + MAX_TASK_LENGTH + "자 이하로 입력해 주세요.");
+            return false;
+        }
+
+        if (toDo.getDescription() != null && toDo.getDescription().length() > MAX_DESCRIPTION_LENGTH) {
+            resultMessage.setResult(ResultStatus.FAIL, "업무내용은 " + MAX_DESCRIPTION_LENGTH + "자 이하로 입력해 주세요.");
+            return false;
+        }
+
         if (toDo.getToDoNo() > 0 && !toDoMap.containsKey(toDo.getToDoNo())) {
             resultMessage.setResult(ResultStatus.FAIL, "변경할 업무가 존재하지 않습니다.");
             return false;
@@ -218,134 +1139,138 @@ public class TaskService {
         toDo.setPolicy(policy);
     }
 
-    private boolean isFirstToDo(long userNo) {
-        if (userToDoListMap.containsKey(userNo)) {
-            return false;
+    private int getKeyDay(Date executionDate) {
+        return EpochDays.of(executionDate);
+    }
+
+    private void setLowestPolicy(DayBucket dayBucket, ToDo newToDo) {
+        Policy policy;
+        if (newToDo.getStatus() == TaskStatus.DELEGATION && dayBucket.sizeOf(TaskImportance.A) == 0) {
+            policy = new Policy(TaskImportance.A, 0);
+        } else {
+            TaskImportance importance = dayBucket.getFirstImportance();
+            policy = new Policy(importance, dayBucket.sizeOf(importance));
         }
 
-        return true;
+        newToDo.setPolicy(policy);
     }
 
-    private boolean isFirstToDoOnExecutionData(Map<String, List<Long>> dateToDoListMap, String keyDate) {
-        if (dateToDoListMap.containsKey(keyDate)) {
-            return false;
-        }
+    private void setNewToDo(ToDo newToDo, DayBucket dayBucket) {
+        newToDo.setToDoNo(nextToDoNo());
 
-        return true;
+        putNewToDo(newToDo, dayBucket, newToDo.getPolicy().getImportance(), newToDo.getPolicy().getOrder());
     }
 
-    private String getKeyDate(Date executionDate) {
-        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyyMMdd");
+    private void putNewToDo(ToDo newToDo, DayBucket dayBucket, TaskImportance importance, int order) {
+        RankedPolicy policy = dayBucket.insert(newToDo.getToDoNo(), importance, order);
 
-        return simpleDateFormat.format(executionDate);
+        newToDo.setPolicy(policy);
+        newToDo.setVersion(1);
+        recordDayBucket(dayBucket, getShiftedToDoCount(dayBucket, policy));
+        toDoMap.put(newToDo.getToDoNo(), newToDo);
+        indexToDo(newToDo);
+        invalidateDayToDoList(newToDo.getUserNo(), getKeyDay(newToDo.getExecutionDate()));
+
+        journal.appendCreate(newToDo, importance, order);
+        publishToDoEvent(ToDoEventType.CREATE, newToDo);
     }
 
-    private void setLowestPolicy(List<Long> toDoNoList, ToDo newToDo) {
-        TaskImportance importance = TaskImportance.NONE;
-        int order = 0;
+    private DayBucket getDayBucket(long userNo, int keyDay) {
+        DayIndex<DayBucket> dayToDoListIndex = userToDoListMap.get(userNo);
 
-        boolean existA0 = false;
-        for (Long toDoNo : toDoNoList) {
-            if (toDoMap.containsKey(toDoNo)) {
-                ToDo toDo = toDoMap.get(toDoNo);
+        if (dayToDoListIndex == null) {
+            return null;
+        }
+
+        return dayToDoListIndex.get(keyDay);
+    }
 
-                if (importance == TaskImportance.NONE
-                        || toDo.getPolicy().getImportance().getPriority() <= importance.getPriority()) {
-                    importance = toDo.getPolicy().getImportance();
-                    order = toDo.getPolicy().getOrder();
-                }
+    private DayBucket getOrCreateDayBucket(long userNo, int keyDay) {
+        DayIndex<DayBucket> dayToDoListIndex = userToDoListMap.get(userNo);
 
-                if (toDo.getPolicy().getImportance() == TaskImportance.A && toDo.getPolicy().getOrder() == 0) {
-                    existA0 = true;
-                }
-            }
+        if (dayToDoListIndex == null) {
+            dayToDoListIndex = new DayIndex<>();
+            userToDoListMap.put(userNo, dayToDoListIndex);
         }
 
-        Policy policy;
-        if (newToDo.getStatus() == TaskStatus.DELEGATION && !existA0) {
-            policy = new Policy(TaskImportance.A, 0);
-        } else {
-            policy = new Policy(importance, order+1);
+        DayBucket dayBucket = dayToDoListIndex.get(keyDay);
+
+        if (dayBucket == null) {
+            dayBucket = new DayBucket();
+            dayToDoListIndex.put(keyDay, dayBucket);
         }
 
-        newToDo.setPolicy(policy);
+        return dayBucket;
     }
 
-    private void setNewToDo(ToDo newToDo, String keyDate, List<Long> toDoNoList, Map<String, List<Long>> dateToDoListMap) {
-        globalToDoNo++;
-        newToDo.setToDoNo(globalToDoNo);
-
-        toDoMap.put(globalToDoNo, newToDo);
+    private void removeFromDayBucket(long userNo, int keyDay, long toDoNo) {
+        invalidateDayToDoList(userNo, keyDay);
 
-        toDoNoList.add(globalToDoNo);
-        dateToDoListMap.put(keyDate, toDoNoList);
-        userToDoListMap.put(newToDo.getUserNo(), dateToDoListMap);
-    }
+        DayIndex<DayBucket> dayToDoListIndex = userToDoListMap.get(userNo);
+        DayBucket dayBucket = dayToDoListIndex == null ? null : dayToDoListIndex.get(keyDay);
 
-    private List<Long> getToDoNoList(ToDoSearchCondition toDoSearchCondition) {
-        if (!userToDoListMap.containsKey(toDoSearchCondition.getUserNo())) {
-            return new ArrayList<>();
+        if (dayBucket == null) {
+            return;
         }
 
-        Map<String, List<Long>> dateToDoListMap = userToDoListMap.get(toDoSearchCondition.getUserNo());
+        RankedPolicy policy = dayBucket.get(toDoNo);
 
-        if (ObjectUtils.isEmpty(toDoSearchCondition.getSearchDate())) {
-            return new ArrayList<>();
+        if (policy == null) {
+            return;
         }
 
-        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyyMMdd");
+        int shiftedToDoCount = getShiftedToDoCount(dayBucket, policy);
 
-        String searchDate = simpleDateFormat.format(toDoSearchCondition.getSearchDate());
+        dayBucket.remove(toDoNo);
+        recordDayBucket(dayBucket, shiftedToDoCount);
 
-        if (!dateToDoListMap.containsKey(searchDate)) {
-            return new ArrayList<>();
+        if (dayBucket.isEmpty()) {
+            dayToDoListIndex.remove(keyDay);
         }
+    }
 
-        return dateToDoListMap.get(searchDate);
+    private int getShiftedToDoCount(DayBucket dayBucket, RankedPolicy policy) {
+        return dayBucket.sizeOf(policy.getImportance()) - 1 - policy.getOrder();
     }
 
-    private List<ToDo> getUserToDoList(List<Long> toDoNoList) {
-        List<ToDo> toDoList = new ArrayList<>();
+    private void recordDayBucket(DayBucket dayBucket, int shiftedToDoCount) {
+        taskMetrics.recordDayBucketSize(dayBucket.size());
+        taskMetrics.recordShiftedToDoCount(shiftedToDoCount);
+    }
 
-        for (Long no : toDoNoList) {
-            if (!toDoMap.containsKey(no)) {
-                continue;
-            }
+    private List<ToDo> getUserToDoList(DayBucket dayBucket, TaskStatus status) {
+        List<ToDo> toDoList = new ArrayList<>(dayBucket.size());
 
-            ToDo toDo;
+        dayBucket.forEach((no, importance, order) -> addUserToDo(toDoList, no, importance, order, status));
 
-            try {
-                toDo = toDoMap.get(no).clone();
-            } catch (CloneNotSupportedException e) {
-                log.error("[TaskService::getUserToDoListOnExecutionDate] CloneNotSupportedException is occurs. toDoNo: {}, message: {}", no, e.getCause());
-                continue;
-            }
+        return toDoList;
+    }
 
-            if (toDo.getTargetUserNo() > 0) {
-                User targetUsr = userMap.containsKey(toDo.getTargetUserNo()) ? userMap.get(toDo.getTargetUserNo()) : new User();
-                toDo.setTask(toDo.getTask() + " 위임(" + targetUsr.getName() + ")");
-            } else if (delegatedToDoMap.containsKey(toDo.getToDoNo())) {
-                setDelegateMarkToTask(toDo);
-            }
+    private void addUserToDo(List<ToDo> toDoList, long no, TaskImportance importance, int order, TaskStatus status) {
+        ToDo storedToDo = toDoMap.get(no);
 
-            toDoList.add(toDo);
+        if (storedToDo == null) {
+            return;
         }
 
-        return toDoList;
+        if (status != TaskStatus.NONE && storedToDo.getStatus() != status) {
+            return;
+        }
+
+        toDoList.add(new ToDoSnapshot(storedToDo, importance, order, getDelegationMarkedTask(storedToDo)));
     }
 
-    private List<ToDo> orderToDoListByPolicy(List<ToDo> toDoList) {
-        return toDoList.stream()
-                .sorted((ToDo o1, ToDo o2) -> {
-                    int importance = o1.getPolicy().getImportance().getPriority()-o2.getPolicy().getImportance().getPriority();
+    private String getDelegationMarkedTask(ToDo toDo) {
+        if (toDo.getTargetUserNo() > 0) {
+            User targetUsr = getUser(toDo.getTargetUserNo()) != null ? getUser(toDo.getTargetUserNo()) : new User();
+            return toDo.getTask() + " 위임(" + targetUsr.getName() + ")";
+        }
+
+        if (delegationIndex.isDelegated(toDo.getToDoNo())) {
+            return getDelegateMarkedTask(toDo);
+        }
 
-                    if (importance == 0) {
-                        return o1.getPolicy().getOrder()-o2.getPolicy().getOrder();
-                    } else {
-                        return importance;
-                    }
-                })
-                .collect(Collectors.toList());
+        return toDo.getTask();
     }
 
     private boolean validateModifyToDo(ToDo originToDo, ToDo toDo, String userName, ResultMessage resultMessage) {
@@ -367,12 +1292,12 @@ public class TaskService {
             resultMessage.setResult(ResultStatus.FAIL, "위임할 대상자의 사용자 번호를 입력해 주세요.");
             return false;
         } else {
-            if (!userMap.containsKey(toDo.getTargetUserNo())) {
+            if (getUser(toDo.getTargetUserNo()) == null) {
                 resultMessage.setResult(ResultStatus.FAIL, "위임할 대상자가 존재하지 않습니다.");
                 return false;
             }
 
-            if (delegatedToDoMap.containsKey(toDo.getToDoNo())) {
+            if (delegationIndex.isDelegated(toDo.getToDoNo())) {
                 resultMessage.setResult(ResultStatus.FAIL, "위임받은 업무는 재위임할 수 없습니다.");
                 return false;
             }
@@ -382,16 +1307,27 @@ public class TaskService {
     }
 
     private void delegateToDo(ToDo toDo) {
-        List<Long> userNoList = new ArrayList<>();
-        userNoList.add(toDo.getUserNo());
-        userNoList.add(toDo.getTargetUserNo());
-
-        delegationRelationMap.put(toDo.getToDoNo(), userNoList);
+        invalidateDayToDoList(toDo.getUserNo(), getKeyDay(toDoMap.get(toDo.getToDoNo()).getExecutionDate()));
 
         ToDo newToDo = new ToDo(toDo, toDo.getTargetUserNo());
-        createToDo(newToDo);
+        TaskService targetShard = getUserShard(toDo.getTargetUserNo());
+        setDefaultToDo(newToDo);
+        targetShard.createToDo(newToDo, new ResultMessage());
+
+        putDelegation(toDo.getToDoNo(), toDo.getUserNo(), toDo.getTargetUserNo(), newToDo.getToDoNo());
+
+        if (targetShard != this) {
+            targetShard.putDelegation(toDo.getToDoNo(), toDo.getUserNo(), toDo.getTargetUserNo(), newToDo.getToDoNo());
+        }
+
+        taskMetrics.incrementDelegate();
+    }
+
+    private void putDelegation(long originToDoNo, long userNo, long targetUserNo, long delegatedToDoNo) {
+        delegationIndex.put(originToDoNo, userNo, targetUserNo, delegatedToDoNo);
 
-        delegatedToDoMap.put(newToDo.getToDoNo(), toDo.getToDoNo());
+        journal.appendDelegate(originToDoNo, userNo, targetUserNo, delegatedToDoNo);
+        publishDelegationEvent(ToDoEventType.DELEGATE, originToDoNo, userNo, targetUserNo, delegatedToDoNo);
     }
 
     private void setModifiedToDo(ToDo toDo) {
@@ -399,203 +1335,307 @@ public class TaskService {
     }
 
     private void cancelDelegateToDo(long toDoNo) {
-        long originToDoNo = delegatedToDoMap.get(toDoNo);
+        DelegationRecord delegationRecord = delegationIndex.getByDelegated(toDoNo);
 
-        if (originToDoNo == 0) {
+        if (delegationRecord == null) {
             return;
         }
 
-        if (delegationRelationMap.containsKey(originToDoNo)) {
-            delegationRelationMap.remove(originToDoNo);
+        TaskService originShard = getToDoShard(delegationRecord.getOriginToDoNo());
+        removeDelegation(toDoNo);
+
+        if (originShard != this) {
+            originShard.removeDelegation(toDoNo);
         }
 
-        if (toDoMap.containsKey(originToDoNo)) {
-            ToDo originToDo = toDoMap.get(originToDoNo);
+        taskMetrics.incrementCancelDelegate();
+    }
+
+    private void removeDelegation(long toDoNo) {
+        DelegationRecord delegationRecord = delegationIndex.removeByDelegated(toDoNo);
+
+        if (delegationRecord == null) {
+            return;
+        }
+
+        ToDo originToDo = toDoMap.get(delegationRecord.getOriginToDoNo());
+        if (originToDo != null) {
             originToDo.setStatus(TaskStatus.PROGRESS);
             originToDo.setTargetUserNo(0);
+            originToDo.setVersion(originToDo.getVersion() + 1);
+            invalidateDayToDoList(originToDo.getUserNo(), getKeyDay(originToDo.getExecutionDate()));
+        }
+
+        ToDo delegatedToDo = toDoMap.get(toDoNo);
+        if (delegatedToDo != null) {
+            invalidateDayToDoList(delegatedToDo.getUserNo(), getKeyDay(delegatedToDo.getExecutionDate()));
         }
 
-        delegatedToDoMap.remove(toDoNo);
+        journal.appendCancelDelegate(toDoNo);
+        publishDelegationEvent(ToDoEventType.CANCEL_DELEGATION, delegationRecord.getOriginToDoNo(), delegationRecord.getUserNo(),
+                delegationRecord.getTargetUserNo(), toDoNo);
     }
 
-    private boolean validateDeleteToDo(long toDoNo, ResultMessage resultMessage) {
-        if (!toDoMap.containsKey(toDoNo)) {
-            resultMessage.setResult(ResultStatus.FAIL, "삭제할 업무가 존재하지 않습니다.");
+    private void publishToDoEvent(ToDoEventType type, ToDo toDo) {
+        if (!eventListener.isSubscribed(toDo.getUserNo())) {
+            return;
+        }
 
-            return false;
+        ToDoEvent event = new ToDoEvent();
+        event.setType(type);
+        event.setUserNo(toDo.getUserNo());
+        event.setToDoNo(toDo.getToDoNo());
+        event.setExecutionDate(toDo.getExecutionDate());
+
+        if (type != ToDoEventType.DELETE) {
+            RankedPolicy policy = getDayBucket(toDo.getUserNo(), getKeyDay(toDo.getExecutionDate())).get(toDo.getToDoNo());
+            event.setToDo(copyToDo(toDo, policy.getImportance(), policy.getOrder()));
         }
 
-        return true;
+        eventListener.publish(event);
     }
 
-    private boolean isDelegatedToDo(long toDoNo) {
-        if (delegatedToDoMap.containsKey(toDoNo)) {
-            return true;
+    private void publishDelegationEvent(ToDoEventType type, long originToDoNo, long userNo, long targetUserNo, long delegatedToDoNo) {
+        if (getUserShard(userNo) == this) {
+            publishUserDelegationEvent(type, userNo, originToDoNo, targetUserNo, delegatedToDoNo);
         }
 
-        return false;
+        if (getUserShard(targetUserNo) == this) {
+            publishUserDelegationEvent(type, targetUserNo, delegatedToDoNo, userNo, originToDoNo);
+        }
     }
 
-    private void setDelegateMarkToTask(ToDo toDo) {
-        long originToDoNo = delegatedToDoMap.get(toDo.getToDoNo());
-
-        if (!delegationRelationMap.containsKey(originToDoNo)) {
+    private void publishUserDelegationEvent(ToDoEventType type, long userNo, long toDoNo, long relatedUserNo, long relatedToDoNo) {
+        if (!eventListener.isSubscribed(userNo)) {
             return;
         }
 
-        List<Long> userNoList = delegationRelationMap.get(originToDoNo);
+        ToDo toDo = toDoMap.get(toDoNo);
 
-        if (userNoList.size() != 2) {
-            return;
-        }
+        ToDoEvent event = new ToDoEvent();
+        event.setType(type);
+        event.setUserNo(userNo);
+        event.setToDoNo(toDoNo);
+        event.setExecutionDate(toDo == null ? null : toDo.getExecutionDate());
+        event.setRelatedUserNo(relatedUserNo);
+        event.setRelatedToDoNo(relatedToDoNo);
 
-        long userNo = userNoList.get(0);
+        eventListener.publish(event);
+    }
 
-        if (!userMap.containsKey(userNo)) {
-            return;
+    private boolean validateDeleteToDo(ToDo storedToDo, ResultMessage resultMessage) {
+        if (storedToDo == null) {
+            resultMessage.setResult(ResultStatus.FAIL, "삭제할 업무가 존재하지 않습니다.");
+
+            return false;
         }
 
-        toDo.setTask(toDo.getTask() + " " + userMap.get(userNo).getName());
+        return true;
     }
 
-    private void changePolicy(ToDo toDo, String keyDate, String type) {
-        Map<String, List<Long>> dateToDoListMap = userToDoListMap.get(toDo.getUserNo());
+    private boolean validateVersion(long version, ResultMessage resultMessage) {
+        if (version == 0) {
+            resultMessage.setResult(ResultStatus.FAIL, "업무 버전이 입력되지 않았습니다.");
+            return false;
+        }
 
-        List<Long> toDoNoList= dateToDoListMap.containsKey(keyDate) ? dateToDoListMap.get(keyDate) : new ArrayList<>();
-        List<ToDo> toDoList;
-        Map<TaskImportance, Map<Integer, List<Long>>> policyMap;
+        if (version < 0) {
+            resultMessage.setResult(ResultStatus.FAIL, "업무 버전이 올바르지 않습니다.");
+            return false;
+        }
 
-        if ("remove".equals(type) & toDoNoList.size() > 0) {
-            toDoNoList.remove(toDo.getToDoNo());
+        return true;
+    }
 
-            toDoList = getToDoList(toDo.getUserNo(), toDo.getExecutionDate());
-            policyMap = getPolicyMap(toDo, toDoList, type);
+    private boolean isCurrentVersion(ToDo storedToDo, long version) {
+        return storedToDo.getVersion() == version;
+    }
 
-            reOrderPolicy(policyMap, toDo, "remove");
-        } else if (toDoNoList.size() > 0) {
-            toDoList = getToDoList(toDo.getUserNo(), toDo.getExecutionDate());
-            policyMap = getPolicyMap(toDo, toDoList, type);
+    private ToDoConflictResultMessage getConflictResultMessage(ToDo storedToDo, String message) {
+        ToDoConflictResultMessage resultMessage = new ToDoConflictResultMessage();
+        RankedPolicy policy = getDayBucket(storedToDo.getUserNo(), getKeyDay(storedToDo.getExecutionDate())).get(storedToDo.getToDoNo());
 
-            if (policyMap.containsKey(toDo.getPolicy().getImportance())) {
-                reOrderPolicy(policyMap, toDo, type);
-            }
+        resultMessage.setResult(ResultStatus.CONFLICT, message);
+        resultMessage.setCurrentToDo(copyToDo(storedToDo, policy.getImportance(), policy.getOrder()));
 
-            ToDo originToDo = toDoMap.get(toDo.getToDoNo());
-            if (originToDo.getPolicy().getImportance() != toDo.getPolicy().getImportance()) {
-                reOrderPolicy(policyMap, originToDo, "remove");
-            }
+        return resultMessage;
+    }
 
-            if (!policyMap.containsKey(toDo.getPolicy().getImportance())) {
-                Policy changePolicy = new Policy(toDo.getPolicy().getImportance(), 0);
-                toDo.setPolicy(changePolicy);
-            }
-        } else {
-            toDoNoList.add(toDo.getToDoNo());
+    private boolean isDelegatedToDo(long toDoNo) {
+        if (delegationIndex.isDelegated(toDoNo)) {
+            return true;
+        }
 
-            Policy newPolicy = new Policy(toDo.getPolicy().getImportance(), 0);
-            toDo.setPolicy(newPolicy);
+        return false;
+    }
 
-            toDoMap.put(toDo.getToDoNo(), toDo);
+    private String getDelegateMarkedTask(ToDo toDo) {
+        DelegationRecord delegationRecord = delegationIndex.getByDelegated(toDo.getToDoNo());
+        User user = delegationRecord == null ? null : getUser(delegationRecord.getUserNo());
 
-            dateToDoListMap.put(keyDate, toDoNoList);
-            userToDoListMap.put(toDo.getUserNo(), dateToDoListMap);
+        if (user == null) {
+            return toDo.getTask();
         }
+
+        return toDo.getTask() + " " + user.getName();
     }
 
-    private Map<TaskImportance, Map<Integer, List<Long>>> getPolicyMap(ToDo toDo, List<ToDo> toDoList, String type) {
-        Map<TaskImportance, Map<Integer, List<Long>>> policyMap = new HashMap<>();
+    private void updateToDo(ToDo originToDo, ToDo toDo) {
+        Policy originPolicy = new Policy(originToDo.getPolicy().getImportance(), originToDo.getPolicy().getOrder());
+        Policy policy = ObjectUtils.isEmpty(toDo.getPolicy()) ? originPolicy : toDo.getPolicy();
+        TaskImportance importance = policy.getImportance();
+        int order = policy.getOrder();
 
-        for (ToDo otherToDo : toDoList) {
-            if (toDo.getToDoNo() == otherToDo.getToDoNo() && !"changeOrder".equals(type)) {
-                continue;
-            }
+        changePolicy(originToDo, toDo, importance, order);
+
+        if (originToDo != toDo) {
+            originToDo.setPolicy(originPolicy);
+        }
 
-            Map<Integer, List<Long>> orderMap;
-            List<Long> toDoNoList = new ArrayList<>();
-            if (policyMap.containsKey(otherToDo.getPolicy().getImportance())) {
-                orderMap = policyMap.get(otherToDo.getPolicy().getImportance());
+        toDo.setVersion(originToDo.getVersion() + 1);
+        setModifiedToDo(toDo);
+        indexToDo(toDo);
 
-                if (orderMap.containsKey(otherToDo.getPolicy().getOrder())) {
-                    toDoNoList = orderMap.get(otherToDo.getPolicy().getOrder());
-                }
-            } else {
-                orderMap = new HashMap<>();
-            }
+        journal.appendModify(toDo, importance, order);
+        publishToDoEvent(ToDoEventType.MODIFY, toDo);
+    }
 
-            if (toDo.getToDoNo() == otherToDo.getToDoNo() && "changeOrder".equals(type)) {
-                toDoNoList.add(toDo.getToDoNo());
-                orderMap.put(toDo.getPolicy().getOrder(), toDoNoList);
-            } else {
-                toDoNoList.add(otherToDo.getToDoNo());
-                orderMap.put(otherToDo.getPolicy().getOrder(), toDoNoList);
-            }
+    private void changePolicy(ToDo originToDo, ToDo toDo, TaskImportance importance, int order) {
+        int executionDay = getKeyDay(toDo.getExecutionDate());
+        int originExecutionDay = getKeyDay(originToDo.getExecutionDate());
+
+        if (executionDay != originExecutionDay) {
+            removeFromDayBucket(originToDo.getUserNo(), originExecutionDay, originToDo.getToDoNo());
 
-            policyMap.put(otherToDo.getPolicy().getImportance(), orderMap);
+            DayBucket dayBucket = getOrCreateDayBucket(toDo.getUserNo(), executionDay);
+            RankedPolicy policy = dayBucket.insert(toDo.getToDoNo(), importance, order);
+
+            toDo.setPolicy(policy);
+            recordDayBucket(dayBucket, getShiftedToDoCount(dayBucket, policy));
+        } else {
+            DayBucket dayBucket = getOrCreateDayBucket(toDo.getUserNo(), executionDay);
+            RankedPolicy originPolicy = dayBucket.get(toDo.getToDoNo());
+            TaskImportance originImportance = originPolicy == null ? null : originPolicy.getImportance();
+            int originOrder = originPolicy == null ? 0 : originPolicy.getOrder();
+            int originShiftedToDoCount = originPolicy == null ? 0 : getShiftedToDoCount(dayBucket, originPolicy);
+
+            RankedPolicy policy = dayBucket.move(toDo.getToDoNo(), importance, order);
+
+            toDo.setPolicy(policy);
+            recordDayBucket(dayBucket, originImportance == importance
+                    ? Math.abs(originOrder - policy.getOrder())
+                    : originShiftedToDoCount + getShiftedToDoCount(dayBucket, policy));
         }
 
-        return policyMap;
+        invalidateDayToDoList(toDo.getUserNo(), executionDay);
     }
 
-    private void reOrderPolicy(Map<TaskImportance, Map<Integer, List<Long>>> policyMap, ToDo toDo, String reOrderType) {
-        List<Long> policyOrderToDoNoList = new ArrayList<>();
+    private class TaskJournalReplayer implements JournalReplayer {
 
-        Map<Integer, List<Long>> orderMap = policyMap.get(toDo.getPolicy().getImportance());
+        @Override
+        public void onUser(User user) {
+            putUser(user);
+            globalUserNo.accumulateAndGet(user.getNo(), Math::max);
+        }
 
-        if (CollectionUtils.isEmpty(orderMap)) {
-            return;
+        @Override
+        public void onCreate(ToDo toDo, TaskImportance importance, int order) {
+            DayBucket dayBucket = getOrCreateDayBucket(toDo.getUserNo(), getKeyDay(toDo.getExecutionDate()));
+
+            putNewToDo(toDo, dayBucket, importance, order);
+            globalToDoNo.accumulateAndGet(toDo.getToDoNo() / shardCount, Math::max);
         }
 
-        int count = orderMap.size();
-        int duplicatedOrder = -1;
-        if ("add".equals(reOrderType)) {
-            count++;
+        @Override
+        public void onModify(ToDo toDo, TaskImportance importance, int order) {
+            ToDo originToDo = toDoMap.get(toDo.getToDoNo());
 
-            if (orderMap.containsKey(toDo.getPolicy().getOrder())) {
-                duplicatedOrder = toDo.getPolicy().getOrder();
+            if (originToDo == null) {
+                return;
             }
 
-            for (int index=0; index<count; index++) {
-                if (!orderMap.containsKey(index)) {
-                    continue;
-                }
+            toDo.setPolicy(new Policy(importance, order));
+            updateToDo(originToDo, toDo);
+        }
 
-                if (duplicatedOrder == index) {
-                    policyOrderToDoNoList.add(toDo.getToDoNo());
-                }
+        @Override
+        public void onDelete(long toDoNo) {
+            ToDo toDo = toDoMap.get(toDoNo);
 
-                addPolicyOrderList(policyOrderToDoNoList, orderMap.get(index));
+            if (toDo != null) {
+                removeToDo(toDo);
             }
-        } else {
-            List<Integer> keySet = new ArrayList(orderMap.keySet());
+        }
+
+        @Override
+        public void onDelegate(long originToDoNo, long userNo, long targetUserNo, long delegatedToDoNo) {
+            putDelegation(originToDoNo, userNo, targetUserNo, delegatedToDoNo);
+        }
 
-            Collections.sort(keySet);
+        @Override
+        public void onCancelDelegate(long delegatedToDoNo) {
+            removeDelegation(delegatedToDoNo);
+        }
+    }
 
-            for (Integer key : keySet) {
-                addPolicyOrderList(policyOrderToDoNoList, orderMap.get(key));
-            }
+    private class ReplicaJournalReplayer implements JournalReplayer {
+        private final TaskJournalReplayer replayer = new TaskJournalReplayer();
+
+        @Override
+        public void onUser(User user) {
+            replayer.onUser(user);
+        }
+
+        @Override
+        public void onCreate(ToDo toDo, TaskImportance importance, int order) {
+            userLockStripe.callWith(toDo.getUserNo(), () -> {
+                replayer.onCreate(toDo, importance, order);
+                return null;
+            });
+        }
+
+        @Override
+        public void onModify(ToDo toDo, TaskImportance importance, int order) {
+            userLockStripe.callWith(toDo.getUserNo(), () -> {
+                replayer.onModify(toDo, importance, order);
+                return null;
+            });
         }
 
-        int newOrder = 0;
-        for (Long policyToDoNo : policyOrderToDoNoList) {
-            ToDo policyToDo;
-            if (policyToDoNo == toDo.getToDoNo()) {
-                policyToDo = toDo;
-            } else {
-                policyToDo = toDoMap.get(policyToDoNo);
+        @Override
+        public void onDelete(long toDoNo) {
+            ToDo toDo = toDoMap.get(toDoNo);
+
+            if (toDo == null) {
+                return;
             }
 
-            Policy changePolicy = new Policy(toDo.getPolicy().getImportance(), newOrder);
-            policyToDo.setPolicy(changePolicy);
-            toDoMap.put(policyToDoNo, policyToDo);
-            newOrder++;
+            userLockStripe.callWith(toDo.getUserNo(), () -> {
+                replayer.onDelete(toDoNo);
+                return null;
+            });
         }
-    }
 
-    private void addPolicyOrderList(List<Long> policyOrderToDoNoList, List<Long> orderToDoNoList) {
-        for (Long toDoNo : orderToDoNoList) {
-            policyOrderToDoNoList.add(toDoNo);
+        @Override
+        public void onDelegate(long originToDoNo, long userNo, long targetUserNo, long delegatedToDoNo) {
+            userLockStripe.callWith(userNo, targetUserNo, () -> {
+                replayer.onDelegate(originToDoNo, userNo, targetUserNo, delegatedToDoNo);
+                return null;
+            });
         }
 
+        @Override
+        public void onCancelDelegate(long delegatedToDoNo) {
+            DelegationRecord delegationRecord = delegationIndex.getByDelegated(delegatedToDoNo);
+
+            if (delegationRecord == null) {
+                return;
+            }
+
+            userLockStripe.callWith(delegationRecord.getUserNo(), delegationRecord.getTargetUserNo(), () -> {
+                replayer.onCancelDelegate(delegatedToDoNo);
+                return null;
+            });
+        }
     }
 }
-
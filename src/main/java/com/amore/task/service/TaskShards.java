@@ -0,0 +1,271 @@
+package com.amore.task.service;
+
+import com.amore.task.enums.ResultStatus;
+import com.amore.task.journal.TaskSnapshotWriter;
+import com.amore.task.model.ResultMessage;
+import com.amore.task.model.ToDo;
+import com.amore.task.model.ToDoListCacheStatistics;
+import com.amore.task.model.ToDoResultMessage;
+import com.amore.task.model.User;
+import com.amore.task.model.UserPage;
+import com.amore.task.model.UserSearchCondition;
+import com.amore.task.store.UserLockStripe;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PreDestroy;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class TaskShards {
+    private static final int USER_LOCK_STRIPE_COUNT = 64;
+    private static final Comparator<User> USER_NAME_ORDER = Comparator.<User, String>comparing(user -> user.getName() == null ? "" : user.getName())
+            .thenComparingLong(User::getNo);
+
+    private final TaskService[] shards;
+    private final UserLockStripe userLockStripe;
+    private final AtomicLong globalUserNo = new AtomicLong();
+
+    private volatile ToDoEventListener eventListener = ToDoEventListener.NONE;
+
+    @Autowired
+    public TaskShards(@Value("${task.shards:1}") int shardCount, @Value("${task.journal.path:}") String journalPath,
+                      MeterRegistry meterRegistry) {
+        this.shards = new TaskService[Math.max(shardCount, 1)];
+        this.userLockStripe = new UserLockStripe(USER_LOCK_STRIPE_COUNT * shards.length);
+
+        if (shards.length == 1) {
+            shards[0] = new TaskService(journalPath, meterRegistry);
+            globalUserNo.set(shards[0].globalUserNo.get());
+            return;
+        }
+
+        for (int i=0; i<shards.length; i++) {
+            String shardJournalPath = StringUtils.hasText(journalPath) ? Paths.get(journalPath, "shard-" + i).toString() : "";
+            shards[i] = new TaskService(shardJournalPath, meterRegistry, this, i);
+            globalUserNo.accumulateAndGet(shards[i].globalUserNo.get(), Math::max);
+        }
+
+        if (Arrays.stream(shards).allMatch(shard -> shard.userMap.isEmpty())) {
+            for (String name : new String[] {"test1", "test2", "test3", "test4", "test1"}) {
+                addUser(name);
+            }
+        }
+
+        log.info("[TaskShards::TaskShards] shards are started. shards: {}, users: {}", shards.length, getAllUserList().size());
+    }
+
+    public int size() {
+        return shards.length;
+    }
+
+    public TaskService getShard(int shardIndex) {
+        return shards[shardIndex];
+    }
+
+    public TaskService forUser(long userNo) {
+        return shards[(int) Math.floorMod(userNo, (long) shards.length)];
+    }
+
+    public TaskService forToDo(long toDoNo) {
+        return shards[(int) Math.floorMod(toDoNo, (long) shards.length)];
+    }
+
+    UserLockStripe getUserLockStripe() {
+        return userLockStripe;
+    }
+
+    public User addUser(String name) {
+        User user = new User(globalUserNo.incrementAndGet(), name);
+
+        forUser(user.getNo()).addUser(user);
+
+        return user;
+    }
+
+    public List<ToDoResultMessage> createToDoList(List<ToDo> newToDoList) {
+        if (shards.length == 1) {
+            return shards[0].createToDoList(newToDoList);
+        }
+
+        List<List<Integer>> shardIndexes = new ArrayList<>(shards.length);
+        for (int i=0; i<shards.length; i++) {
+            shardIndexes.add(new ArrayList<>());
+        }
+
+        for (int i=0; i<newToDoList.size(); i++) {
+            shardIndexes.get(forUser(newToDoList.get(i).getUserNo()).getShardIndex()).add(i);
+        }
+
+        ToDoResultMessage[] resultMessages = new ToDoResultMessage[newToDoList.size()];
+
+        for (int i=0; i<shards.length; i++) {
+            List<Integer> indexes = shardIndexes.get(i);
+
+            if (indexes.isEmpty()) {
+                continue;
+            }
+
+            List<ToDoResultMessage> shardResultMessages = shards[i].createToDoList(
+                    indexes.stream().map(newToDoList::get).collect(Collectors.toList()));
+
+            for (int j=0; j<indexes.size(); j++) {
+                resultMessages[indexes.get(j)] = shardResultMessages.get(j);
+            }
+        }
+
+        return Arrays.asList(resultMessages);
+    }
+
+    public void exportToDoList(long userNo, Consumer<ToDo> action) {
+        if (userNo != 0 || shards.length == 1) {
+            forUser(userNo).exportToDoList(userNo, action);
+            return;
+        }
+
+        getAllUserList().stream()
+                .map(User::getNo)
+                .sorted()
+                .forEach(exportUserNo -> forUser(exportUserNo).exportToDoList(exportUserNo, action));
+    }
+
+    public List<User> getAllUserList() {
+        List<User> userList = new ArrayList<>();
+
+        for (TaskService shard : shards) {
+            userList.addAll(shard.getAllUserList());
+        }
+
+        return userList;
+    }
+
+    public UserPage getUserList(UserSearchCondition userSearchCondition) {
+        if (shards.length == 1) {
+            return shards[0].getUserList(userSearchCondition);
+        }
+
+        int size = TaskService.getUserPageSize(userSearchCondition);
+        String prefix = userSearchCondition.getPrefix() == null ? "" : userSearchCondition.getPrefix();
+        User after = null;
+
+        if (userSearchCondition.getCursor() > 0) {
+            after = forUser(userSearchCondition.getCursor()).userMap.get(userSearchCondition.getCursor());
+
+            if (after == null) {
+                return new UserPage(new ArrayList<>(), 0);
+            }
+        }
+
+        List<User> userList = new ArrayList<>();
+        for (TaskService shard : shards) {
+            userList.addAll(shard.findUserList(prefix, after, size + 1));
+        }
+
+        userList.sort(USER_NAME_ORDER);
+
+        if (userList.size() <= size) {
+            return new UserPage(userList, 0);
+        }
+
+        userList = new ArrayList<>(userList.subList(0, size));
+
+        return new UserPage(userList, userList.get(size - 1).getNo());
+    }
+
+    public ToDoListCacheStatistics getToDoListCacheStatistics() {
+        ToDoListCacheStatistics statistics = new ToDoListCacheStatistics();
+
+        for (TaskService shard : shards) {
+            ToDoListCacheStatistics shardStatistics = shard.getToDoListCacheStatistics();
+
+            statistics.setSize(statistics.getSize() + shardStatistics.getSize());
+            statistics.setCapacity(statistics.getCapacity() + shardStatistics.getCapacity());
+            statistics.setHitCount(statistics.getHitCount() + shardStatistics.getHitCount());
+            statistics.setMissCount(statistics.getMissCount() + shardStatistics.getMissCount());
+            statistics.setEvictionCount(statistics.getEvictionCount() + shardStatistics.getEvictionCount());
+        }
+
+        return statistics;
+    }
+
+    public ResultMessage checkpoint() {
+        ResultMessage resultMessage = null;
+
+        for (TaskService shard : shards) {
+            resultMessage = shard.checkpoint();
+
+            if (resultMessage.getResultStatus() != ResultStatus.SUCCESS) {
+                return resultMessage;
+            }
+        }
+
+        return resultMessage;
+    }
+
+    public void streamChangesTo(ObjIntConsumer<byte[]> sink) {
+        for (TaskService shard : shards) {
+            int shardIndex = shard.getShardIndex();
+            shard.streamChangesTo(record -> sink.accept(record, shardIndex));
+        }
+    }
+
+    public void publishEventsTo(ToDoEventListener eventListener) {
+        this.eventListener = eventListener;
+
+        for (TaskService shard : shards) {
+            shard.publishEventsTo(eventListener);
+        }
+    }
+
+    public <T> T captureSnapshots(Function<List<TaskSnapshotWriter>, T> action) {
+        return shards[0].getUserLockStripe().callWithAll(() -> {
+            List<TaskSnapshotWriter> snapshots = new ArrayList<>(shards.length);
+
+            for (TaskService shard : shards) {
+                snapshots.add(shard.captureSnapshot(0));
+            }
+
+            return action.apply(snapshots);
+        });
+    }
+
+    public void loadReplicaSnapshots(List<Path> snapshotPaths) {
+        shards[0].getUserLockStripe().callWithAll(() -> {
+            for (int i=0; i<shards.length; i++) {
+                shards[i].loadReplicaSnapshot(snapshotPaths.get(i));
+            }
+
+            return null;
+        });
+
+        globalUserNo.set(Arrays.stream(shards).mapToLong(shard -> shard.globalUserNo.get()).max().orElse(0));
+        eventListener.reset();
+    }
+
+    public void applyChange(int shardIndex, ByteBuffer record) {
+        shards[shardIndex].applyChange(record);
+    }
+
+    @PreDestroy
+    public void close() {
+        for (TaskService shard : shards) {
+            shard.closeJournal();
+        }
+    }
+}
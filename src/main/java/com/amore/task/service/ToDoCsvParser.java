@@ -0,0 +1,127 @@
+package com.amore.task.service;
+
+import com.amore.task.enums.TaskImportance;
+import com.amore.task.enums.TaskStatus;
+import com.amore.task.model.Policy;
+import com.amore.task.model.ToDo;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+class ToDoCsvParser {
+    private static final String[] COLUMNS = {"userno", "executiondate", "task", "description", "status", "importance"};
+    private static final int USER_NO = 0;
+    private static final int EXECUTION_DATE = 1;
+    private static final int TASK = 2;
+    private static final int DESCRIPTION = 3;
+    private static final int STATUS = 4;
+    private static final int IMPORTANCE = 5;
+
+    private final int[] columnIndexes = new int[COLUMNS.length];
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    ToDoCsvParser(String header) {
+        List<String> names = split(header);
+
+        Arrays.fill(columnIndexes, -1);
+        for (int i=0; i<names.size(); i++) {
+            int column = Arrays.asList(COLUMNS).indexOf(names.get(i).trim().toLowerCase());
+
+            if (column >= 0) {
+                columnIndexes[column] = i;
+            }
+        }
+
+        if (columnIndexes[USER_NO] < 0 || columnIndexes[TASK] < 0) {
+            throw new IllegalArgumentException("csv header must have userNo and task columns. header: " + header);
+        }
+    }
+
+    ToDo parse(String line) {
+        List<String> values = split(line);
+        ToDo toDo = new ToDo();
+
+        toDo.setUserNo(Long.parseLong(get(values, USER_NO)));
+        toDo.setTask(get(values, TASK));
+        toDo.setDescription(get(values, DESCRIPTION));
+
+        String executionDate = get(values, EXECUTION_DATE);
+        if (StringUtils.hasText(executionDate)) {
+            toDo.setExecutionDate(parseDate(executionDate.trim()));
+        }
+
+        String status = get(values, STATUS);
+        if (StringUtils.hasText(status)) {
+            toDo.setStatus(TaskStatus.valueOf(status.trim()));
+        }
+
+        String importance = get(values, IMPORTANCE);
+        if (StringUtils.hasText(importance)) {
+            toDo.setPolicy(new Policy(TaskImportance.valueOf(importance.trim()), 0));
+        }
+
+        return toDo;
+    }
+
+    private String get(List<String> values, int column) {
+        int index = columnIndexes[column];
+
+        return index < 0 || index >= values.size() ? null : values.get(index);
+    }
+
+    private Date parseDate(String value) {
+        if (value.chars().allMatch(Character::isDigit)) {
+            return new Date(Long.parseLong(value));
+        }
+
+        if (value.length() == 10) {
+            return Date.from(LocalDate.parse(value).atStartOfDay(zone).toInstant());
+        }
+
+        try {
+            return Date.from(LocalDateTime.parse(value.replace(' ', 'T')).atZone(zone).toInstant());
+        } catch (DateTimeParseException e) {
+            return Date.from(OffsetDateTime.parse(value).toInstant());
+        }
+    }
+
+    static List<String> split(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i=0; i<line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+
+        values.add(value.toString());
+
+        return values;
+    }
+}
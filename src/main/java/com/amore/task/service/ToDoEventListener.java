@@ -0,0 +1,27 @@
+package com.amore.task.service;
+
+import com.amore.task.model.ToDoEvent;
+
+public interface ToDoEventListener {
+    ToDoEventListener NONE = new ToDoEventListener() {
+
+        @Override
+        public boolean isSubscribed(long userNo) {
+            return false;
+        }
+
+        @Override
+        public void publish(ToDoEvent event) {
+        }
+
+        @Override
+        public void reset() {
+        }
+    };
+
+    boolean isSubscribed(long userNo);
+
+    void publish(ToDoEvent event);
+
+    void reset();
+}
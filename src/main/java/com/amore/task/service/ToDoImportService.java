@@ -0,0 +1,253 @@
+package com.amore.task.service;
+
+import com.amore.task.enums.ImportFormat;
+import com.amore.task.enums.ResultStatus;
+import com.amore.task.model.ToDo;
+import com.amore.task.model.ToDoImportCondition;
+import com.amore.task.model.ToDoImportResultMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+@Slf4j
+@Service
+public class ToDoImportService {
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final long PROGRESS_INTERVAL_MILLIS = 1000;
+    private static final int LOGGED_FAILURE_LIMIT = 10;
+
+    private final TaskShards taskShards;
+    private final ObjectMapper objectMapper;
+    private final String importDirectory;
+
+    @Autowired
+    public ToDoImportService(TaskShards taskShards, ObjectMapper objectMapper, @Value("${task.import.dir:}") String importDirectory) {
+        this.taskShards = taskShards;
+        this.objectMapper = objectMapper;
+        this.importDirectory = importDirectory;
+    }
+
+    public ToDoImportResultMessage importToDoList(ToDoImportCondition importCondition) {
+        ToDoImportResultMessage resultMessage = new ToDoImportResultMessage();
+
+        if (!StringUtils.hasText(importDirectory)) {
+            resultMessage.setResult(ResultStatus.FAIL, "가져오기 디렉터리가 설정되지 않았습니다.");
+            return resultMessage;
+        }
+
+        if (!StringUtils.hasText(importCondition.getPath())) {
+            resultMessage.setResult(ResultStatus.FAIL, "가져올 파일이 존재하지 않습니다.");
+            return resultMessage;
+        }
+
+        Path directory = Paths.get(importDirectory).toAbsolutePath().normalize();
+        Path path = directory.resolve(importCondition.getPath()).normalize();
+
+        if (!isInDirectory(directory, path)) {
+            log.warn("[ToDoImportService::importToDoList] import path is outside the import directory. path: {}", importCondition.getPath());
+            resultMessage.setResult(ResultStatus.FAIL, "가져올 파일의 경로가 올바르지 않습니다.");
+            return resultMessage;
+        }
+
+        return importToDoList(path, importCondition.getFormat());
+    }
+
+    public ToDoImportResultMessage importToDoList(Path path, ImportFormat importFormat) {
+        ToDoImportResultMessage resultMessage = new ToDoImportResultMessage();
+
+        if (!Files.isRegularFile(path)) {
+            resultMessage.setResult(ResultStatus.FAIL, "가져올 파일이 존재하지 않습니다.");
+            return resultMessage;
+        }
+
+        ImportFormat format = importFormat == null ? getImportFormat(path) : importFormat;
+        ImportProgress progress = new ImportProgress(path);
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            long lineNo = 0;
+            Function<String, ToDo> parser;
+
+            if (format == ImportFormat.CSV) {
+                String header = reader.readLine();
+                lineNo++;
+                parser = new ToDoCsvParser(header == null ? "" : header.replace("\uFEFF", ""))::parse;
+            } else {
+                parser = getJsonParser();
+            }
+
+            ForkJoinTask<?> chunkTask = null;
+            List<String> lines = new ArrayList<>(CHUNK_SIZE);
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+
+                if (lines.size() == CHUNK_SIZE) {
+                    chunkTask = submitChunk(pool, chunkTask, parser, lines, lineNo + 1, progress);
+                    lineNo += lines.size();
+                    lines = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+
+            submitChunk(pool, chunkTask, parser, lines, lineNo + 1, progress).join();
+        } catch (IOException | UncheckedIOException e) {
+            log.error("[ToDoImportService::importToDoList] import file read failed. path: {}, message: {}", path, e.getMessage());
+            resultMessage.setResult(ResultStatus.FAIL, "가져올 파일을 읽을 수 없습니다.");
+            return progress.setTo(resultMessage);
+        } catch (IllegalArgumentException e) {
+            log.error("[ToDoImportService::importToDoList] import file format is wrong. path: {}, message: {}", path, e.getMessage());
+            resultMessage.setResult(ResultStatus.FAIL, "가져올 파일의 형식이 올바르지 않습니다.");
+            return progress.setTo(resultMessage);
+        } finally {
+            pool.shutdown();
+        }
+
+        progress.report("completed");
+        resultMessage.setResult(ResultStatus.SUCCESS, "업무 가져오기가 완료되었습니다.");
+
+        return progress.setTo(resultMessage);
+    }
+
+    private boolean isInDirectory(Path directory, Path path) {
+        if (!path.startsWith(directory)) {
+            return false;
+        }
+
+        try {
+            return !Files.exists(path) || path.toRealPath().startsWith(directory.toRealPath());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private ImportFormat getImportFormat(Path path) {
+        return path.getFileName().toString().toLowerCase().endsWith(".csv") ? ImportFormat.CSV : ImportFormat.NDJSON;
+    }
+
+    private Function<String, ToDo> getJsonParser() {
+        ObjectReader reader = objectMapper.readerFor(ToDo.class);
+
+        return line -> {
+            try {
+                return reader.readValue(line);
+            } catch (IOException e) {
+                throw new IllegalArgumentException(e.getMessage(), e);
+            }
+        };
+    }
+
+    private ForkJoinTask<?> submitChunk(ForkJoinPool pool, ForkJoinTask<?> previousChunkTask, Function<String, ToDo> parser,
+                                        List<String> lines, long firstLineNo, ImportProgress progress) {
+        if (previousChunkTask != null) {
+            previousChunkTask.join();
+        }
+
+        return pool.submit(() -> importChunk(parser, lines, firstLineNo, progress));
+    }
+
+    private void importChunk(Function<String, ToDo> parser, List<String> lines, long firstLineNo, ImportProgress progress) {
+        ToDo[] toDos = new ToDo[lines.size()];
+
+        IntStream.range(0, lines.size()).parallel()
+                .forEach(i -> toDos[i] = parse(parser, lines.get(i), firstLineNo + i, progress));
+
+        Map<Long, List<ToDo>> userToDoListMap = new LinkedHashMap<>();
+        int readCount = 0;
+
+        for (int i=0; i<toDos.length; i++) {
+            if (StringUtils.hasText(lines.get(i))) {
+                readCount++;
+            }
+
+            if (toDos[i] != null) {
+                userToDoListMap.computeIfAbsent(toDos[i].getUserNo(), userNo -> new ArrayList<>()).add(toDos[i]);
+            }
+        }
+
+        int importedCount = userToDoListMap.entrySet().parallelStream()
+                .mapToInt(userToDoList -> taskShards.forUser(userToDoList.getKey()).importToDoList(userToDoList.getKey(), userToDoList.getValue()))
+                .sum();
+
+        progress.add(readCount, importedCount);
+    }
+
+    private ToDo parse(Function<String, ToDo> parser, String line, long lineNo, ImportProgress progress) {
+        if (!StringUtils.hasText(line)) {
+            return null;
+        }
+
+        try {
+            return parser.apply(line);
+        } catch (RuntimeException e) {
+            progress.fail(lineNo, e);
+            return null;
+        }
+    }
+
+    private static class ImportProgress {
+        private final Path path;
+        private final long startTime = System.currentTimeMillis();
+        private long reportTime = startTime;
+        private long readCount;
+        private long importedCount;
+        private int loggedFailureCount;
+
+        private ImportProgress(Path path) {
+            this.path = path;
+        }
+
+        private void add(int readCount, int importedCount) {
+            this.readCount += readCount;
+            this.importedCount += importedCount;
+
+            if (System.currentTimeMillis() - reportTime >= PROGRESS_INTERVAL_MILLIS) {
+                report("in progress");
+            }
+        }
+
+        private synchronized void fail(long lineNo, RuntimeException e) {
+            if (loggedFailureCount++ < LOGGED_FAILURE_LIMIT) {
+                log.warn("[ToDoImportService::importToDoList] import record is skipped. path: {}, line: {}, message: {}", path, lineNo, e.getMessage());
+            }
+        }
+
+        private void report(String state) {
+            reportTime = System.currentTimeMillis();
+
+            long elapsedMillis = Math.max(1, reportTime - startTime);
+
+            log.info("[ToDoImportService::importToDoList] import {}. path: {}, read: {}, imported: {}, failed: {}, elapsed: {}ms, throughput: {}/s",
+                    state, path, readCount, importedCount, readCount - importedCount, elapsedMillis, readCount * 1000 / elapsedMillis);
+        }
+
+        private ToDoImportResultMessage setTo(ToDoImportResultMessage resultMessage) {
+            resultMessage.setReadCount(readCount);
+            resultMessage.setImportedCount(importedCount);
+            resultMessage.setFailedCount(readCount - importedCount);
+            resultMessage.setElapsedMillis(System.currentTimeMillis() - startTime);
+
+            return resultMessage;
+        }
+    }
+}
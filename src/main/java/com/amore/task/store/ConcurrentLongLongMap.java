@@ -0,0 +1,203 @@
+package com.amore.task.store;
+
+public class ConcurrentLongLongMap {
+    private static final int DEFAULT_SEGMENT_COUNT = 64;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    public static final long NO_VALUE = 0;
+
+    private final Segment[] segments;
+    private final int mask;
+
+    public ConcurrentLongLongMap() {
+        this(DEFAULT_SEGMENT_COUNT);
+    }
+
+    public ConcurrentLongLongMap(int segmentCount) {
+        int size = LongHashing.tableSizeFor(segmentCount, 1.0f);
+
+        this.segments = new Segment[size];
+        this.mask = size - 1;
+
+        for (int i=0; i<size; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    public long get(long key) {
+        Segment segment = segmentOf(key);
+
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != NO_VALUE;
+    }
+
+    public long put(long key, long value) {
+        if (key == 0 || value == NO_VALUE) {
+            throw new IllegalArgumentException("key and value must not be 0. key: " + key + ", value: " + value);
+        }
+
+        Segment segment = segmentOf(key);
+
+        synchronized (segment) {
+            return segment.put(key, value);
+        }
+    }
+
+    public long remove(long key) {
+        Segment segment = segmentOf(key);
+
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+
+        return size;
+    }
+
+    public void forEach(LongLongConsumer action) {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                for (int i=0; i<segment.keys.length; i++) {
+                    if (segment.keys[i] != 0) {
+                        action.accept(segment.keys[i], segment.values[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    private Segment segmentOf(long key) {
+        return segments[(LongHashing.mix(key) >>> 24) & mask];
+    }
+
+    private static class Segment {
+        private long[] keys;
+        private long[] values;
+        private int size;
+        private int threshold;
+
+        private Segment() {
+            allocate(LongHashing.tableSizeFor(8, LOAD_FACTOR));
+        }
+
+        private long get(long key) {
+            int mask = keys.length - 1;
+            int slot = LongHashing.mix(key) & mask;
+
+            while (keys[slot] != 0) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+
+                slot = (slot + 1) & mask;
+            }
+
+            return NO_VALUE;
+        }
+
+        private long put(long key, long value) {
+            int mask = keys.length - 1;
+            int slot = LongHashing.mix(key) & mask;
+
+            while (keys[slot] != 0) {
+                if (keys[slot] == key) {
+                    long previous = values[slot];
+                    values[slot] = value;
+
+                    return previous;
+                }
+
+                slot = (slot + 1) & mask;
+            }
+
+            keys[slot] = key;
+            values[slot] = value;
+
+            if (++size > threshold) {
+                rehash(keys.length << 1);
+            }
+
+            return NO_VALUE;
+        }
+
+        private long remove(long key) {
+            int mask = keys.length - 1;
+            int slot = LongHashing.mix(key) & mask;
+
+            while (keys[slot] != key) {
+                if (keys[slot] == 0) {
+                    return NO_VALUE;
+                }
+
+                slot = (slot + 1) & mask;
+            }
+
+            long previous = values[slot];
+            int emptySlot = slot;
+
+            while (true) {
+                slot = (slot + 1) & mask;
+
+                if (keys[slot] == 0) {
+                    break;
+                }
+
+                int home = LongHashing.mix(keys[slot]) & mask;
+
+                if (((slot - home) & mask) >= ((slot - emptySlot) & mask)) {
+                    keys[emptySlot] = keys[slot];
+                    values[emptySlot] = values[slot];
+                    emptySlot = slot;
+                }
+            }
+
+            keys[emptySlot] = 0;
+            values[emptySlot] = NO_VALUE;
+            size--;
+
+            return previous;
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+
+            allocate(capacity);
+
+            int mask = capacity - 1;
+            for (int i=0; i<oldKeys.length; i++) {
+                if (oldKeys[i] == 0) {
+                    continue;
+                }
+
+                int slot = LongHashing.mix(oldKeys[i]) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            values = new long[capacity];
+            threshold = (int) (capacity * LOAD_FACTOR);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.amore.task.store;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConcurrentLongLruCache<V> {
+    private final Segment<V>[] segments;
+    private final int mask;
+    private final int capacity;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public ConcurrentLongLruCache(int capacity, int segmentCount) {
+        int size = segmentCount <= 1 ? 1 : LongHashing.tableSizeFor(segmentCount, 1.0f);
+        int segmentCapacity = Math.max(1, (capacity + size - 1) / size);
+
+        @SuppressWarnings("unchecked")
+        Segment<V>[] segments = (Segment<V>[]) new Segment<?>[size];
+        this.segments = segments;
+        this.mask = size - 1;
+        this.capacity = segmentCapacity * size;
+
+        for (int i=0; i<size; i++) {
+            segments[i] = new Segment<>(segmentCapacity);
+        }
+    }
+
+    public V get(long key) {
+        Segment<V> segment = segmentOf(key);
+        V value;
+
+        synchronized (segment) {
+            value = segment.get(key);
+        }
+
+        if (value == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+
+        return value;
+    }
+
+    public void put(long key, V value) {
+        Segment<V> segment = segmentOf(key);
+        boolean evicted;
+
+        synchronized (segment) {
+            evicted = segment.put(key, value);
+        }
+
+        if (evicted) {
+            evictionCount.increment();
+        }
+    }
+
+    public void remove(long key) {
+        Segment<V> segment = segmentOf(key);
+
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    public void clear() {
+        for (Segment<V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+
+        for (Segment<V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    private Segment<V> segmentOf(long key) {
+        return segments[(LongHashing.mix(key) >>> 24) & mask];
+    }
+
+    private static class Segment<V> {
+        private final int capacity;
+        private final LongObjectHashMap<Node<V>> nodes;
+        private final Node<V> head = new Node<>(0, null);
+
+        private Segment(int capacity) {
+            this.capacity = capacity;
+            this.nodes = new LongObjectHashMap<>(capacity);
+
+            head.previous = head;
+            head.next = head;
+        }
+
+        private int size() {
+            return nodes.size();
+        }
+
+        private V get(long key) {
+            Node<V> node = nodes.get(key);
+
+            if (node == null) {
+                return null;
+            }
+
+            unlink(node);
+            linkFirst(node);
+
+            return node.value;
+        }
+
+        private boolean put(long key, V value) {
+            Node<V> node = nodes.get(key);
+
+            if (node != null) {
+                node.value = value;
+                unlink(node);
+                linkFirst(node);
+
+                return false;
+            }
+
+            node = new Node<>(key, value);
+            nodes.put(key, node);
+            linkFirst(node);
+
+            if (nodes.size() <= capacity) {
+                return false;
+            }
+
+            Node<V> eldest = head.previous;
+            unlink(eldest);
+            nodes.remove(eldest.key);
+
+            return true;
+        }
+
+        private void remove(long key) {
+            Node<V> node = nodes.remove(key);
+
+            if (node != null) {
+                unlink(node);
+            }
+        }
+
+        private void clear() {
+            for (Node<V> node = head.next; node != head; node = node.next) {
+                nodes.remove(node.key);
+            }
+
+            head.previous = head;
+            head.next = head;
+        }
+
+        private void linkFirst(Node<V> node) {
+            node.previous = head;
+            node.next = head.next;
+            head.next.previous = node;
+            head.next = node;
+        }
+
+        private void unlink(Node<V> node) {
+            node.previous.next = node.next;
+            node.next.previous = node.previous;
+        }
+    }
+
+    private static class Node<V> {
+        private final long key;
+        private V value;
+        private Node<V> previous;
+        private Node<V> next;
+
+        private Node(long key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.amore.task.store;
+
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+public class ConcurrentLongObjectMap<V> {
+    private static final int DEFAULT_SEGMENT_COUNT = 64;
+
+    private final LongObjectHashMap<V>[] segments;
+    private final int mask;
+
+    public ConcurrentLongObjectMap() {
+        this(DEFAULT_SEGMENT_COUNT);
+    }
+
+    public ConcurrentLongObjectMap(int segmentCount) {
+        int size = LongHashing.tableSizeFor(segmentCount, 1.0f);
+
+        @SuppressWarnings("unchecked")
+        LongObjectHashMap<V>[] segments = (LongObjectHashMap<V>[]) new LongObjectHashMap<?>[size];
+        this.segments = segments;
+        this.mask = size - 1;
+
+        for (int i=0; i<size; i++) {
+            segments[i] = new LongObjectHashMap<>();
+        }
+    }
+
+    public V get(long key) {
+        LongObjectHashMap<V> segment = segmentOf(key);
+
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    public boolean containsKey(long key) {
+        LongObjectHashMap<V> segment = segmentOf(key);
+
+        synchronized (segment) {
+            return segment.containsKey(key);
+        }
+    }
+
+    public V put(long key, V value) {
+        LongObjectHashMap<V> segment = segmentOf(key);
+
+        synchronized (segment) {
+            return segment.put(key, value);
+        }
+    }
+
+    public V computeIfAbsent(long key, LongFunction<? extends V> mappingFunction) {
+        LongObjectHashMap<V> segment = segmentOf(key);
+
+        synchronized (segment) {
+            V value = segment.get(key);
+
+            if (value == null) {
+                value = mappingFunction.apply(key);
+                segment.put(key, value);
+            }
+
+            return value;
+        }
+    }
+
+    public V remove(long key) {
+        LongObjectHashMap<V> segment = segmentOf(key);
+
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    public void clear() {
+        for (LongObjectHashMap<V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+
+        for (LongObjectHashMap<V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+
+        return size;
+    }
+
+    public void forEachValue(Consumer<? super V> action) {
+        for (LongObjectHashMap<V> segment : segments) {
+            synchronized (segment) {
+                segment.forEachValue(action);
+            }
+        }
+    }
+
+    public void forEach(LongObjectConsumer<? super V> action) {
+        for (LongObjectHashMap<V> segment : segments) {
+            synchronized (segment) {
+                segment.forEach(action);
+            }
+        }
+    }
+
+    private LongObjectHashMap<V> segmentOf(long key) {
+        return segments[(LongHashing.mix(key) >>> 24) & mask];
+    }
+}
@@ -0,0 +1,130 @@
+package com.amore.task.store;
+
+import com.amore.task.enums.TaskImportance;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+public class DayBucket {
+    private static final TaskImportance[] IMPORTANCE_ORDER = Arrays.stream(TaskImportance.values())
+            .sorted(Comparator.comparingInt(TaskImportance::getPriority))
+            .toArray(TaskImportance[]::new);
+
+    private final OrderTree[] orderTrees = new OrderTree[TaskImportance.values().length];
+    private final LongObjectHashMap<RankedPolicy> policyMap = new LongObjectHashMap<>();
+
+    public int size() {
+        return policyMap.size();
+    }
+
+    public boolean isEmpty() {
+        return policyMap.isEmpty();
+    }
+
+    public boolean contains(long toDoNo) {
+        return policyMap.containsKey(toDoNo);
+    }
+
+    public RankedPolicy get(long toDoNo) {
+        return policyMap.get(toDoNo);
+    }
+
+    public int sizeOf(TaskImportance importance) {
+        OrderTree orderTree = orderTrees[importance.ordinal()];
+
+        return orderTree == null ? 0 : orderTree.size();
+    }
+
+    public TaskImportance getFirstImportance() {
+        for (TaskImportance importance : IMPORTANCE_ORDER) {
+            if (sizeOf(importance) > 0) {
+                return importance;
+            }
+        }
+
+        return TaskImportance.NONE;
+    }
+
+    public RankedPolicy insert(long toDoNo, TaskImportance importance, int order) {
+        OrderTree orderTree = getOrCreateOrderTree(importance);
+        RankedPolicy policy = new RankedPolicy(importance, orderTree.insert(order, toDoNo));
+
+        policyMap.put(toDoNo, policy);
+
+        return policy;
+    }
+
+    public RankedPolicy move(long toDoNo, TaskImportance importance, int order) {
+        order = Math.max(0, order);
+        RankedPolicy policy = policyMap.get(toDoNo);
+
+        if (policy == null) {
+            return insert(toDoNo, importance, order);
+        }
+
+        if (policy.getImportance() != importance) {
+            remove(toDoNo);
+
+            return insert(toDoNo, importance, order);
+        }
+
+        OrderTree orderTree = orderTrees[importance.ordinal()];
+        OrderTree.Node node = policy.getNode();
+        OrderTree.Node target = orderTree.nodeAt(order);
+
+        if (target == node || (target == null && node.next() == null)) {
+            return policy;
+        }
+
+        orderTree.remove(node);
+
+        int index = target == null ? orderTree.size() : target.rank();
+        RankedPolicy movedPolicy = new RankedPolicy(importance, orderTree.insert(index, toDoNo));
+
+        policyMap.put(toDoNo, movedPolicy);
+
+        return movedPolicy;
+    }
+
+    public boolean remove(long toDoNo) {
+        RankedPolicy policy = policyMap.remove(toDoNo);
+
+        if (policy == null) {
+            return false;
+        }
+
+        orderTrees[policy.getImportance().ordinal()].remove(policy.getNode());
+
+        return true;
+    }
+
+    public void forEach(EntryConsumer action) {
+        for (TaskImportance importance : IMPORTANCE_ORDER) {
+            OrderTree orderTree = orderTrees[importance.ordinal()];
+
+            if (orderTree == null) {
+                continue;
+            }
+
+            int order = 0;
+            for (OrderTree.Node node = orderTree.first(); node != null; node = node.next()) {
+                action.accept(node.getToDoNo(), importance, order++);
+            }
+        }
+    }
+
+    public interface EntryConsumer {
+        void accept(long toDoNo, TaskImportance importance, int order);
+    }
+
+    private OrderTree getOrCreateOrderTree(TaskImportance importance) {
+        OrderTree orderTree = orderTrees[importance.ordinal()];
+
+        if (orderTree == null) {
+            orderTree = new OrderTree();
+            orderTrees[importance.ordinal()] = orderTree;
+        }
+
+        return orderTree;
+    }
+}
@@ -0,0 +1,97 @@
+package com.amore.task.store;
+
+import java.util.Arrays;
+
+public class DayIndex<V> {
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private int[] days;
+    private Object[] values;
+    private int size;
+
+    public DayIndex() {
+        this.days = new int[DEFAULT_CAPACITY];
+        this.values = new Object[DEFAULT_CAPACITY];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsDay(int day) {
+        return Arrays.binarySearch(days, 0, size, day) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int day) {
+        int position = Arrays.binarySearch(days, 0, size, day);
+
+        return position < 0 ? null : (V) values[position];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(int day, V value) {
+        int position = Arrays.binarySearch(days, 0, size, day);
+
+        if (position >= 0) {
+            V previous = (V) values[position];
+            values[position] = value;
+
+            return previous;
+        }
+
+        position = -(position + 1);
+
+        if (size == days.length) {
+            days = Arrays.copyOf(days, size << 1);
+            values = Arrays.copyOf(values, size << 1);
+        }
+
+        System.arraycopy(days, position, days, position + 1, size - position);
+        System.arraycopy(values, position, values, position + 1, size - position);
+
+        days[position] = day;
+        values[position] = value;
+        size++;
+
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(int day) {
+        int position = Arrays.binarySearch(days, 0, size, day);
+
+        if (position < 0) {
+            return null;
+        }
+
+        V previous = (V) values[position];
+
+        System.arraycopy(days, position + 1, days, position, size - position - 1);
+        System.arraycopy(values, position + 1, values, position, size - position - 1);
+
+        size--;
+        values[size] = null;
+
+        return previous;
+    }
+
+    public int positionFrom(int day) {
+        int position = Arrays.binarySearch(days, 0, size, day);
+
+        return position < 0 ? -(position + 1) : position;
+    }
+
+    public int dayAt(int position) {
+        return days[position];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V valueAt(int position) {
+        return (V) values[position];
+    }
+}
@@ -0,0 +1,106 @@
+package com.amore.task.store;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+public class DelegationIndex {
+    private final ConcurrentLongObjectMap<DelegationRecord> originMap = new ConcurrentLongObjectMap<>();
+    private final ConcurrentLongObjectMap<DelegationRecord> delegatedMap = new ConcurrentLongObjectMap<>();
+    private final ConcurrentLongObjectMap<LongObjectHashMap<DelegationRecord>> outgoingMap = new ConcurrentLongObjectMap<>();
+    private final ConcurrentLongObjectMap<LongObjectHashMap<DelegationRecord>> incomingMap = new ConcurrentLongObjectMap<>();
+
+    public int size() {
+        return delegatedMap.size();
+    }
+
+    public DelegationRecord getByOrigin(long originToDoNo) {
+        return originMap.get(originToDoNo);
+    }
+
+    public DelegationRecord getByDelegated(long delegatedToDoNo) {
+        return delegatedMap.get(delegatedToDoNo);
+    }
+
+    public boolean isDelegated(long delegatedToDoNo) {
+        return delegatedMap.containsKey(delegatedToDoNo);
+    }
+
+    public void put(long originToDoNo, long userNo, long targetUserNo, long delegatedToDoNo) {
+        DelegationRecord record = new DelegationRecord(originToDoNo, delegatedToDoNo, userNo, targetUserNo);
+        DelegationRecord previous = originMap.put(originToDoNo, record);
+
+        if (previous != null) {
+            removeFrom(outgoingMap, previous.getUserNo(), originToDoNo);
+        }
+
+        delegatedMap.put(delegatedToDoNo, record);
+        outgoingMap.computeIfAbsent(userNo, key -> new LongObjectHashMap<>()).put(originToDoNo, record);
+        incomingMap.computeIfAbsent(targetUserNo, key -> new LongObjectHashMap<>()).put(delegatedToDoNo, record);
+    }
+
+    public DelegationRecord removeByDelegated(long delegatedToDoNo) {
+        DelegationRecord record = delegatedMap.remove(delegatedToDoNo);
+
+        if (record == null) {
+            return null;
+        }
+
+        removeFrom(incomingMap, record.getTargetUserNo(), delegatedToDoNo);
+
+        if (originMap.get(record.getOriginToDoNo()) == record) {
+            originMap.remove(record.getOriginToDoNo());
+            removeFrom(outgoingMap, record.getUserNo(), record.getOriginToDoNo());
+        }
+
+        return record;
+    }
+
+    public void clear() {
+        originMap.clear();
+        delegatedMap.clear();
+        outgoingMap.clear();
+        incomingMap.clear();
+    }
+
+    public List<DelegationRecord> getOutgoing(long userNo) {
+        return getSorted(outgoingMap.get(userNo), DelegationRecord::getOriginToDoNo);
+    }
+
+    public List<DelegationRecord> getIncoming(long targetUserNo) {
+        return getSorted(incomingMap.get(targetUserNo), DelegationRecord::getDelegatedToDoNo);
+    }
+
+    public void forEach(Consumer<DelegationRecord> action) {
+        delegatedMap.forEachValue(action);
+    }
+
+    private List<DelegationRecord> getSorted(LongObjectHashMap<DelegationRecord> recordMap, ToLongFunction<DelegationRecord> key) {
+        if (recordMap == null) {
+            return new ArrayList<>();
+        }
+
+        List<DelegationRecord> records = new ArrayList<>(recordMap.size());
+
+        recordMap.forEachValue(records::add);
+        records.sort(Comparator.comparingLong(key));
+
+        return records;
+    }
+
+    private void removeFrom(ConcurrentLongObjectMap<LongObjectHashMap<DelegationRecord>> userMap, long userNo, long toDoNo) {
+        LongObjectHashMap<DelegationRecord> recordMap = userMap.get(userNo);
+
+        if (recordMap == null) {
+            return;
+        }
+
+        recordMap.remove(toDoNo);
+
+        if (recordMap.isEmpty()) {
+            userMap.remove(userNo);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.amore.task.store;
+
+public class DelegationRecord {
+    private final long originToDoNo;
+    private final long delegatedToDoNo;
+    private final long userNo;
+    private final long targetUserNo;
+
+    public DelegationRecord(long originToDoNo, long delegatedToDoNo, long userNo, long targetUserNo) {
+        this.originToDoNo = originToDoNo;
+        this.delegatedToDoNo = delegatedToDoNo;
+        this.userNo = userNo;
+        this.targetUserNo = targetUserNo;
+    }
+
+    public long getOriginToDoNo() {
+        return originToDoNo;
+    }
+
+    public long getDelegatedToDoNo() {
+        return delegatedToDoNo;
+    }
+
+    public long getUserNo() {
+        return userNo;
+    }
+
+    public long getTargetUserNo() {
+        return targetUserNo;
+    }
+}
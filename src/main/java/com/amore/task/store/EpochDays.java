@@ -0,0 +1,23 @@
+package com.amore.task.store;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.TimeZone;
+
+public final class EpochDays {
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+    private static final TimeZone ZONE = TimeZone.getDefault();
+
+    private EpochDays() {
+    }
+
+    public static int of(Date date) {
+        long millis = date.getTime();
+
+        return (int) Math.floorDiv(millis + ZONE.getOffset(millis), MILLIS_PER_DAY);
+    }
+
+    public static Date toDate(int epochDay) {
+        return Date.from(LocalDate.ofEpochDay(epochDay).atStartOfDay(ZONE.toZoneId()).toInstant());
+    }
+}
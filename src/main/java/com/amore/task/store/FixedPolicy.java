@@ -0,0 +1,21 @@
+package com.amore.task.store;
+
+import com.amore.task.enums.TaskImportance;
+import com.amore.task.model.Policy;
+
+public class FixedPolicy extends Policy {
+
+    public FixedPolicy(TaskImportance importance, int order) {
+        super(importance, order);
+    }
+
+    @Override
+    public void setImportance(TaskImportance importance) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setOrder(int order) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,20 @@
+package com.amore.task.store;
+
+final class LongHashing {
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private LongHashing() {
+    }
+
+    static int mix(long key) {
+        long hash = key * GOLDEN_RATIO;
+
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    static int tableSizeFor(int expectedSize, float loadFactor) {
+        int size = Integer.highestOneBit(Math.max(2, (int) Math.ceil(expectedSize / loadFactor)) - 1) << 1;
+
+        return Math.max(size, 2);
+    }
+}
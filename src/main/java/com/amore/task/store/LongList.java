@@ -0,0 +1,69 @@
+package com.amore.task.store;
+
+import java.util.Arrays;
+
+public class LongList {
+    private static final int DEFAULT_CAPACITY = 4;
+
+    private long[] values;
+    private int size;
+
+    public LongList() {
+        this.values = new long[DEFAULT_CAPACITY];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+
+        return values[index];
+    }
+
+    public void add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size << 1);
+        }
+
+        values[size++] = value;
+    }
+
+    public boolean contains(long value) {
+        return indexOf(value) >= 0;
+    }
+
+    public int indexOf(long value) {
+        for (int i=0; i<size; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    public boolean removeValue(long value) {
+        int index = indexOf(value);
+
+        if (index < 0) {
+            return false;
+        }
+
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+
+        return true;
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
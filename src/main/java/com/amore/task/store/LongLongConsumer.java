@@ -0,0 +1,5 @@
+package com.amore.task.store;
+
+public interface LongLongConsumer {
+    void accept(long key, long value);
+}
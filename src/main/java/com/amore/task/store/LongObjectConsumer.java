@@ -0,0 +1,5 @@
+package com.amore.task.store;
+
+public interface LongObjectConsumer<V> {
+    void accept(long key, V value);
+}
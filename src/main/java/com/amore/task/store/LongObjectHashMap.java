@@ -0,0 +1,173 @@
+package com.amore.task.store;
+
+import java.util.function.Consumer;
+
+public class LongObjectHashMap<V> {
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int threshold;
+
+    public LongObjectHashMap() {
+        this(8);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        allocate(LongHashing.tableSizeFor(expectedSize, LOAD_FACTOR));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(long key) {
+        return slotOf(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = slotOf(key);
+
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("null values are not supported. key: " + key);
+        }
+
+        int mask = keys.length - 1;
+        int slot = LongHashing.mix(key) & mask;
+
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+
+                return previous;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+
+        if (++size > threshold) {
+            rehash(keys.length << 1);
+        }
+
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int slot = slotOf(key);
+
+        if (slot < 0) {
+            return null;
+        }
+
+        V previous = (V) values[slot];
+        shiftBackFrom(slot);
+        size--;
+
+        return previous;
+    }
+
+    public void clear() {
+        allocate(LongHashing.tableSizeFor(8, LOAD_FACTOR));
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> action) {
+        for (Object value : values) {
+            if (value != null) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(LongObjectConsumer<? super V> action) {
+        for (int i=0; i<values.length; i++) {
+            if (values[i] != null) {
+                action.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    private int slotOf(long key) {
+        int mask = keys.length - 1;
+        int slot = LongHashing.mix(key) & mask;
+
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    private void shiftBackFrom(int emptySlot) {
+        int mask = keys.length - 1;
+        int slot = emptySlot;
+
+        while (true) {
+            slot = (slot + 1) & mask;
+
+            if (values[slot] == null) {
+                break;
+            }
+
+            int home = LongHashing.mix(keys[slot]) & mask;
+
+            if (((slot - home) & mask) >= ((slot - emptySlot) & mask)) {
+                keys[emptySlot] = keys[slot];
+                values[emptySlot] = values[slot];
+                emptySlot = slot;
+            }
+        }
+
+        values[emptySlot] = null;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+
+        allocate(capacity);
+
+        int mask = capacity - 1;
+        for (int i=0; i<oldKeys.length; i++) {
+            if (oldValues[i] == null) {
+                continue;
+            }
+
+            int slot = LongHashing.mix(oldKeys[i]) & mask;
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+}
@@ -0,0 +1,219 @@
+package com.amore.task.store;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public class OrderTree {
+    private Node root;
+
+    public int size() {
+        return sizeOf(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public Node insert(int index, long toDoNo) {
+        Node node = new Node(toDoNo, ThreadLocalRandom.current().nextInt());
+
+        root = insert(root, Math.max(0, Math.min(index, size())), node);
+        root.parent = null;
+
+        return node;
+    }
+
+    public void remove(Node node) {
+        Node child = merge(node.left, node.right);
+        Node parent = node.parent;
+
+        if (child != null) {
+            child.parent = parent;
+        }
+
+        if (parent == null) {
+            root = child;
+        } else if (parent.left == node) {
+            parent.left = child;
+        } else {
+            parent.right = child;
+        }
+
+        for (Node ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+            ancestor.size--;
+        }
+
+        node.left = null;
+        node.right = null;
+        node.parent = null;
+        node.size = 1;
+    }
+
+    public Node nodeAt(int index) {
+        Node node = root;
+
+        while (node != null) {
+            int leftSize = sizeOf(node.left);
+
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+
+        return null;
+    }
+
+    public Node first() {
+        Node node = root;
+
+        while (node != null && node.left != null) {
+            node = node.left;
+        }
+
+        return node;
+    }
+
+    private Node insert(Node tree, int index, Node node) {
+        if (tree == null) {
+            return node;
+        }
+
+        if (node.priority > tree.priority) {
+            Node[] parts = new Node[2];
+            split(tree, index, parts);
+
+            node.left = parts[0];
+            node.right = parts[1];
+            update(node);
+
+            return node;
+        }
+
+        int leftSize = sizeOf(tree.left);
+
+        if (index <= leftSize) {
+            tree.left = insert(tree.left, index, node);
+        } else {
+            tree.right = insert(tree.right, index - leftSize - 1, node);
+        }
+
+        update(tree);
+
+        return tree;
+    }
+
+    private void split(Node tree, int count, Node[] parts) {
+        if (tree == null) {
+            parts[0] = null;
+            parts[1] = null;
+            return;
+        }
+
+        int leftSize = sizeOf(tree.left);
+
+        if (leftSize < count) {
+            split(tree.right, count - leftSize - 1, parts);
+            tree.right = parts[0];
+            update(tree);
+            parts[0] = tree;
+        } else {
+            split(tree.left, count, parts);
+            tree.left = parts[1];
+            update(tree);
+            parts[1] = tree;
+        }
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+
+        if (right == null) {
+            return left;
+        }
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+
+            return left;
+        }
+
+        right.left = merge(left, right.left);
+        update(right);
+
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + sizeOf(node.left) + sizeOf(node.right);
+
+        if (node.left != null) {
+            node.left.parent = node;
+        }
+
+        if (node.right != null) {
+            node.right.parent = node;
+        }
+    }
+
+    private static int sizeOf(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    public static class Node {
+        private final long toDoNo;
+        private final int priority;
+        private int size;
+        private Node left;
+        private Node right;
+        private Node parent;
+
+        private Node(long toDoNo, int priority) {
+            this.toDoNo = toDoNo;
+            this.priority = priority;
+            this.size = 1;
+        }
+
+        public long getToDoNo() {
+            return toDoNo;
+        }
+
+        public int rank() {
+            int rank = sizeOf(left);
+
+            for (Node node = this; node.parent != null; node = node.parent) {
+                if (node.parent.right == node) {
+                    rank += sizeOf(node.parent.left) + 1;
+                }
+            }
+
+            return rank;
+        }
+
+        public Node next() {
+            if (right != null) {
+                Node node = right;
+
+                while (node.left != null) {
+                    node = node.left;
+                }
+
+                return node;
+            }
+
+            Node node = this;
+
+            while (node.parent != null && node.parent.right == node) {
+                node = node.parent;
+            }
+
+            return node.parent;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.amore.task.store;
+
+import com.amore.task.enums.TaskImportance;
+import com.amore.task.model.Policy;
+
+public class RankedPolicy extends Policy {
+    private final OrderTree.Node node;
+
+    public RankedPolicy(TaskImportance importance, OrderTree.Node node) {
+        super(importance, 0);
+        this.node = node;
+    }
+
+    OrderTree.Node getNode() {
+        return node;
+    }
+
+    @Override
+    public int getOrder() {
+        return node.rank();
+    }
+}
@@ -0,0 +1,65 @@
+package com.amore.task.store;
+
+import java.util.Locale;
+import java.util.function.Consumer;
+
+public class TextTokenizer {
+
+    private TextTokenizer() {
+    }
+
+    public static void tokenize(String text, Consumer<String> action) {
+        if (text == null) {
+            return;
+        }
+
+        int length = text.length();
+        int start = 0;
+        CharClass runClass = CharClass.SEPARATOR;
+
+        for (int i=0; i<=length; ) {
+            int codePoint = i < length ? text.codePointAt(i) : ' ';
+            CharClass charClass = CharClass.of(codePoint);
+
+            if (charClass != runClass) {
+                emit(text, start, i, runClass, action);
+                start = i;
+                runClass = charClass;
+            }
+
+            i += i < length ? Character.charCount(codePoint) : 1;
+        }
+    }
+
+    private static void emit(String text, int start, int end, CharClass runClass, Consumer<String> action) {
+        if (runClass == CharClass.WORD) {
+            action.accept(text.substring(start, end).toLowerCase(Locale.ROOT));
+        } else if (runClass == CharClass.IDEOGRAPH) {
+            if (text.codePointCount(start, end) == 1) {
+                action.accept(text.substring(start, end));
+                return;
+            }
+
+            for (int i=start, next=text.offsetByCodePoints(i, 1); next < end; i = next, next = text.offsetByCodePoints(i, 1)) {
+                action.accept(text.substring(i, text.offsetByCodePoints(next, 1)));
+            }
+        }
+    }
+
+    private enum CharClass {
+        SEPARATOR,
+        WORD,
+        IDEOGRAPH;
+
+        private static CharClass of(int codePoint) {
+            Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+
+            if (script == Character.UnicodeScript.HANGUL || script == Character.UnicodeScript.HAN
+                    || script == Character.UnicodeScript.HIRAGANA || script == Character.UnicodeScript.KATAKANA) {
+                return IDEOGRAPH;
+            }
+
+            return Character.isLetterOrDigit(codePoint) ? WORD : SEPARATOR;
+        }
+    }
+}
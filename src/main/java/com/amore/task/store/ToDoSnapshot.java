@@ -0,0 +1,82 @@
+package com.amore.task.store;
+
+import com.amore.task.enums.TaskImportance;
+import com.amore.task.enums.TaskStatus;
+import com.amore.task.model.Policy;
+import com.amore.task.model.ToDo;
+
+import java.util.Date;
+
+/**
+ * Read-only copy of a stored ToDo shared by every reader of a cached day list. It keeps the {@link ToDo} type so the
+ * list APIs and their JSON stay unchanged, but every setter throws; callers that need to edit it take {@link #clone()}.
+ */
+public class ToDoSnapshot extends ToDo {
+    private static final long serialVersionUID = 4723190358312547871L;
+
+    public ToDoSnapshot(ToDo toDo, TaskImportance importance, int order, String task) {
+        super(toDo.getToDoNo(), copyOf(toDo.getExecutionDate()), toDo.getUserNo(), new FixedPolicy(importance, order),
+                task, toDo.getDescription(), toDo.getStatus());
+        super.setTargetUserNo(toDo.getTargetUserNo());
+        super.setVersion(toDo.getVersion());
+    }
+
+    @Override
+    public ToDo clone() {
+        ToDo toDo = new ToDo(getToDoNo(), copyOf(getExecutionDate()), getUserNo(),
+                new Policy(getPolicy().getImportance(), getPolicy().getOrder()), getTask(), getDescription(), getStatus());
+        toDo.setTargetUserNo(getTargetUserNo());
+        toDo.setVersion(getVersion());
+
+        return toDo;
+    }
+
+    @Override
+    public void setToDoNo(long toDoNo) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setExecutionDate(Date executionDate) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setUserNo(long userNo) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setPolicy(Policy policy) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setTask(String task) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setDescription(String description) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setStatus(TaskStatus status) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setTargetUserNo(long targetUserNo) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setVersion(long version) {
+        throw new UnsupportedOperationException();
+    }
+
+    private static Date copyOf(Date date) {
+        return date == null ? null : new Date(date.getTime());
+    }
+}
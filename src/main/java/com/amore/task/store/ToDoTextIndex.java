@@ -0,0 +1,243 @@
+package com.amore.task.store;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.LongPredicate;
+
+public class ToDoTextIndex {
+    private static final int TASK_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final Map<String, PostingList> postingMap = new HashMap<>();
+    private final LongObjectHashMap<PostingList[]> documentMap = new LongObjectHashMap<>();
+
+    public int size() {
+        return documentMap.size();
+    }
+
+    public void put(long toDoNo, String task, String description) {
+        remove(toDoNo);
+
+        Map<String, Integer> terms = new LinkedHashMap<>();
+        TextTokenizer.tokenize(task, term -> terms.merge(term, TASK_WEIGHT, Integer::sum));
+        TextTokenizer.tokenize(description, term -> terms.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+
+        if (terms.isEmpty()) {
+            return;
+        }
+
+        PostingList[] postingLists = new PostingList[terms.size()];
+        int index = 0;
+
+        for (Map.Entry<String, Integer> term : terms.entrySet()) {
+            PostingList postingList = postingMap.computeIfAbsent(term.getKey(), PostingList::new);
+
+            postingList.put(toDoNo, term.getValue());
+            postingLists[index++] = postingList;
+        }
+
+        documentMap.put(toDoNo, postingLists);
+    }
+
+    public void remove(long toDoNo) {
+        PostingList[] postingLists = documentMap.remove(toDoNo);
+
+        if (postingLists == null) {
+            return;
+        }
+
+        for (PostingList postingList : postingLists) {
+            postingList.remove(toDoNo);
+
+            if (postingList.size == 0) {
+                postingMap.remove(postingList.term);
+            }
+        }
+    }
+
+    public long[] search(Collection<String> queryTerms, LongPredicate filter, int limit) {
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return new long[0];
+        }
+
+        List<PostingList> postingLists = new ArrayList<>(queryTerms.size());
+
+        for (String term : queryTerms) {
+            PostingList postingList = postingMap.get(term);
+
+            if (postingList == null) {
+                return new long[0];
+            }
+
+            postingLists.add(postingList);
+        }
+
+        postingLists.sort(Comparator.comparingInt(postingList -> postingList.size));
+
+        double[] idfs = new double[postingLists.size()];
+        for (int i=0; i<idfs.length; i++) {
+            idfs[i] = Math.log(1 + (double) documentMap.size() / postingLists.get(i).size);
+        }
+
+        PriorityQueue<ScoredToDo> topToDos = new PriorityQueue<>(limit + 1, ScoredToDo.ORDER);
+        PostingList rarest = postingLists.get(0);
+
+        for (int slot=0; slot<rarest.toDoNos.length; slot++) {
+            long toDoNo = rarest.toDoNos[slot];
+
+            if (toDoNo == PostingList.EMPTY) {
+                continue;
+            }
+
+            double score = rarest.weights[slot] * idfs[0];
+
+            for (int i=1; i<idfs.length && score >= 0; i++) {
+                int weight = postingLists.get(i).get(toDoNo);
+                score = weight == 0 ? -1 : score + weight * idfs[i];
+            }
+
+            if (score < 0 || (topToDos.size() == limit && score < topToDos.peek().score) || !filter.test(toDoNo)) {
+                continue;
+            }
+
+            topToDos.offer(new ScoredToDo(toDoNo, score));
+
+            if (topToDos.size() > limit) {
+                topToDos.poll();
+            }
+        }
+
+        long[] toDoNos = new long[topToDos.size()];
+        for (int i=toDoNos.length - 1; i>=0; i--) {
+            toDoNos[i] = topToDos.poll().toDoNo;
+        }
+
+        return toDoNos;
+    }
+
+    private static class PostingList {
+        private static final long EMPTY = 0;
+
+        private final String term;
+        private long[] toDoNos = new long[2];
+        private int[] weights = new int[2];
+        private int size;
+
+        private PostingList(String term) {
+            this.term = term;
+        }
+
+        private int get(long toDoNo) {
+            int slot = slotOf(toDoNo);
+
+            return slot < 0 ? 0 : weights[slot];
+        }
+
+        private void put(long toDoNo, int weight) {
+            if ((size + 1) << 2 > toDoNos.length * 3) {
+                rehash(toDoNos.length << 1);
+            }
+
+            int mask = toDoNos.length - 1;
+            int slot = LongHashing.mix(toDoNo) & mask;
+
+            while (toDoNos[slot] != EMPTY && toDoNos[slot] != toDoNo) {
+                slot = (slot + 1) & mask;
+            }
+
+            if (toDoNos[slot] == EMPTY) {
+                size++;
+            }
+
+            toDoNos[slot] = toDoNo;
+            weights[slot] = weight;
+        }
+
+        private void remove(long toDoNo) {
+            int emptySlot = slotOf(toDoNo);
+
+            if (emptySlot < 0) {
+                return;
+            }
+
+            int mask = toDoNos.length - 1;
+            int slot = emptySlot;
+
+            while (true) {
+                slot = (slot + 1) & mask;
+
+                if (toDoNos[slot] == EMPTY) {
+                    break;
+                }
+
+                int home = LongHashing.mix(toDoNos[slot]) & mask;
+
+                if (((slot - home) & mask) >= ((slot - emptySlot) & mask)) {
+                    toDoNos[emptySlot] = toDoNos[slot];
+                    weights[emptySlot] = weights[slot];
+                    emptySlot = slot;
+                }
+            }
+
+            toDoNos[emptySlot] = EMPTY;
+            size--;
+        }
+
+        private int slotOf(long toDoNo) {
+            int mask = toDoNos.length - 1;
+            int slot = LongHashing.mix(toDoNo) & mask;
+
+            while (toDoNos[slot] != EMPTY) {
+                if (toDoNos[slot] == toDoNo) {
+                    return slot;
+                }
+
+                slot = (slot + 1) & mask;
+            }
+
+            return -1;
+        }
+
+        private void rehash(int capacity) {
+            long[] oldToDoNos = toDoNos;
+            int[] oldWeights = weights;
+
+            toDoNos = new long[capacity];
+            weights = new int[capacity];
+
+            int mask = capacity - 1;
+            for (int i=0; i<oldToDoNos.length; i++) {
+                if (oldToDoNos[i] == EMPTY) {
+                    continue;
+                }
+
+                int slot = LongHashing.mix(oldToDoNos[i]) & mask;
+                while (toDoNos[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+
+                toDoNos[slot] = oldToDoNos[i];
+                weights[slot] = oldWeights[i];
+            }
+        }
+    }
+
+    private static class ScoredToDo {
+        private static final Comparator<ScoredToDo> ORDER = Comparator.<ScoredToDo>comparingDouble(scoredToDo -> scoredToDo.score)
+                .thenComparingLong(scoredToDo -> scoredToDo.toDoNo);
+
+        private final long toDoNo;
+        private final double score;
+
+        private ScoredToDo(long toDoNo, double score) {
+            this.toDoNo = toDoNo;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.amore.task.store;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+public class UserLockStripe {
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public UserLockStripe(int stripeCount) {
+        int size = LongHashing.tableSizeFor(stripeCount, 1.0f);
+
+        this.locks = new ReentrantLock[size];
+        this.mask = size - 1;
+
+        for (int i=0; i<size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T callWith(long userNo, Supplier<T> action) {
+        ReentrantLock lock = locks[indexOf(userNo)];
+
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public <T> T callWith(long userNo, long otherUserNo, Supplier<T> action) {
+        int index = indexOf(userNo);
+        int otherIndex = indexOf(otherUserNo);
+
+        if (index == otherIndex) {
+            return callWith(userNo, action);
+        }
+
+        ReentrantLock first = locks[Math.min(index, otherIndex)];
+        ReentrantLock second = locks[Math.max(index, otherIndex)];
+
+        first.lock();
+        try {
+            second.lock();
+            try {
+                return action.get();
+            } finally {
+                second.unlock();
+            }
+        } finally {
+            first.unlock();
+        }
+    }
+
+    public <T> T callWithAll(Supplier<T> action) {
+        return callWithAll(0, action);
+    }
+
+    private <T> T callWithAll(int index, Supplier<T> action) {
+        if (index == locks.length) {
+            return action.get();
+        }
+
+        locks[index].lock();
+        try {
+            return callWithAll(index + 1, action);
+        } finally {
+            locks[index].unlock();
+        }
+    }
+
+    private int indexOf(long userNo) {
+        return LongHashing.mix(userNo) & mask;
+    }
+}
@@ -0,0 +1,140 @@
+package com.amore.task.store;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class UserMailboxExecutor {
+    private static final int DRAIN_BATCH_SIZE = 64;
+
+    private final ForkJoinPool pool;
+    private final ConcurrentLongObjectMap<Mailbox> mailboxes = new ConcurrentLongObjectMap<>();
+
+    public UserMailboxExecutor(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+    }
+
+    public <T> CompletableFuture<T> submit(long userNo, Supplier<T> action) {
+        Mailbox mailbox = mailboxOf(userNo);
+        Message<T> message = new Message<>(action, mailbox);
+
+        if (mailbox.enqueue(message)) {
+            pool.execute(mailbox::drain);
+        }
+
+        return message.future;
+    }
+
+    public <T> CompletableFuture<T> submit(long userNo, long otherUserNo, Supplier<T> action) {
+        if (userNo == otherUserNo) {
+            return submit(userNo, action);
+        }
+
+        Mailbox first = mailboxOf(Math.min(userNo, otherUserNo));
+        Mailbox second = mailboxOf(Math.max(userNo, otherUserNo));
+        Message<T> message = new Message<>(action, first, second);
+        boolean firstIdle;
+        boolean secondIdle;
+
+        synchronized (first) {
+            synchronized (second) {
+                firstIdle = first.enqueue(message);
+                secondIdle = second.enqueue(message);
+            }
+        }
+
+        if (firstIdle) {
+            pool.execute(first::drain);
+        }
+
+        if (secondIdle) {
+            pool.execute(second::drain);
+        }
+
+        return message.future;
+    }
+
+    private Mailbox mailboxOf(long userNo) {
+        return mailboxes.computeIfAbsent(userNo, no -> new Mailbox());
+    }
+
+    private class Mailbox {
+        private final ArrayDeque<Message<?>> queue = new ArrayDeque<>();
+        private boolean scheduled;
+
+        private synchronized boolean enqueue(Message<?> message) {
+            queue.addLast(message);
+
+            if (scheduled) {
+                return false;
+            }
+
+            scheduled = true;
+
+            return true;
+        }
+
+        private synchronized Message<?> peek() {
+            Message<?> message = queue.peekFirst();
+
+            if (message == null) {
+                scheduled = false;
+            }
+
+            return message;
+        }
+
+        private synchronized void poll() {
+            queue.pollFirst();
+        }
+
+        private void drain() {
+            for (int i=0; i<DRAIN_BATCH_SIZE; i++) {
+                Message<?> message = peek();
+
+                if (message == null || !message.arrive()) {
+                    return;
+                }
+
+                message.run();
+
+                for (Mailbox mailbox : message.mailboxes) {
+                    mailbox.poll();
+
+                    if (mailbox != this) {
+                        pool.execute(mailbox::drain);
+                    }
+                }
+            }
+
+            pool.execute(this::drain);
+        }
+    }
+
+    private static class Message<T> {
+        private final Supplier<T> action;
+        private final Mailbox[] mailboxes;
+        private final AtomicInteger waitingCount;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private Message(Supplier<T> action, Mailbox... mailboxes) {
+            this.action = action;
+            this.mailboxes = mailboxes;
+            this.waitingCount = new AtomicInteger(mailboxes.length);
+        }
+
+        private boolean arrive() {
+            return waitingCount.decrementAndGet() == 0;
+        }
+
+        private void run() {
+            try {
+                future.complete(action.get());
+            } catch (RuntimeException | Error e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
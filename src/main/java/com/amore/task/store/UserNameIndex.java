@@ -0,0 +1,67 @@
+package com.amore.task.store;
+
+import com.amore.task.model.User;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+public class UserNameIndex {
+    private final ConcurrentSkipListMap<Key, User> userMap = new ConcurrentSkipListMap<>();
+
+    public int size() {
+        return userMap.size();
+    }
+
+    public void put(User user) {
+        userMap.put(new Key(user.getName(), user.getNo()), user);
+    }
+
+    public void remove(User user) {
+        userMap.remove(new Key(user.getName(), user.getNo()));
+    }
+
+    public void clear() {
+        userMap.clear();
+    }
+
+    public List<User> find(String prefix, User after, int limit) {
+        Key prefixKey = new Key(prefix, Long.MIN_VALUE);
+        Key afterKey = after == null ? null : new Key(after.getName(), after.getNo());
+        NavigableMap<Key, User> tailMap = afterKey == null || afterKey.compareTo(prefixKey) < 0
+                ? userMap.tailMap(prefixKey, true)
+                : userMap.tailMap(afterKey, false);
+        List<User> userList = new ArrayList<>(Math.min(limit, 64));
+
+        for (Map.Entry<Key, User> entry : tailMap.entrySet()) {
+            if (userList.size() >= limit || !entry.getKey().name.startsWith(prefix)) {
+                break;
+            }
+
+            userList.add(entry.getValue());
+        }
+
+        return userList;
+    }
+
+    private static class Key implements Comparable<Key> {
+        private static final Comparator<Key> ORDER = Comparator.<Key, String>comparing(key -> key.name)
+                .thenComparingLong(key -> key.no);
+
+        private final String name;
+        private final long no;
+
+        private Key(String name, long no) {
+            this.name = name == null ? "" : name;
+            this.no = no;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
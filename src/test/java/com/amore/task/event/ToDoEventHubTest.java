@@ -0,0 +1,164 @@
+package com.amore.task.event;
+
+import com.amore.task.enums.TaskStatus;
+import com.amore.task.enums.ToDoEventType;
+import com.amore.task.model.Policy;
+import com.amore.task.model.ToDo;
+import com.amore.task.model.ToDoEvent;
+import com.amore.task.service.TaskShards;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ToDoEventHubTest {
+    private TaskShards taskShards;
+    private MeterRegistry meterRegistry;
+    private ToDoEventHub toDoEventHub;
+
+    @BeforeEach
+    public void setUp() {
+        taskShards = new TaskShards(2, "", new SimpleMeterRegistry());
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        toDoEventHub.close();
+    }
+
+    @Test
+    public void subscribeTest_Delegation_Events() throws ParseException {
+        //given
+        toDoEventHub = new ToDoEventHub(taskShards, 256, 1024, 60000, 2, meterRegistry);
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        toDoEventHub.subscribe(2, null, emitter);
+
+        ToDo toDo = newToDo(1, "위임 업무");
+        taskShards.forUser(1).createToDo(toDo);
+
+        //when
+        toDo.setPolicy(new Policy(toDo.getPolicy().getImportance(), 1));
+        toDo.setStatus(TaskStatus.DELEGATION);
+        toDo.setTargetUserNo(2);
+        taskShards.forUser(1).modifyToDo(toDo);
+
+        await(() -> emitter.events.size() == 2);
+
+        //then
+        assertThat(emitter.events).extracting(ToDoEvent::getType).containsExactly(ToDoEventType.CREATE, ToDoEventType.DELEGATE);
+        assertThat(emitter.events.get(0).getToDo().getTask()).startsWith("위임 업무");
+        assertThat(emitter.events.get(1).getRelatedUserNo()).isEqualTo(1);
+        assertThat(emitter.events.get(1).getRelatedToDoNo()).isEqualTo(toDo.getToDoNo());
+    }
+
+    @Test
+    public void subscribeTest_Resume_From_LastEventId() throws ParseException {
+        //given
+        toDoEventHub = new ToDoEventHub(taskShards, 256, 1024, 60000, 2, meterRegistry);
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        toDoEventHub.subscribe(3, null, emitter);
+
+        for (int i=0; i<3; i++) {
+            taskShards.forUser(3).createToDo(newToDo(3, "재구독 업무 " + i));
+        }
+
+        await(() -> emitter.events.size() == 3);
+
+        //when
+        RecordingEmitter resumedEmitter = new RecordingEmitter(null);
+        toDoEventHub.subscribe(3, emitter.events.get(0).getEventId(), resumedEmitter);
+        RecordingEmitter staleEmitter = new RecordingEmitter(null);
+        toDoEventHub.subscribe(3, "stale-1", staleEmitter);
+
+        await(() -> resumedEmitter.events.size() == 2 && staleEmitter.events.size() == 1);
+
+        //then
+        assertThat(resumedEmitter.events).extracting(ToDoEvent::getEventId)
+                .containsExactly(emitter.events.get(1).getEventId(), emitter.events.get(2).getEventId());
+        assertThat(staleEmitter.events).extracting(ToDoEvent::getType).containsExactly(ToDoEventType.RESYNC);
+    }
+
+    @Test
+    public void publishTest_Slow_Subscriber_Does_Not_Block_Writer() throws ParseException {
+        //given
+        toDoEventHub = new ToDoEventHub(taskShards, 256, 4, 60000, 2, meterRegistry);
+        CountDownLatch blocked = new CountDownLatch(1);
+        RecordingEmitter slowEmitter = new RecordingEmitter(blocked);
+        toDoEventHub.subscribe(4, null, slowEmitter);
+
+        //when
+        for (int i=0; i<50; i++) {
+            taskShards.forUser(4).createToDo(newToDo(4, "느린 구독 업무 " + i));
+        }
+
+        blocked.countDown();
+        await(() -> toDoEventHub.getSubscriberCount() == 0);
+
+        //then
+        assertThat(slowEmitter.completed).isTrue();
+        assertThat(slowEmitter.events.size()).isLessThan(50);
+        assertThat(meterRegistry.counter("todo.events.dropped").count()).isGreaterThan(0);
+    }
+
+    private ToDo newToDo(long userNo, String task) throws ParseException {
+        ToDo toDo = new ToDo();
+        toDo.setUserNo(userNo);
+        toDo.setTask(task);
+        toDo.setStatus(TaskStatus.PROGRESS);
+        toDo.setExecutionDate(new SimpleDateFormat("yyyy-MM-dd").parse("2024-04-01"));
+
+        return toDo;
+    }
+
+    private void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10000;
+
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<ToDoEvent> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch blocked;
+        private volatile boolean completed;
+
+        private RecordingEmitter(CountDownLatch blocked) {
+            this.blocked = blocked;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (blocked != null) {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            builder.build().stream()
+                    .filter(data -> data.getData() instanceof ToDoEvent)
+                    .forEach(data -> events.add((ToDoEvent) data.getData()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
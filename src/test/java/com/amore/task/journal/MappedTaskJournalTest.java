@@ -0,0 +1,136 @@
+package com.amore.task.journal;
+
+import com.amore.task.enums.TaskImportance;
+import com.amore.task.enums.TaskStatus;
+import com.amore.task.model.ToDo;
+import com.amore.task.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MappedTaskJournalTest {
+    private static final int SEGMENT_SIZE = 256;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void replayTest_Across_Segments() {
+        //given
+        MappedTaskJournal journal = MappedTaskJournal.open(directory, SEGMENT_SIZE, 0, new RecordingReplayer());
+
+        journal.appendUser(new User(1, "test1"));
+
+        for (int i=1; i<=10; i++) {
+            journal.appendCreate(newToDo(i, "업무" + i), TaskImportance.B, i - 1);
+        }
+
+        journal.appendModify(newToDo(3, "업무3 변경"), TaskImportance.A, 0);
+        journal.appendDelegate(3, 1, 2, 11);
+        journal.appendCancelDelegate(11);
+        journal.appendDelete(4);
+        journal.awaitFlushed();
+        journal.close();
+
+        //when
+        RecordingReplayer replayer = new RecordingReplayer();
+        MappedTaskJournal.open(directory, SEGMENT_SIZE, 0, replayer).close();
+
+        //then
+        assertThat(replayer.records).hasSize(15);
+        assertThat(replayer.records.get(0)).isEqualTo("USER 1 test1");
+        assertThat(replayer.records.get(1)).isEqualTo("CREATE 1 업무1 B0");
+        assertThat(replayer.records.get(10)).isEqualTo("CREATE 10 업무10 B9");
+        assertThat(replayer.records.get(11)).isEqualTo("MODIFY 3 업무3 변경 A0");
+        assertThat(replayer.records.get(12)).isEqualTo("DELEGATE 3 1 2 11");
+        assertThat(replayer.records.get(13)).isEqualTo("CANCEL_DELEGATE 11");
+        assertThat(replayer.records.get(14)).isEqualTo("DELETE 4");
+    }
+
+    @Test
+    public void replayTest_Truncated_Tail() throws IOException {
+        //given
+        MappedTaskJournal journal = MappedTaskJournal.open(directory, SEGMENT_SIZE, 0, new RecordingReplayer());
+
+        journal.appendDelete(1);
+        journal.appendDelete(2);
+        journal.close();
+
+        try (FileChannel channel = FileChannel.open(lastSegment(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), 30);
+        }
+
+        journal = MappedTaskJournal.open(directory, SEGMENT_SIZE, 0, new RecordingReplayer());
+        journal.appendDelete(3);
+        journal.close();
+
+        //when
+        RecordingReplayer replayer = new RecordingReplayer();
+        MappedTaskJournal.open(directory, SEGMENT_SIZE, 0, replayer).close();
+
+        //then
+        assertThat(replayer.records).containsExactly("DELETE 1", "DELETE 3");
+    }
+
+    private ToDo newToDo(long toDoNo, String task) {
+        ToDo toDo = new ToDo(toDoNo, new Date(), 1, null, task, "");
+        toDo.setStatus(TaskStatus.PROGRESS);
+
+        return toDo;
+    }
+
+    private Path lastSegment() throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            List<Path> segments = paths.sorted().collect(Collectors.toList());
+
+            return segments.get(segments.size() - 1);
+        }
+    }
+
+    private static class RecordingReplayer implements JournalReplayer {
+        private final List<String> records = new ArrayList<>();
+
+        @Override
+        public void onUser(User user) {
+            records.add("USER " + user.getNo() + " " + user.getName());
+        }
+
+        @Override
+        public void onCreate(ToDo toDo, TaskImportance importance, int order) {
+            records.add("CREATE " + toDo.getToDoNo() + " " + toDo.getTask() + " " + importance + order);
+        }
+
+        @Override
+        public void onModify(ToDo toDo, TaskImportance importance, int order) {
+            records.add("MODIFY " + toDo.getToDoNo() + " " + toDo.getTask() + " " + importance + order);
+        }
+
+        @Override
+        public void onDelete(long toDoNo) {
+            records.add("DELETE " + toDoNo);
+        }
+
+        @Override
+        public void onDelegate(long originToDoNo, long userNo, long targetUserNo, long delegatedToDoNo) {
+            records.add("DELEGATE " + originToDoNo + " " + userNo + " " + targetUserNo + " " + delegatedToDoNo);
+        }
+
+        @Override
+        public void onCancelDelegate(long delegatedToDoNo) {
+            records.add("CANCEL_DELEGATE " + delegatedToDoNo);
+        }
+    }
+}
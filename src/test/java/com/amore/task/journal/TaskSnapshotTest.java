@@ -0,0 +1,69 @@
+package com.amore.task.journal;
+
+import com.amore.task.enums.TaskImportance;
+import com.amore.task.enums.TaskStatus;
+import com.amore.task.model.ToDo;
+import com.amore.task.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TaskSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void writeToTest_Read_Columns() {
+        //given
+        Date executionDate = new Date();
+        TaskSnapshotWriter snapshotWriter = new TaskSnapshotWriter(3, 2, 12, 1);
+
+        snapshotWriter.addUser(new User(1, "test1"));
+        snapshotWriter.addUser(new User(2, "테스트2"));
+
+        for (int i=1; i<=10; i++) {
+            ToDo toDo = new ToDo(i, executionDate, 1, null, "업무" + i, i % 2 == 0 ? null : "", TaskStatus.PROGRESS);
+            toDo.setVersion(i);
+            snapshotWriter.addToDo(toDo, TaskImportance.B, i - 1);
+        }
+
+        ToDo delegatedToDo = new ToDo(12, executionDate, 2, null, "위임 업무", "설명", TaskStatus.DELEGATION);
+        snapshotWriter.addToDo(delegatedToDo, TaskImportance.A, 0);
+        snapshotWriter.addDelegationRelation(3, 1, 2);
+        snapshotWriter.addDelegatedToDo(12, 3);
+
+        Path path = directory.resolve(TaskSnapshotWriter.FILE_NAME);
+
+        //when
+        snapshotWriter.writeTo(path);
+        TaskSnapshotReader snapshotReader = TaskSnapshotReader.open(path);
+
+        //then
+        assertThat(snapshotReader.getJournalSegment()).isEqualTo(3);
+        assertThat(snapshotReader.getGlobalUserNo()).isEqualTo(2);
+        assertThat(snapshotReader.getGlobalToDoNo()).isEqualTo(12);
+        assertThat(snapshotReader.getUserCount()).isEqualTo(2);
+        assertThat(snapshotReader.getUser(1).getName()).isEqualTo("테스트2");
+        assertThat(snapshotReader.getToDoCount()).isEqualTo(11);
+        assertThat(snapshotReader.getToDo(0).getTask()).isEqualTo("업무1");
+        assertThat(snapshotReader.getToDo(0).getDescription()).isEqualTo("");
+        assertThat(snapshotReader.getToDo(1).getDescription()).isNull();
+        assertThat(snapshotReader.getToDo(9).getExecutionDate()).isEqualTo(executionDate);
+        assertThat(snapshotReader.getOrder(9)).isEqualTo(9);
+        assertThat(snapshotReader.getToDo(9).getVersion()).isEqualTo(10);
+        assertThat(snapshotReader.getToDo(10).getTask()).isEqualTo("위임 업무");
+        assertThat(snapshotReader.getToDo(10).getDescription()).isEqualTo("설명");
+        assertThat(snapshotReader.getToDo(10).getStatus()).isEqualTo(TaskStatus.DELEGATION);
+        assertThat(snapshotReader.getToDoUserNo(10)).isEqualTo(2);
+        assertThat(snapshotReader.getImportance(10)).isEqualTo(TaskImportance.A);
+        assertThat(snapshotReader.getRelationCount()).isEqualTo(1);
+        assertThat(snapshotReader.getRelationTargetUserNo(0)).isEqualTo(2);
+        assertThat(snapshotReader.getDelegatedNo(0)).isEqualTo(12);
+        assertThat(snapshotReader.getDelegatedOriginNo(0)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,51 @@
+package com.amore.task.replication;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChangeStreamBufferTest {
+
+    @Test
+    public void readTest_From_Sequence() {
+        //given
+        ChangeStreamBuffer buffer = new ChangeStreamBuffer(8);
+        List<ChangeRecord> batch = new ArrayList<>();
+
+        for (int i=0; i<5; i++) {
+            buffer.append(i % 2, new byte[] {(byte) i});
+        }
+
+        //when
+        int count = buffer.read(3, batch, 2);
+
+        //then
+        assertThat(count).isEqualTo(2);
+        assertThat(batch).extracting(ChangeRecord::getSequence).containsExactly(3L, 4L);
+        assertThat(batch).extracting(ChangeRecord::getShardIndex).containsExactly(0, 1);
+        assertThat(buffer.getHeadSequence()).isEqualTo(5);
+    }
+
+    @Test
+    public void readTest_Evicted_Sequence() {
+        //given
+        ChangeStreamBuffer buffer = new ChangeStreamBuffer(4);
+
+        for (int i=0; i<10; i++) {
+            buffer.append(0, new byte[0]);
+        }
+
+        //when
+        int evictedCount = buffer.read(6, new ArrayList<>(), 10);
+        int caughtUpCount = buffer.read(11, new ArrayList<>(), 10);
+
+        //then
+        assertThat(evictedCount).isEqualTo(-1);
+        assertThat(caughtUpCount).isEqualTo(0);
+        assertThat(buffer.contains(7)).isTrue();
+        assertThat(buffer.contains(12)).isFalse();
+    }
+}
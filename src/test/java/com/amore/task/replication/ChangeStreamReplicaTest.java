@@ -0,0 +1,130 @@
+package com.amore.task.replication;
+
+import com.amore.task.enums.TaskStatus;
+import com.amore.task.model.Policy;
+import com.amore.task.model.ToDo;
+import com.amore.task.model.ToDoSearchCondition;
+import com.amore.task.model.User;
+import com.amore.task.service.TaskShards;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChangeStreamReplicaTest {
+    private TaskShards primaryShards;
+    private TaskShards replicaShards;
+    private ChangeStreamPublisher publisher;
+    private ChangeStreamReplica replica;
+
+    @BeforeEach
+    public void setUp() {
+        primaryShards = new TaskShards(2, "", new SimpleMeterRegistry());
+        replicaShards = new TaskShards(2, "", new SimpleMeterRegistry());
+        publisher = new ChangeStreamPublisher(primaryShards, 0, 1024, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        replica.close();
+        publisher.close();
+    }
+
+    @Test
+    public void replicateTest_Bootstrap_Then_Stream() throws ParseException {
+        //given
+        ToDo bootstrappedToDo = newToDo(1, "복제 전 업무", "2024-04-01");
+        primaryShards.forUser(1).createToDo(bootstrappedToDo);
+        primaryShards.addUser("replica");
+
+        //when
+        startReplica();
+        await(() -> replica.isConnected() && replica.getLagRecords() == 0);
+
+        ToDo streamedToDo = newToDo(2, "복제 후 업무", "2024-04-01");
+        primaryShards.forUser(2).createToDo(streamedToDo);
+        bootstrappedToDo.setPolicy(new Policy(bootstrappedToDo.getPolicy().getImportance(), 1));
+        bootstrappedToDo.setStatus(TaskStatus.DELEGATION);
+        bootstrappedToDo.setTargetUserNo(2);
+        primaryShards.forUser(1).modifyToDo(bootstrappedToDo);
+
+        long headSequence = publisher.getStatus().getHeadSequence();
+        await(() -> replica.getAppliedSequence() == headSequence);
+
+        //then
+        assertThat(replicaShards.getAllUserList()).extracting(User::getName)
+                .containsExactlyInAnyOrderElementsOf(primaryShards.getAllUserList().stream().map(User::getName)::iterator);
+        assertThat(getToDoList(replicaShards, 1, "2024-04-01")).extracting(ToDo::getStatus).containsExactly(TaskStatus.DELEGATION);
+        assertThat(getToDoList(replicaShards, 2, "2024-04-01")).extracting(ToDo::getTask)
+                .containsExactlyElementsOf(getToDoList(primaryShards, 2, "2024-04-01").stream().map(ToDo::getTask)::iterator);
+        assertThat(replicaShards.forUser(2).getIncomingDelegationList(2)).hasSize(1);
+        assertThat(replica.getLagMillis()).isEqualTo(0);
+    }
+
+    @Test
+    public void replicateTest_Resume_After_Disconnect() throws ParseException {
+        //given
+        primaryShards.forUser(3).createToDo(newToDo(3, "유지 업무", "2024-04-01"));
+        startReplica();
+        await(() -> replica.isConnected() && replica.getLagRecords() == 0);
+
+        String untouchedETag = replicaShards.forUser(3).getToDoListETag(3, date("2024-04-01"));
+
+        //when
+        publisher.disconnectReplicas();
+        for (int i=0; i<20; i++) {
+            primaryShards.forUser(4).createToDo(newToDo(4, "재연결 업무 " + i, "2024-04-02"));
+        }
+
+        long headSequence = publisher.getStatus().getHeadSequence();
+        await(() -> replica.getAppliedSequence() == headSequence);
+
+        //then
+        assertThat(getToDoList(replicaShards, 4, "2024-04-02")).hasSize(20);
+        assertThat(replicaShards.forUser(3).getToDoListETag(3, date("2024-04-01"))).isEqualTo(untouchedETag);
+    }
+
+    private void startReplica() {
+        replica = new ChangeStreamReplica(replicaShards, "127.0.0.1:" + publisher.getPort(), "", "", new SimpleMeterRegistry());
+        replica.start();
+    }
+
+    private List<ToDo> getToDoList(TaskShards taskShards, long userNo, String date) throws ParseException {
+        ToDoSearchCondition searchCondition = new ToDoSearchCondition();
+        searchCondition.setUserNo(userNo);
+        searchCondition.setSearchDate(date(date));
+
+        return taskShards.forUser(userNo).getToDoList(searchCondition);
+    }
+
+    private ToDo newToDo(long userNo, String task, String date) throws ParseException {
+        ToDo toDo = new ToDo();
+        toDo.setUserNo(userNo);
+        toDo.setTask(task);
+        toDo.setStatus(TaskStatus.PROGRESS);
+        toDo.setExecutionDate(date(date));
+
+        return toDo;
+    }
+
+    private Date date(String date) throws ParseException {
+        return new SimpleDateFormat("yyyy-MM-dd").parse(date);
+    }
+
+    private void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10000;
+
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}
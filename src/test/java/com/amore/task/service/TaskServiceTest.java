@@ -4,16 +4,29 @@ import com.amore.task.enums.ResultStatus;
 import com.amore.task.enums.TaskImportance;
 import com.amore.task.enums.TaskStatus;
 import com.amore.task.model.*;
+import com.amore.task.store.DelegationRecord;
+import com.amore.task.store.EpochDays;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
 public class TaskServiceTest {
@@ -21,6 +34,9 @@ public class TaskServiceTest {
     @Autowired
     TaskService taskService;
 
+    @Autowired
+    MeterRegistry meterRegistry;
+
     @Test
     public void createToDoTest() {
         //given
@@ -82,6 +98,23 @@ public class TaskServiceTest {
         assertThat(resultMessage.getMessage()).isEqualTo("등록되지 않은 담당자입니다.");
     }
 
+    @Test
+    public void createToDoTest_Task_Too_Long() {
+        //given
+        ToDo toDo = new ToDo();
+        toDo.setUserNo(1);
+        toDo.setTask("긴".repeat(201));
+        long toDoCount = taskService.toDoMap.size();
+
+        //when
+        ResultMessage resultMessage = taskService.createToDo(toDo);
+
+        //then
+        assertThat(resultMessage.getResultStatus()).isEqualTo(ResultStatus.FAIL);
+        assertThat(resultMessage.getMessage()).isEqualTo("업무제목은 200자 이하로 입력해 주세요.");
+        assertThat(taskService.toDoMap.size()).isEqualTo(toDoCount);
+    }
+
     @Test
     public void createToDoTest_No_Task_Value() {
         //given
@@ -113,6 +146,7 @@ public class TaskServiceTest {
     }
 
     @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
     public void createToDoTest_ToDoNo_Wrong() {
         //given
         ToDo toDo = new ToDo();
@@ -129,6 +163,7 @@ public class TaskServiceTest {
     }
 
     @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
     public void createToDoTest_FirstToDo() {
         //given
         ToDo toDo = new ToDo();
@@ -142,7 +177,7 @@ public class TaskServiceTest {
         //then
         assertThat(resultMessage.getResultStatus()).isEqualTo(ResultStatus.SUCCESS);
         assertThat(resultMessage.getMessage()).isEqualTo("새로운 업무가 생성되었습니다.");
-        assertThat(toDo.getToDoNo()).isEqualTo(TaskService.globalToDoNo);
+        assertThat(toDo.getToDoNo()).isEqualTo(taskService.globalToDoNo.get());
         assertThat(toDo.getExecutionDate()).isNotNull();
         assertThat(toDo.getPolicy().getImportance()).isEqualTo(TaskImportance.B);
         assertThat(toDo.getPolicy().getOrder()).isEqualTo(0);
@@ -153,6 +188,7 @@ public class TaskServiceTest {
     }
 
     @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
     public void createToDoTest_FirstToDoOnExecutionDate() throws ParseException {
         //given
         ToDo toDo = new ToDo();
@@ -179,7 +215,7 @@ public class TaskServiceTest {
         //then
         assertThat(resultMessage.getResultStatus()).isEqualTo(ResultStatus.SUCCESS);
         assertThat(resultMessage.getMessage()).isEqualTo("새로운 업무가 생성되었습니다.");
-        assertThat(firstToDo.getToDoNo()).isEqualTo(TaskService.globalToDoNo);
+        assertThat(firstToDo.getToDoNo()).isEqualTo(taskService.globalToDoNo.get());
         assertThat(firstToDo.getExecutionDate()).isEqualTo(firstExecutionDate);
         assertThat(firstToDo.getPolicy().getImportance()).isEqualTo(TaskImportance.B);
         assertThat(firstToDo.getPolicy().getOrder()).isEqualTo(0);
@@ -215,7 +251,7 @@ public class TaskServiceTest {
         //then
         assertThat(resultMessage.getResultStatus()).isEqualTo(ResultStatus.SUCCESS);
         assertThat(resultMessage.getMessage()).isEqualTo("새로운 업무가 생성되었습니다.");
-        assertThat(secondToDo.getToDoNo()).isEqualTo(TaskService.globalToDoNo);
+        assertThat(secondToDo.getToDoNo()).isEqualTo(taskService.globalToDoNo.get());
         assertThat(secondToDo.getExecutionDate()).isEqualTo(executionDate);
         assertThat(secondToDo.getPolicy().getImportance()).isEqualTo(TaskImportance.B);
         assertThat(secondToDo.getPolicy().getOrder()).isEqualTo(1);
@@ -224,6 +260,74 @@ public class TaskServiceTest {
     }
 
     @Test
+    public void createToDoTest_Concurrent_Unique_ToDoNo() throws InterruptedException {
+        //given
+        int threadCount = 4;
+        int toDoCount = 500;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        Set<Long> toDoNoSet = ConcurrentHashMap.newKeySet();
+
+        //when
+        for (int i=0; i<threadCount*toDoCount; i++) {
+            long userNo = (i % 5) + 1;
+
+            executorService.submit(() -> {
+                ToDo toDo = new ToDo();
+                toDo.setUserNo(userNo);
+                toDo.setTask("동시 업무");
+
+                taskService.createToDo(toDo);
+                toDoNoSet.add(toDo.getToDoNo());
+            });
+        }
+
+        executorService.shutdown();
+        executorService.awaitTermination(30, TimeUnit.SECONDS);
+
+        //then
+        assertThat(toDoNoSet.size()).isEqualTo(threadCount*toDoCount);
+    }
+
+    @Test
+    public void createToDoListTest() throws ParseException {
+        //given
+        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        Date executionDate = simpleDateFormat.parse("2023-08-01 10:00:00");
+
+        ToDo firstToDo = new ToDo();
+        firstToDo.setUserNo(3);
+        firstToDo.setTask("일괄 업무1");
+        firstToDo.setExecutionDate(executionDate);
+
+        ToDo wrongToDo = new ToDo();
+        wrongToDo.setUserNo(3);
+        wrongToDo.setExecutionDate(executionDate);
+
+        ToDo secondToDo = new ToDo();
+        secondToDo.setUserNo(3);
+        secondToDo.setTask("일괄 업무2");
+        secondToDo.setExecutionDate(executionDate);
+
+        //when
+        List<ToDoResultMessage> resultMessages = taskService.createToDoList(List.of(firstToDo, wrongToDo, secondToDo));
+
+        //then
+        assertThat(resultMessages).hasSize(3);
+        assertThat(resultMessages.get(0).getResultStatus()).isEqualTo(ResultStatus.SUCCESS);
+        assertThat(resultMessages.get(0).getToDoNo()).isEqualTo(firstToDo.getToDoNo());
+        assertThat(resultMessages.get(1).getResultStatus()).isEqualTo(ResultStatus.FAIL);
+        assertThat(resultMessages.get(1).getMessage()).isEqualTo("업무제목이 입력되지 않았습니다.");
+        assertThat(resultMessages.get(1).getToDoNo()).isEqualTo(0);
+        assertThat(resultMessages.get(2).getResultStatus()).isEqualTo(ResultStatus.SUCCESS);
+        assertThat(resultMessages.get(2).getToDoNo()).isEqualTo(secondToDo.getToDoNo());
+        assertThat(firstToDo.getPolicy().getImportance()).isEqualTo(TaskImportance.B);
+        assertThat(firstToDo.getPolicy().getOrder()).isEqualTo(0);
+        assertThat(secondToDo.getPolicy().getImportance()).isEqualTo(TaskImportance.B);
+        assertThat(secondToDo.getPolicy().getOrder()).isEqualTo(1);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
     public void getToDoListTest_NoToDoList() throws ParseException{
         //given
         ToDoSearchCondition toDoSearchCondition = new ToDoSearchCondition();
@@ -241,6 +345,7 @@ public class TaskServiceTest {
     }
 
     @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
     public void getToDoListTest_UserNo1_ExecutionDateFirstDayOfApril_ToDoList() throws ParseException{
         //given
         SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
@@ -284,6 +389,7 @@ public class TaskServiceTest {
     }
 
     @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
     public void getToDoListTest_Delegation_ToDoList() throws ParseException, CloneNotSupportedException{
         //given
         SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
@@ -409,6 +515,329 @@ public class TaskServiceTest {
         assertThat(toDoList.size()).isEqualTo(0);
     }
 
+    @Test
+    public void getToDoListTest_Ordered_By_Policy() throws ParseException, CloneNotSupportedException {
+        //given
+        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        Date executionDate = simpleDateFormat.parse("2023-07-01 10:00:00");
+        ToDo[] toDos = new ToDo[3];
+
+        for (int i=0; i<3; i++) {
+            toDos[i] = new ToDo();
+            toDos[i].setUserNo(5);
+            toDos[i].setTask("정렬 업무" + i);
+            toDos[i].setExecutionDate(executionDate);
+
+            taskService.createToDo(toDos[i]);
+        }
+
+        ToDo modifiedToDo = toDos[2].clone();
+        modifiedToDo.setPolicy(new Policy(TaskImportance.S, 0));
+        taskService.modifyToDo(modifiedToDo);
+
+        ToDoSearchCondition toDoSearchCondition = new ToDoSearchCondition();
+        toDoSearchCondition.setUserNo(5);
+        toDoSearchCondition.setSearchDate(executionDate);
+
+        //when
+        List<ToDo> toDoList = taskService.getToDoList(toDoSearchCondition);
+
+        //then
+        assertThat(toDoList.size()).isEqualTo(3);
+        assertThat(toDoList.get(0).getTask()).isEqualTo("정렬 업무2");
+        assertThat(toDoList.get(0).getPolicy().getImportance()).isEqualTo(TaskImportance.S);
+        assertThat(toDoList.get(0).getPolicy().getOrder()).isEqualTo(0);
+        assertThat(toDoList.get(1).getTask()).isEqualTo("정렬 업무0");
+        assertThat(toDoList.get(1).getPolicy().getOrder()).isEqualTo(0);
+        assertThat(toDoList.get(2).getTask()).isEqualTo("정렬 업무1");
+        assertThat(toDoList.get(2).getPolicy().getOrder()).isEqualTo(1);
+    }
+
+    @Test
+    public void getToDoListTest_Shared_Snapshot() throws ParseException, CloneNotSupportedException {
+        //given
+        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        Date executionDate = simpleDateFormat.parse("2023-07-02 10:00:00");
+
+        ToDo firstToDo = new ToDo();
+        firstToDo.setUserNo(5);
+        firstToDo.setTask("스냅샷 업무1");
+        firstToDo.setExecutionDate(executionDate);
+
+        taskService.createToDo(firstToDo);
+
+        ToDoSearchCondition toDoSearchCondition = new ToDoSearchCondition();
+        toDoSearchCondition.setUserNo(5);
+        toDoSearchCondition.setSearchDate(executionDate);
+
+        List<ToDo> firstToDoList = taskService.getToDoList(toDoSearchCondition);
+
+        ToDo secondToDo = new ToDo();
+        secondToDo.setUserNo(5);
+        secondToDo.setTask("스냅샷 업무2");
+        secondToDo.setExecutionDate(executionDate);
+
+        taskService.createToDo(secondToDo);
+
+        ToDo modifiedToDo = firstToDoList.get(0).clone();
+        modifiedToDo.setPolicy(null);
+        modifiedToDo.setTask("스냅샷 업무1 변경");
+        taskService.modifyToDo(modifiedToDo);
+
+        //when
+        List<ToDo> toDoList = taskService.getToDoList(toDoSearchCondition);
+        List<ToDo> cachedToDoList = taskService.getToDoList(toDoSearchCondition);
+
+        //then
+        assertThat(firstToDoList.get(0).getTask()).isEqualTo("스냅샷 업무1");
+        assertThat(toDoList.get(0).getTask()).isEqualTo("스냅샷 업무1 변경");
+        assertThat(toDoList.get(1).getTask()).isEqualTo("스냅샷 업무2");
+        assertThat(cachedToDoList.get(0)).isSameAs(toDoList.get(0));
+        assertThat(cachedToDoList.get(1)).isSameAs(toDoList.get(1));
+        assertThatThrownBy(() -> toDoList.get(0).setTask("변경")).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(toDoList.get(1).getExecutionDate()).isEqualTo(executionDate);
+        assertThat(toDoList.get(1).getExecutionDate()).isNotSameAs(taskService.toDoMap.get(secondToDo.getToDoNo()).getExecutionDate());
+    }
+
+    @Test
+    public void getToDoListTest_Cache_Invalidation() throws ParseException {
+        //given
+        Date executionDate = new SimpleDateFormat("yyyy-MM-dd").parse("2023-12-01");
+
+        ToDo toDo = new ToDo();
+        toDo.setUserNo(4);
+        toDo.setTask("캐시 업무");
+        toDo.setExecutionDate(executionDate);
+        taskService.createToDo(toDo);
+
+        ToDoSearchCondition searchCondition = new ToDoSearchCondition();
+        searchCondition.setUserNo(4);
+        searchCondition.setSearchDate(executionDate);
+
+        ToDoSearchCondition targetSearchCondition = new ToDoSearchCondition();
+        targetSearchCondition.setUserNo(3);
+        targetSearchCondition.setSearchDate(executionDate);
+
+        List<ToDo> firstToDoList = taskService.getToDoList(searchCondition);
+        List<ToDo> firstTargetToDoList = taskService.getToDoList(targetSearchCondition);
+        long hitCount = taskService.getToDoListCacheStatistics().getHitCount();
+
+        //when
+        List<ToDo> cachedToDoList = taskService.getToDoList(searchCondition);
+
+        toDo.setStatus(TaskStatus.DELEGATION);
+        toDo.setTargetUserNo(3);
+        taskService.modifyToDo(toDo);
+
+        List<ToDo> delegatedToDoList = taskService.getToDoList(searchCondition);
+        List<ToDo> targetToDoList = taskService.getToDoList(targetSearchCondition);
+
+        ToDo delegatedToDo = taskService.toDoMap.get(taskService.globalToDoNo.get());
+        delegatedToDo.setStatus(TaskStatus.CANCEL);
+        taskService.modifyToDo(delegatedToDo);
+
+        List<ToDo> canceledToDoList = taskService.getToDoList(searchCondition);
+
+        //then
+        assertThat(cachedToDoList).isSameAs(firstToDoList);
+        assertThat(taskService.getToDoListCacheStatistics().getHitCount()).isGreaterThan(hitCount);
+        assertThat(firstTargetToDoList).isEmpty();
+        assertThat(delegatedToDoList.get(0).getTask()).isEqualTo("캐시 업무 위임(test3)");
+        assertThat(targetToDoList).extracting(ToDo::getTask).containsExactly("캐시 업무 test4");
+        assertThat(canceledToDoList.get(0).getStatus()).isEqualTo(TaskStatus.PROGRESS);
+        assertThat(canceledToDoList.get(0).getTask()).isEqualTo("캐시 업무");
+    }
+
+    @Test
+    public void getToDoListTest_ETag() throws ParseException {
+        //given
+        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        Date firstDate = simpleDateFormat.parse("2023-12-10");
+        Date secondDate = simpleDateFormat.parse("2023-12-11");
+
+        ToDoRangeSearchCondition rangeSearchCondition = new ToDoRangeSearchCondition();
+        rangeSearchCondition.setUserNo(4);
+        rangeSearchCondition.setFromDate(firstDate);
+        rangeSearchCondition.setToDate(secondDate);
+
+        ToDoRangeSearchCondition wideRangeSearchCondition = new ToDoRangeSearchCondition();
+        wideRangeSearchCondition.setUserNo(4);
+        wideRangeSearchCondition.setFromDate(simpleDateFormat.parse("0001-01-01"));
+        wideRangeSearchCondition.setToDate(simpleDateFormat.parse("9999-12-31"));
+
+        String emptyETag = taskService.getToDoListETag(4, firstDate);
+
+        ToDo firstToDo = new ToDo();
+        firstToDo.setUserNo(4);
+        firstToDo.setTask("버전 업무1");
+        firstToDo.setExecutionDate(firstDate);
+        taskService.createToDo(firstToDo);
+
+        String firstETag = taskService.getToDoListETag(4, firstDate);
+        String firstRangeETag = taskService.getToDoListByRangeETag(rangeSearchCondition);
+        String firstWideRangeETag = taskService.getToDoListByRangeETag(wideRangeSearchCondition);
+
+        //when
+        ToDo secondToDo = new ToDo();
+        secondToDo.setUserNo(4);
+        secondToDo.setTask("버전 업무2");
+        secondToDo.setExecutionDate(secondDate);
+        taskService.createToDo(secondToDo);
+
+        //then
+        assertThat(firstETag).isNotEqualTo(emptyETag);
+        assertThat(taskService.getToDoListETag(4, firstDate)).isEqualTo(firstETag);
+        assertThat(taskService.getToDoListETag(4, secondDate)).isNotEqualTo(firstETag);
+        assertThat(taskService.getToDoListByRangeETag(rangeSearchCondition)).isNotEqualTo(firstRangeETag);
+        assertThat(taskService.getToDoListByRangeETag(wideRangeSearchCondition)).isNotEqualTo(firstWideRangeETag);
+    }
+
+    @Test
+    public void createToDoTest_Metrics() {
+        //given
+        ToDo toDo = new ToDo();
+        toDo.setUserNo(0);
+        toDo.setTask("지표 업무");
+
+        Timer failTimer = meterRegistry.find("task.operation").tags("operation", "create", "result", "FAIL").timer();
+        long failCount = failTimer == null ? 0 : failTimer.count();
+
+        //when
+        ResultMessage resultMessage = taskService.createToDo(toDo);
+
+        //then
+        assertThat(resultMessage.getResultStatus()).isEqualTo(ResultStatus.FAIL);
+        assertThat(meterRegistry.get("task.operation").tags("operation", "create", "result", "FAIL").timer().count())
+                .isEqualTo(failCount + 1);
+        assertThat(meterRegistry.get("task.todos").gauge().value()).isEqualTo(taskService.toDoMap.size());
+        assertThat(meterRegistry.get("task.users").gauge().value()).isEqualTo(taskService.userMap.size());
+    }
+
+    @Test
+    public void getUserListTest_Metrics() {
+        //given
+        UserSearchCondition userSearchCondition = new UserSearchCondition();
+        userSearchCondition.setPrefix("test");
+
+        Timer userListTimer = meterRegistry.find("task.operation").tags("operation", "get_user_list", "result", "SUCCESS").timer();
+        Timer allUsersTimer = meterRegistry.find("task.operation").tags("operation", "get_all_users", "result", "SUCCESS").timer();
+        long userListCount = userListTimer == null ? 0 : userListTimer.count();
+        long allUsersCount = allUsersTimer == null ? 0 : allUsersTimer.count();
+
+        //when
+        taskService.getUserList(userSearchCondition);
+        taskService.getAllUserList();
+
+        //then
+        assertThat(meterRegistry.get("task.operation").tags("operation", "get_user_list", "result", "SUCCESS").timer().count())
+                .isEqualTo(userListCount + 1);
+        assertThat(meterRegistry.get("task.operation").tags("operation", "get_all_users", "result", "SUCCESS").timer().count())
+                .isEqualTo(allUsersCount + 1);
+    }
+
+    @Test
+    public void getToDoListByRangeTest() throws ParseException {
+        //given
+        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        String[] executionDates = {"2023-05-01 10:00:00", "2023-05-01 11:00:00", "2023-05-03 10:00:00", "2023-05-08 10:00:00"};
+
+        for (int i=0; i<executionDates.length; i++) {
+            ToDo toDo = new ToDo();
+            toDo.setStatus(TaskStatus.PROGRESS);
+            toDo.setUserNo(3);
+            toDo.setTask("범위 업무" + i);
+            toDo.setExecutionDate(simpleDateFormat.parse(executionDates[i]));
+
+            taskService.createToDo(toDo);
+        }
+
+        ToDoRangeSearchCondition rangeSearchCondition = new ToDoRangeSearchCondition();
+        rangeSearchCondition.setUserNo(3);
+        rangeSearchCondition.setFromDate(simpleDateFormat.parse("2023-05-01 00:00:00"));
+        rangeSearchCondition.setToDate(simpleDateFormat.parse("2023-05-07 00:00:00"));
+
+        //when
+        List<DailyToDoList> dailyToDoLists = taskService.getToDoListByRange(rangeSearchCondition);
+
+        //then
+        assertThat(dailyToDoLists.size()).isEqualTo(2);
+        assertThat(dailyToDoLists.get(0).getDate()).isEqualTo(simpleDateFormat.parse("2023-05-01 00:00:00"));
+        assertThat(dailyToDoLists.get(0).getToDoList().size()).isEqualTo(2);
+        assertThat(dailyToDoLists.get(0).getToDoList().get(0).getTask()).isEqualTo("범위 업무0");
+        assertThat(dailyToDoLists.get(1).getDate()).isEqualTo(simpleDateFormat.parse("2023-05-03 00:00:00"));
+        assertThat(dailyToDoLists.get(1).getToDoList().get(0).getTask()).isEqualTo("범위 업무2");
+    }
+
+    @Test
+    public void getToDoListByRangeTest_Status() throws ParseException {
+        //given
+        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        Date executionDate = simpleDateFormat.parse("2023-06-01 10:00:00");
+
+        ToDo progressToDo = new ToDo();
+        progressToDo.setStatus(TaskStatus.PROGRESS);
+        progressToDo.setUserNo(4);
+        progressToDo.setTask("진행 업무");
+        progressToDo.setExecutionDate(executionDate);
+
+        taskService.createToDo(progressToDo);
+
+        ToDo completeToDo = new ToDo();
+        completeToDo.setStatus(TaskStatus.COMPLETE);
+        completeToDo.setUserNo(4);
+        completeToDo.setTask("완료 업무");
+        completeToDo.setExecutionDate(executionDate);
+
+        taskService.createToDo(completeToDo);
+
+        ToDoRangeSearchCondition rangeSearchCondition = new ToDoRangeSearchCondition();
+        rangeSearchCondition.setUserNo(4);
+        rangeSearchCondition.setFromDate(executionDate);
+        rangeSearchCondition.setToDate(executionDate);
+        rangeSearchCondition.setStatus(TaskStatus.COMPLETE);
+
+        //when
+        List<DailyToDoList> dailyToDoLists = taskService.getToDoListByRange(rangeSearchCondition);
+
+        //then
+        assertThat(dailyToDoLists.size()).isEqualTo(1);
+        assertThat(dailyToDoLists.get(0).getToDoList().size()).isEqualTo(1);
+        assertThat(dailyToDoLists.get(0).getToDoList().get(0).getTask()).isEqualTo("완료 업무");
+    }
+
+    @Test
+    public void exportToDoListTest() throws ParseException {
+        //given
+        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        String[] executionDates = {"2023-09-02 10:00:00", "2023-09-01 10:00:00", "2023-09-02 11:00:00"};
+
+        for (int i=0; i<executionDates.length; i++) {
+            ToDo toDo = new ToDo();
+            toDo.setUserNo(4);
+            toDo.setTask("내보내기 업무" + i);
+            toDo.setExecutionDate(simpleDateFormat.parse(executionDates[i]));
+
+            taskService.createToDo(toDo);
+        }
+
+        List<ToDo> exportedToDoList = new ArrayList<>();
+
+        //when
+        taskService.exportToDoList(4, toDo -> {
+            if (toDo.getTask().startsWith("내보내기")) {
+                exportedToDoList.add(toDo);
+            }
+        });
+
+        //then
+        assertThat(exportedToDoList.size()).isEqualTo(3);
+        assertThat(exportedToDoList.get(0).getTask()).isEqualTo("내보내기 업무1");
+        assertThat(exportedToDoList.get(1).getTask()).isEqualTo("내보내기 업무0");
+        assertThat(exportedToDoList.get(1).getPolicy().getOrder()).isEqualTo(0);
+        assertThat(exportedToDoList.get(2).getTask()).isEqualTo("내보내기 업무2");
+        assertThat(exportedToDoList.get(2).getPolicy().getOrder()).isEqualTo(1);
+    }
+
     @Test
     public void getAllUserListTest(){
         //given
@@ -443,6 +872,7 @@ public class TaskServiceTest {
     }
 
     @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
     public void modifyToDoTest_Same_Policy() throws ParseException, CloneNotSupportedException {
         //given
         SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
@@ -478,6 +908,7 @@ public class TaskServiceTest {
     }
 
     @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
     public void modifyToDoTest_Change_Importance() throws ParseException, CloneNotSupportedException {
         //given
         SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
@@ -515,6 +946,7 @@ public class TaskServiceTest {
     }
 
     @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
     public void modifyToDoTest_Change_Order() throws ParseException, CloneNotSupportedException {
         //given
         SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
@@ -575,6 +1007,7 @@ public class TaskServiceTest {
     }
 
     @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
     public void modifyToDoTest_Change_ExecutionDate() throws ParseException, CloneNotSupportedException {
         //given
         SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
@@ -604,7 +1037,7 @@ public class TaskServiceTest {
         assertThat(taskService.toDoMap.get(2L).getPolicy().getOrder()).isEqualTo(1);
         assertThat(taskService.toDoMap.get(3L).getPolicy().getImportance()).isEqualTo(TaskImportance.B);
         assertThat(taskService.toDoMap.get(3L).getPolicy().getOrder()).isEqualTo(0);
-        assertThat(taskService.userToDoListMap.get(1L).get("20230402").size()).isEqualTo(1);
+        assertThat(taskService.userToDoListMap.get(1L).get(EpochDays.of(simpleDateFormat.parse("2023-04-02 10:00:00"))).size()).isEqualTo(1);
         assertThat(taskService.toDoMap.get(4L).getPolicy().getImportance()).isEqualTo(TaskImportance.B);
         assertThat(taskService.toDoMap.get(4L).getPolicy().getOrder()).isEqualTo(2);
         assertThat(taskService.toDoMap.get(5L).getPolicy().getImportance()).isEqualTo(TaskImportance.B);
@@ -648,7 +1081,7 @@ public class TaskServiceTest {
 
         taskService.modifyToDo(toDo);
 
-        ToDo delegateToDo = taskService.toDoMap.get(taskService.globalToDoNo);
+        ToDo delegateToDo = taskService.toDoMap.get(taskService.globalToDoNo.get());
 
         delegateToDo.setStatus(TaskStatus.DELEGATION);
         delegateToDo.setTargetUserNo(3);
@@ -677,9 +1110,10 @@ public class TaskServiceTest {
         //then
         assertThat(resultMessage.getResultStatus()).isEqualTo(ResultStatus.SUCCESS);
         assertThat(resultMessage.getMessage()).isEqualTo("업무 변경이 완료되었습니다.");
-        assertThat(taskService.delegationRelationMap.get(toDo.getToDoNo()).size()).isEqualTo(2);
-        assertThat(taskService.delegatedToDoMap.get(taskService.globalToDoNo)).isEqualTo(toDo.getToDoNo());
-        assertThat(taskService.toDoMap.get(taskService.globalToDoNo).getStatus()).isEqualTo(TaskStatus.DELEGATION);
+        assertThat(taskService.delegationIndex.getByOrigin(toDo.getToDoNo()).getUserNo()).isEqualTo(1);
+        assertThat(taskService.delegationIndex.getByOrigin(toDo.getToDoNo()).getTargetUserNo()).isEqualTo(2);
+        assertThat(taskService.delegationIndex.getByDelegated(taskService.globalToDoNo.get()).getOriginToDoNo()).isEqualTo(toDo.getToDoNo());
+        assertThat(taskService.toDoMap.get(taskService.globalToDoNo.get()).getStatus()).isEqualTo(TaskStatus.DELEGATION);
     }
 
     @Test
@@ -694,7 +1128,7 @@ public class TaskServiceTest {
         toDo.setStatus(TaskStatus.DELEGATION);
         taskService.modifyToDo(toDo);
 
-        ToDo delegatedToDo = taskService.toDoMap.get(taskService.globalToDoNo);
+        ToDo delegatedToDo = taskService.toDoMap.get(taskService.globalToDoNo.get());
         delegatedToDo.setStatus(TaskStatus.CANCEL);
 
         //when
@@ -703,7 +1137,259 @@ public class TaskServiceTest {
         //then
         assertThat(resultMessage.getResultStatus()).isEqualTo(ResultStatus.SUCCESS);
         assertThat(resultMessage.getMessage()).isEqualTo("업무 변경이 완료되었습니다.");
-        assertThat(taskService.delegatedToDoMap.containsKey(delegatedToDo.getDescription())).isEqualTo(false);
+        assertThat(taskService.delegationIndex.isDelegated(delegatedToDo.getToDoNo())).isEqualTo(false);
+    }
+
+    @Test
+    public void modifyToDoAsyncTest_Crossing_Delegation() throws Exception {
+        //given
+        int toDoCount = 50;
+        Date executionDate = new SimpleDateFormat("yyyy-MM-dd").parse("2023-11-01");
+        List<ToDo> toDoList = new ArrayList<>();
+
+        for (int i=0; i<toDoCount*2; i++) {
+            ToDo toDo = new ToDo();
+            toDo.setUserNo(i % 2 == 0 ? 2 : 3);
+            toDo.setExecutionDate(executionDate);
+            toDo.setTask("교차 위임 업무" + i);
+
+            taskService.createToDo(toDo);
+            toDo.setTargetUserNo(i % 2 == 0 ? 3 : 2);
+            toDo.setStatus(TaskStatus.DELEGATION);
+            toDoList.add(toDo);
+        }
+
+        //when
+        List<CompletableFuture<ResultMessage>> futures = new ArrayList<>();
+        for (ToDo toDo : toDoList) {
+            futures.add(taskService.modifyToDoAsync(toDo));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+
+        //then
+        for (int i=0; i<toDoList.size(); i++) {
+            DelegationRecord delegationRecord = taskService.delegationIndex.getByOrigin(toDoList.get(i).getToDoNo());
+
+            assertThat(futures.get(i).get().getResultStatus()).isEqualTo(ResultStatus.SUCCESS);
+            assertThat(delegationRecord.getUserNo()).isEqualTo(toDoList.get(i).getUserNo());
+            assertThat(delegationRecord.getTargetUserNo()).isEqualTo(toDoList.get(i).getTargetUserNo());
+        }
+    }
+
+    @Test
+    public void modifyToDoTest_Conflict_Version() throws ParseException {
+        //given
+        Date executionDate = new SimpleDateFormat("yyyy-MM-dd").parse("2024-03-04");
+        ToDo toDo = new ToDo();
+        toDo.setUserNo(3);
+        toDo.setExecutionDate(executionDate);
+        toDo.setTask("버전 업무");
+
+        taskService.createToDo(toDo);
+
+        ToDo firstEditedToDo = new ToDo();
+        firstEditedToDo.setToDoNo(toDo.getToDoNo());
+        firstEditedToDo.setUserNo(3);
+        firstEditedToDo.setExecutionDate(executionDate);
+        firstEditedToDo.setTask("먼저 변경한 업무");
+        firstEditedToDo.setVersion(1);
+
+        ToDo secondEditedToDo = new ToDo();
+        secondEditedToDo.setToDoNo(toDo.getToDoNo());
+        secondEditedToDo.setUserNo(3);
+        secondEditedToDo.setExecutionDate(executionDate);
+        secondEditedToDo.setTask("나중에 변경한 업무");
+        secondEditedToDo.setVersion(1);
+
+        ToDo staleDeleteToDo = new ToDo();
+        staleDeleteToDo.setToDoNo(toDo.getToDoNo());
+        staleDeleteToDo.setVersion(1);
+
+        //when
+        ResultMessage firstResult = taskService.modifyToDo(firstEditedToDo);
+        ResultMessage secondResult = taskService.modifyToDo(secondEditedToDo);
+        ResultMessage deleteResult = taskService.deleteToDo(staleDeleteToDo);
+
+        //then
+        assertThat(firstResult.getResultStatus()).isEqualTo(ResultStatus.SUCCESS);
+        assertThat(((ToDoResultMessage) firstResult).getVersion()).isEqualTo(2);
+        assertThat(secondResult.getResultStatus()).isEqualTo(ResultStatus.CONFLICT);
+        assertThat(((ToDoConflictResultMessage) secondResult).getCurrentToDo().getTask()).isEqualTo("먼저 변경한 업무");
+        assertThat(((ToDoConflictResultMessage) secondResult).getCurrentToDo().getVersion()).isEqualTo(2);
+        assertThat(deleteResult.getResultStatus()).isEqualTo(ResultStatus.CONFLICT);
+        assertThat(taskService.toDoMap.get(toDo.getToDoNo()).getTask()).isEqualTo("먼저 변경한 업무");
+    }
+
+    @Test
+    public void modifyToDoTest_No_Version() throws ParseException {
+        //given
+        Date executionDate = new SimpleDateFormat("yyyy-MM-dd").parse("2024-03-05");
+        ToDo toDo = new ToDo();
+        toDo.setUserNo(3);
+        toDo.setExecutionDate(executionDate);
+        toDo.setTask("버전 없는 업무");
+
+        taskService.createToDo(toDo);
+
+        ToDo editedToDo = new ToDo();
+        editedToDo.setToDoNo(toDo.getToDoNo());
+        editedToDo.setUserNo(3);
+        editedToDo.setExecutionDate(executionDate);
+        editedToDo.setTask("버전 없이 변경한 업무");
+
+        ToDo deleteToDo = new ToDo();
+        deleteToDo.setToDoNo(toDo.getToDoNo());
+
+        //when
+        ResultMessage modifyResult = taskService.modifyToDo(editedToDo);
+        ResultMessage deleteResult = taskService.deleteToDo(deleteToDo);
+
+        //then
+        assertThat(modifyResult.getResultStatus()).isEqualTo(ResultStatus.FAIL);
+        assertThat(modifyResult.getMessage()).isEqualTo("업무 버전이 입력되지 않았습니다.");
+        assertThat(deleteResult.getResultStatus()).isEqualTo(ResultStatus.FAIL);
+        assertThat(deleteResult.getMessage()).isEqualTo("업무 버전이 입력되지 않았습니다.");
+        assertThat(taskService.toDoMap.get(toDo.getToDoNo()).getTask()).isEqualTo("버전 없는 업무");
+    }
+
+    @Test
+    public void modifyToDoTest_Negative_Version() throws ParseException {
+        //given
+        Date executionDate = new SimpleDateFormat("yyyy-MM-dd").parse("2024-03-06");
+        ToDo toDo = new ToDo();
+        toDo.setUserNo(3);
+        toDo.setExecutionDate(executionDate);
+        toDo.setTask("음수 버전 업무");
+
+        taskService.createToDo(toDo);
+
+        ToDo editedToDo = new ToDo();
+        editedToDo.setToDoNo(toDo.getToDoNo());
+        editedToDo.setUserNo(3);
+        editedToDo.setExecutionDate(executionDate);
+        editedToDo.setTask("음수 버전으로 변경한 업무");
+        editedToDo.setVersion(-1);
+
+        ToDo deleteToDo = new ToDo();
+        deleteToDo.setToDoNo(toDo.getToDoNo());
+        deleteToDo.setVersion(-1);
+
+        //when
+        ResultMessage modifyResult = taskService.modifyToDo(editedToDo);
+        ResultMessage deleteResult = taskService.deleteToDo(deleteToDo);
+        ResultMessage uncheckedResult = taskService.modifyToDoUnchecked(editedToDo);
+
+        //then
+        assertThat(modifyResult.getResultStatus()).isEqualTo(ResultStatus.FAIL);
+        assertThat(modifyResult.getMessage()).isEqualTo("업무 버전이 올바르지 않습니다.");
+        assertThat(deleteResult.getResultStatus()).isEqualTo(ResultStatus.FAIL);
+        assertThat(deleteResult.getMessage()).isEqualTo("업무 버전이 올바르지 않습니다.");
+        assertThat(uncheckedResult.getResultStatus()).isEqualTo(ResultStatus.SUCCESS);
+        assertThat(taskService.toDoMap.get(toDo.getToDoNo()).getTask()).isEqualTo("음수 버전으로 변경한 업무");
+    }
+
+    @Test
+    public void getDelegationToDoListTest_Cancelled() throws ParseException {
+        //given
+        ToDo toDo = new ToDo();
+        toDo.setUserNo(4);
+        toDo.setExecutionDate(new SimpleDateFormat("yyyy-MM-dd").parse("2024-01-05"));
+        toDo.setTask("위임 목록 업무");
+
+        taskService.createToDo(toDo);
+        toDo.setTargetUserNo(2);
+        toDo.setStatus(TaskStatus.DELEGATION);
+        taskService.modifyToDo(toDo);
+
+        ToDo delegatedToDo = taskService.toDoMap.get(taskService.delegationIndex.getByOrigin(toDo.getToDoNo()).getDelegatedToDoNo());
+
+        //when
+        List<ToDo> outgoingToDoList = taskService.getOutgoingDelegationList(4);
+        List<ToDo> incomingToDoList = taskService.getIncomingDelegationList(2);
+
+        delegatedToDo.setStatus(TaskStatus.CANCEL);
+        taskService.modifyToDo(delegatedToDo);
+
+        //then
+        assertThat(outgoingToDoList).extracting(ToDo::getToDoNo).contains(toDo.getToDoNo());
+        assertThat(outgoingToDoList).extracting(ToDo::getTask).contains("위임 목록 업무 위임(test2)");
+        assertThat(incomingToDoList).extracting(ToDo::getToDoNo).contains(delegatedToDo.getToDoNo());
+        assertThat(incomingToDoList).extracting(ToDo::getTask).contains("위임 목록 업무 test4");
+        assertThat(taskService.getOutgoingDelegationList(4)).extracting(ToDo::getToDoNo).doesNotContain(toDo.getToDoNo());
+        assertThat(taskService.getIncomingDelegationList(2)).extracting(ToDo::getToDoNo).doesNotContain(delegatedToDo.getToDoNo());
+    }
+
+    @Test
+    public void getUserListTest_Duplicate_Name() {
+        //given
+        UserSearchCondition userSearchCondition = new UserSearchCondition();
+        userSearchCondition.setPrefix("test1");
+        userSearchCondition.setSize(1);
+
+        long expectedCount = taskService.userMap.values().stream().filter(user -> user.getName().startsWith("test1")).count();
+        List<User> userList = new ArrayList<>();
+
+        //when
+        UserPage userPage;
+        do {
+            userPage = taskService.getUserList(userSearchCondition);
+            userList.addAll(userPage.getUserList());
+            userSearchCondition.setCursor(userPage.getNextCursor());
+        } while (userPage.getNextCursor() > 0);
+
+        //then
+        assertThat(userList).hasSize((int) expectedCount);
+        assertThat(userList).extracting(User::getNo).contains(1L, 5L).doesNotHaveDuplicates().isSorted();
+        assertThat(userList).extracting(User::getName).containsOnly("test1");
+    }
+
+    @Test
+    public void searchToDoTest_Korean_English() throws ParseException {
+        //given
+        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        String[][] contents = {{"분기정산 보고서 작성", "quarterly ledger"}, {"분기정산 검토", ""}, {"Quarterly 팀 회의", "review"}};
+        String[] executionDates = {"2024-02-01", "2024-02-01", "2024-02-03"};
+        List<ToDo> toDoList = new ArrayList<>();
+
+        for (int i=0; i<contents.length; i++) {
+            ToDo toDo = new ToDo();
+            toDo.setUserNo(2);
+            toDo.setExecutionDate(simpleDateFormat.parse(executionDates[i]));
+            toDo.setTask(contents[i][0]);
+            toDo.setDescription(contents[i][1]);
+
+            taskService.createToDo(toDo);
+            toDoList.add(toDo);
+        }
+
+        ToDoTextSearchCondition textSearchCondition = new ToDoTextSearchCondition();
+        textSearchCondition.setUserNo(2);
+
+        //when
+        textSearchCondition.setQuery("분기정산");
+        List<ToDo> koreanResult = taskService.searchToDoList(textSearchCondition);
+
+        textSearchCondition.setQuery("정산 보고서");
+        List<ToDo> phraseResult = taskService.searchToDoList(textSearchCondition);
+
+        textSearchCondition.setQuery("QUARTERLY");
+        List<ToDo> englishResult = taskService.searchToDoList(textSearchCondition);
+
+        textSearchCondition.setFromDate(simpleDateFormat.parse("2024-02-02"));
+        List<ToDo> rangeResult = taskService.searchToDoList(textSearchCondition);
+
+        taskService.deleteToDo(toDoList.get(1));
+        textSearchCondition.setQuery("분기정산");
+        textSearchCondition.setFromDate(null);
+        List<ToDo> deletedResult = taskService.searchToDoList(textSearchCondition);
+
+        //then
+        assertThat(koreanResult).extracting(ToDo::getToDoNo).containsExactly(toDoList.get(1).getToDoNo(), toDoList.get(0).getToDoNo());
+        assertThat(phraseResult).extracting(ToDo::getToDoNo).containsExactly(toDoList.get(0).getToDoNo());
+        assertThat(englishResult).extracting(ToDo::getToDoNo).containsExactly(toDoList.get(2).getToDoNo(), toDoList.get(0).getToDoNo());
+        assertThat(rangeResult).extracting(ToDo::getToDoNo).containsExactly(toDoList.get(2).getToDoNo());
+        assertThat(deletedResult).extracting(ToDo::getToDoNo).containsExactly(toDoList.get(0).getToDoNo());
     }
 
     @Test
@@ -740,6 +1426,7 @@ public class TaskServiceTest {
     }
 
     @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
     public void deleteToDoTest_OnTheList() throws ParseException {
         //given
         //given
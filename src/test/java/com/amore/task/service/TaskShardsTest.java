@@ -0,0 +1,170 @@
+package com.amore.task.service;
+
+import com.amore.task.enums.ResultStatus;
+import com.amore.task.enums.TaskStatus;
+import com.amore.task.model.ResultMessage;
+import com.amore.task.model.ToDo;
+import com.amore.task.model.User;
+import com.amore.task.model.UserPage;
+import com.amore.task.model.UserSearchCondition;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TaskShardsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void delegateToDoTest_CrossShard() throws ParseException {
+        //given
+        TaskShards taskShards = new TaskShards(2, "", new SimpleMeterRegistry());
+        ToDo toDo = newToDo(1, "샤드 위임 업무");
+
+        taskShards.forUser(1).createToDo(toDo);
+        toDo.setStatus(TaskStatus.DELEGATION);
+        toDo.setTargetUserNo(2);
+
+        //when
+        taskShards.forUser(1).modifyToDo(toDo);
+
+        long delegatedToDoNo = taskShards.forUser(1).delegationIndex.getByOrigin(toDo.getToDoNo()).getDelegatedToDoNo();
+        List<ToDo> incomingToDoList = taskShards.forUser(2).getIncomingDelegationList(2);
+
+        ToDo delegatedToDo = new ToDo();
+        delegatedToDo.setToDoNo(delegatedToDoNo);
+        delegatedToDo.setVersion(taskShards.forToDo(delegatedToDoNo).toDoMap.get(delegatedToDoNo).getVersion());
+        taskShards.forToDo(delegatedToDoNo).deleteToDo(delegatedToDo);
+
+        //then
+        assertThat(taskShards.forToDo(toDo.getToDoNo())).isSameAs(taskShards.forUser(1));
+        assertThat(taskShards.forToDo(delegatedToDoNo)).isSameAs(taskShards.forUser(2));
+        assertThat(incomingToDoList).extracting(ToDo::getToDoNo).containsExactly(delegatedToDoNo);
+        assertThat(incomingToDoList).extracting(ToDo::getTask).containsExactly("샤드 위임 업무 test1");
+        assertThat(taskShards.forUser(1).toDoMap.get(toDo.getToDoNo()).getStatus()).isEqualTo(TaskStatus.PROGRESS);
+        assertThat(taskShards.forUser(1).delegationIndex.size()).isEqualTo(0);
+        assertThat(taskShards.forUser(2).delegationIndex.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void getUserListTest_Merge_Shards() {
+        //given
+        TaskShards taskShards = new TaskShards(3, "", new SimpleMeterRegistry());
+        UserSearchCondition userSearchCondition = new UserSearchCondition();
+        userSearchCondition.setPrefix("test");
+        userSearchCondition.setSize(2);
+
+        List<User> userList = new ArrayList<>();
+
+        //when
+        UserPage userPage;
+        do {
+            userPage = taskShards.getUserList(userSearchCondition);
+            userList.addAll(userPage.getUserList());
+            userSearchCondition.setCursor(userPage.getNextCursor());
+        } while (userPage.getNextCursor() > 0);
+
+        //then
+        assertThat(userList).extracting(User::getNo).containsExactly(1L, 5L, 2L, 3L, 4L);
+    }
+
+    @Test
+    public void openTest_Recover_Shards() throws ParseException {
+        //given
+        TaskShards taskShards = new TaskShards(2, directory.toString(), new SimpleMeterRegistry());
+        ToDo toDo = newToDo(3, "복구 위임 업무");
+
+        taskShards.forUser(3).createToDo(toDo);
+        toDo.setStatus(TaskStatus.DELEGATION);
+        toDo.setTargetUserNo(4);
+        taskShards.forUser(3).modifyToDo(toDo);
+        taskShards.close();
+
+        //when
+        TaskShards recoveredShards = new TaskShards(2, directory.toString(), new SimpleMeterRegistry());
+
+        //then
+        assertThat(recoveredShards.getAllUserList()).hasSize(5);
+        assertThat(recoveredShards.forUser(3).getOutgoingDelegationList(3)).extracting(ToDo::getToDoNo).containsExactly(toDo.getToDoNo());
+        assertThat(recoveredShards.forUser(4).getIncomingDelegationList(4)).extracting(ToDo::getTask).containsExactly("복구 위임 업무 test3");
+
+        recoveredShards.close();
+    }
+
+    @Test
+    public void modifyToDoAsyncTest_Deleted_Before_Modify() throws ParseException {
+        //given
+        TaskShards taskShards = new TaskShards(1, "", new SimpleMeterRegistry());
+        TaskService taskService = taskShards.forUser(1);
+        ToDo toDo = newToDo(1, "삭제될 업무");
+        taskService.createToDo(toDo);
+
+        ToDo deleteToDo = new ToDo();
+        deleteToDo.setToDoNo(toDo.getToDoNo());
+        deleteToDo.setVersion(toDo.getVersion());
+
+        ToDo modifyToDo = newToDo(1, "변경 업무");
+        modifyToDo.setToDoNo(toDo.getToDoNo());
+        modifyToDo.setVersion(toDo.getVersion());
+
+        //when
+        CompletableFuture<ResultMessage> deleted = taskService.deleteToDoAsync(deleteToDo);
+        CompletableFuture<ResultMessage> modified = taskService.modifyToDoAsync(modifyToDo);
+
+        //then
+        assertThat(deleted.join().getResultStatus()).isEqualTo(ResultStatus.SUCCESS);
+        assertThat(modified.join().getResultStatus()).isEqualTo(ResultStatus.FAIL);
+        assertThat(modified.join().getMessage()).isEqualTo("변경할 업무가 존재하지 않습니다.");
+    }
+
+    @Test
+    public void deleteToDoAsyncTest_Modified_Before_Delete() throws ParseException, CloneNotSupportedException {
+        //given
+        TaskShards taskShards = new TaskShards(1, "", new SimpleMeterRegistry());
+        TaskService taskService = taskShards.forUser(1);
+        Date movedExecutionDate = new SimpleDateFormat("yyyy-MM-dd").parse("2024-04-02");
+
+        for (int i=0; i<200; i++) {
+            ToDo toDo = newToDo(1, "이동 후 삭제될 업무 " + i);
+            taskService.createToDo(toDo);
+
+            ToDo modifyToDo = toDo.clone();
+            modifyToDo.setExecutionDate(movedExecutionDate);
+
+            ToDo staleDeleteToDo = new ToDo();
+            staleDeleteToDo.setToDoNo(toDo.getToDoNo());
+            staleDeleteToDo.setVersion(toDo.getVersion());
+
+            //when
+            CompletableFuture<ResultMessage> modified = taskService.modifyToDoAsync(modifyToDo);
+            CompletableFuture<ResultMessage> deleted = taskService.deleteToDoAsync(staleDeleteToDo);
+
+            //then
+            assertThat(modified.join().getResultStatus()).isEqualTo(ResultStatus.SUCCESS);
+            assertThat(deleted.join().getResultStatus()).isEqualTo(ResultStatus.CONFLICT);
+            assertThat(taskService.toDoMap.get(toDo.getToDoNo()).getExecutionDate()).isEqualTo(movedExecutionDate);
+        }
+
+        assertThat(taskService.captureSnapshot(0)).isNotNull();
+    }
+
+    private ToDo newToDo(long userNo, String task) throws ParseException {
+        ToDo toDo = new ToDo();
+        toDo.setUserNo(userNo);
+        toDo.setTask(task);
+        toDo.setExecutionDate(new SimpleDateFormat("yyyy-MM-dd").parse("2024-04-01"));
+
+        return toDo;
+    }
+}
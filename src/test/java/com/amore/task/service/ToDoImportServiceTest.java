@@ -0,0 +1,146 @@
+package com.amore.task.service;
+
+import com.amore.task.enums.ResultStatus;
+import com.amore.task.enums.TaskImportance;
+import com.amore.task.enums.TaskStatus;
+import com.amore.task.model.ToDo;
+import com.amore.task.model.ToDoImportCondition;
+import com.amore.task.model.ToDoImportResultMessage;
+import com.amore.task.model.ToDoSearchCondition;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class ToDoImportServiceTest {
+
+    @Autowired
+    TaskService taskService;
+
+    @Autowired
+    TaskShards taskShards;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void importToDoListTest_Csv() throws IOException, ParseException {
+        //given
+        Path path = directory.resolve("todo.csv");
+        Files.writeString(path, "userNo,executionDate,task,description,importance\n"
+                + "5,2023-10-01,가져온 업무1,,\n"
+                + "5,2023-10-01 09:00:00,\"가져온 업무2, 쉼표\",설명,\n"
+                + "5,2023-10-01,가져온 업무3,,A\n"
+                + "99,2023-10-01,없는 담당자 업무,,\n"
+                + "다섯,2023-10-01,잘못된 업무,,\n");
+
+        ToDoImportCondition importCondition = new ToDoImportCondition();
+        importCondition.setPath("todo.csv");
+
+        //when
+        ToDoImportResultMessage resultMessage = newImportService(directory).importToDoList(importCondition);
+
+        //then
+        assertThat(resultMessage.getResultStatus()).isEqualTo(ResultStatus.SUCCESS);
+        assertThat(resultMessage.getReadCount()).isEqualTo(5);
+        assertThat(resultMessage.getImportedCount()).isEqualTo(3);
+        assertThat(resultMessage.getFailedCount()).isEqualTo(2);
+
+        List<ToDo> toDoList = taskService.getToDoList(newSearchCondition(5, "2023-10-01"));
+
+        assertThat(toDoList).extracting(ToDo::getTask).containsExactly("가져온 업무3", "가져온 업무1", "가져온 업무2, 쉼표");
+        assertThat(toDoList.get(0).getPolicy().getImportance()).isEqualTo(TaskImportance.A);
+        assertThat(toDoList.get(2).getPolicy().getImportance()).isEqualTo(TaskImportance.B);
+        assertThat(toDoList.get(2).getPolicy().getOrder()).isEqualTo(1);
+        assertThat(toDoList.get(2).getDescription()).isEqualTo("설명");
+    }
+
+    @Test
+    public void importToDoListTest_Ndjson() throws IOException, ParseException {
+        //given
+        Path path = directory.resolve("todo.ndjson");
+        Files.writeString(path, "{\"toDoNo\":900001,\"userNo\":5,\"executionDate\":\"2023-10-02\",\"task\":\"가져온 업무\",\"status\":\"COMPLETE\",\"policy\":{\"importance\":\"C\",\"order\":0}}\n"
+                + "\n"
+                + "{\"toDoNo\":900002,\"userNo\":5,\"executionDate\":\"2023-10-02\",\"task\":\"위임 업무\",\"status\":\"DELEGATION\",\"targetUserNo\":2}\n");
+
+        ToDoImportCondition importCondition = new ToDoImportCondition();
+        importCondition.setPath("todo.ndjson");
+
+        //when
+        ToDoImportResultMessage resultMessage = newImportService(directory).importToDoList(importCondition);
+
+        //then
+        assertThat(resultMessage.getResultStatus()).isEqualTo(ResultStatus.SUCCESS);
+        assertThat(resultMessage.getImportedCount()).isEqualTo(2);
+
+        List<ToDo> toDoList = taskService.getToDoList(newSearchCondition(5, "2023-10-02"));
+
+        assertThat(toDoList).extracting(ToDo::getTask).containsExactly("가져온 업무", "위임 업무");
+        assertThat(toDoList).extracting(ToDo::getToDoNo).doesNotContain(900001L, 900002L);
+        assertThat(toDoList.get(0).getStatus()).isEqualTo(TaskStatus.COMPLETE);
+        assertThat(toDoList.get(1).getStatus()).isEqualTo(TaskStatus.PROGRESS);
+        assertThat(toDoList.get(1).getTargetUserNo()).isEqualTo(0);
+    }
+
+    @Test
+    public void importToDoListTest_No_File() {
+        //given
+        ToDoImportCondition importCondition = new ToDoImportCondition();
+        importCondition.setPath("none.ndjson");
+
+        //when
+        ToDoImportResultMessage resultMessage = newImportService(directory).importToDoList(importCondition);
+
+        //then
+        assertThat(resultMessage.getResultStatus()).isEqualTo(ResultStatus.FAIL);
+        assertThat(resultMessage.getMessage()).isEqualTo("가져올 파일이 존재하지 않습니다.");
+    }
+
+    @Test
+    public void importToDoListTest_Outside_Import_Directory() throws IOException {
+        //given
+        Path importDirectory = Files.createDirectory(directory.resolve("import"));
+        Files.writeString(directory.resolve("outside.csv"), "userNo,executionDate,task\n5,2023-10-03,밖의 업무\n");
+
+        ToDoImportCondition relativeCondition = new ToDoImportCondition();
+        relativeCondition.setPath("../outside.csv");
+        ToDoImportCondition absoluteCondition = new ToDoImportCondition();
+        absoluteCondition.setPath(directory.resolve("outside.csv").toString());
+
+        //when
+        ToDoImportService importService = newImportService(importDirectory);
+        ToDoImportResultMessage relativeResultMessage = importService.importToDoList(relativeCondition);
+        ToDoImportResultMessage absoluteResultMessage = importService.importToDoList(absoluteCondition);
+
+        //then
+        assertThat(relativeResultMessage.getResultStatus()).isEqualTo(ResultStatus.FAIL);
+        assertThat(relativeResultMessage.getMessage()).isEqualTo("가져올 파일의 경로가 올바르지 않습니다.");
+        assertThat(absoluteResultMessage.getMessage()).isEqualTo("가져올 파일의 경로가 올바르지 않습니다.");
+    }
+
+    private ToDoImportService newImportService(Path importDirectory) {
+        return new ToDoImportService(taskShards, objectMapper, importDirectory.toString());
+    }
+
+    private ToDoSearchCondition newSearchCondition(long userNo, String date) throws ParseException {
+        ToDoSearchCondition searchCondition = new ToDoSearchCondition();
+        searchCondition.setUserNo(userNo);
+        searchCondition.setSearchDate(new SimpleDateFormat("yyyy-MM-dd").parse(date));
+
+        return searchCondition;
+    }
+}
@@ -0,0 +1,55 @@
+package com.amore.task.store;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentLongLruCacheTest {
+
+    @Test
+    public void lruCacheTest_Evict_Least_Recently_Used() {
+        //given
+        ConcurrentLongLruCache<String> cache = new ConcurrentLongLruCache<>(3, 1);
+
+        cache.put(1, "value1");
+        cache.put(2, "value2");
+        cache.put(3, "value3");
+        cache.get(1);
+
+        //when
+        cache.put(4, "value4");
+
+        //then
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.get(2)).isNull();
+        assertThat(cache.get(1)).isEqualTo("value1");
+        assertThat(cache.get(3)).isEqualTo("value3");
+        assertThat(cache.get(4)).isEqualTo("value4");
+        assertThat(cache.getHitCount()).isEqualTo(4);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void lruCacheTest_Remove_And_Clear() {
+        //given
+        ConcurrentLongLruCache<String> cache = new ConcurrentLongLruCache<>(1000, 4);
+
+        for (long key=-50; key<50; key++) {
+            cache.put(key, "value" + key);
+        }
+
+        //when
+        cache.remove(-50);
+        cache.put(0, "changed");
+
+        //then
+        assertThat(cache.get(-50)).isNull();
+        assertThat(cache.get(0)).isEqualTo("changed");
+        assertThat(cache.size()).isEqualTo(99);
+
+        cache.clear();
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.get(1)).isNull();
+    }
+}
@@ -0,0 +1,65 @@
+package com.amore.task.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentLongMapTest {
+
+    @Test
+    public void longObjectMapTest_Same_As_HashMap() {
+        //given
+        Random random = new Random(20230401L);
+        ConcurrentLongObjectMap<String> longObjectMap = new ConcurrentLongObjectMap<>(4);
+        Map<Long, String> expectedMap = new HashMap<>();
+
+        //when
+        for (int i=0; i<50000; i++) {
+            long key = random.nextInt(2000) - 1000;
+
+            if (random.nextInt(3) == 0) {
+                assertThat(longObjectMap.remove(key)).isEqualTo(expectedMap.remove(key));
+            } else {
+                assertThat(longObjectMap.put(key, "value" + i)).isEqualTo(expectedMap.put(key, "value" + i));
+            }
+        }
+
+        //then
+        assertThat(longObjectMap.size()).isEqualTo(expectedMap.size());
+        for (long key=-1000; key<1000; key++) {
+            assertThat(longObjectMap.get(key)).isEqualTo(expectedMap.get(key));
+            assertThat(longObjectMap.containsKey(key)).isEqualTo(expectedMap.containsKey(key));
+        }
+    }
+
+    @Test
+    public void longLongMapTest_Same_As_HashMap() {
+        //given
+        Random random = new Random(20230402L);
+        ConcurrentLongLongMap longLongMap = new ConcurrentLongLongMap(4);
+        Map<Long, Long> expectedMap = new HashMap<>();
+
+        //when
+        for (int i=1; i<=50000; i++) {
+            long key = random.nextInt(2000) + 1;
+
+            if (random.nextInt(3) == 0) {
+                assertThat(longLongMap.remove(key)).isEqualTo(expectedMap.getOrDefault(key, 0L));
+                expectedMap.remove(key);
+            } else {
+                assertThat(longLongMap.put(key, i)).isEqualTo(expectedMap.getOrDefault(key, 0L));
+                expectedMap.put(key, (long) i);
+            }
+        }
+
+        //then
+        assertThat(longLongMap.size()).isEqualTo(expectedMap.size());
+        for (long key=1; key<=2000; key++) {
+            assertThat(longLongMap.get(key)).isEqualTo(expectedMap.getOrDefault(key, ConcurrentLongLongMap.NO_VALUE));
+        }
+    }
+}
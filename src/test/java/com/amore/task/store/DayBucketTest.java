@@ -0,0 +1,83 @@
+package com.amore.task.store;
+
+import com.amore.task.enums.TaskImportance;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DayBucketTest {
+
+    @Test
+    public void moveTest_Before_Entry_Holding_Order() {
+        //given
+        DayBucket dayBucket = new DayBucket();
+        RankedPolicy[] policies = new RankedPolicy[5];
+
+        for (int i=0; i<5; i++) {
+            policies[i] = dayBucket.insert(i + 1, TaskImportance.B, i);
+        }
+
+        //when
+        RankedPolicy movedPolicy = dayBucket.move(5, TaskImportance.B, 1);
+
+        //then
+        assertThat(movedPolicy.getOrder()).isEqualTo(1);
+        assertThat(policies[0].getOrder()).isEqualTo(0);
+        assertThat(policies[1].getOrder()).isEqualTo(2);
+        assertThat(policies[2].getOrder()).isEqualTo(3);
+        assertThat(policies[3].getOrder()).isEqualTo(4);
+    }
+
+    @Test
+    public void moveTest_Change_Importance() {
+        //given
+        DayBucket dayBucket = new DayBucket();
+        RankedPolicy firstPolicy = dayBucket.insert(1, TaskImportance.B, 0);
+        dayBucket.insert(2, TaskImportance.B, 1);
+        RankedPolicy thirdPolicy = dayBucket.insert(3, TaskImportance.B, 2);
+
+        //when
+        RankedPolicy movedPolicy = dayBucket.move(2, TaskImportance.S, 3);
+
+        //then
+        assertThat(movedPolicy.getImportance()).isEqualTo(TaskImportance.S);
+        assertThat(movedPolicy.getOrder()).isEqualTo(0);
+        assertThat(firstPolicy.getOrder()).isEqualTo(0);
+        assertThat(thirdPolicy.getOrder()).isEqualTo(1);
+        assertThat(dayBucket.getFirstImportance()).isEqualTo(TaskImportance.S);
+    }
+
+    @Test
+    public void orderTreeTest_Same_As_List() {
+        //given
+        Random random = new Random(20230401L);
+        OrderTree orderTree = new OrderTree();
+        List<OrderTree.Node> expectedList = new ArrayList<>();
+
+        //when
+        for (int i=0; i<5000; i++) {
+            if (!expectedList.isEmpty() && random.nextInt(3) == 0) {
+                orderTree.remove(expectedList.remove(random.nextInt(expectedList.size())));
+            } else {
+                int index = random.nextInt(expectedList.size() + 1);
+                expectedList.add(index, orderTree.insert(index, i));
+            }
+        }
+
+        //then
+        assertThat(orderTree.size()).isEqualTo(expectedList.size());
+
+        OrderTree.Node node = orderTree.first();
+        for (int i=0; i<expectedList.size(); i++) {
+            assertThat(node).isSameAs(expectedList.get(i));
+            assertThat(node.rank()).isEqualTo(i);
+            assertThat(orderTree.nodeAt(i)).isSameAs(node);
+            node = node.next();
+        }
+        assertThat(node).isNull();
+    }
+}
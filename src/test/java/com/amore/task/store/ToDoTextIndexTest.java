@@ -0,0 +1,57 @@
+package com.amore.task.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ToDoTextIndexTest {
+
+    @Test
+    public void tokenizeTest_Korean_Bigram_English_Word() {
+        //given
+        List<String> terms = new ArrayList<>();
+
+        //when
+        TextTokenizer.tokenize("API문서 작성, Weekly-Report 팀", terms::add);
+
+        //then
+        assertThat(terms).containsExactly("api", "문서", "작성", "weekly", "report", "팀");
+    }
+
+    @Test
+    public void searchTest_Rank_TopK() {
+        //given
+        ToDoTextIndex toDoTextIndex = new ToDoTextIndex();
+        toDoTextIndex.put(1, "회의 준비", "보고서 초안");
+        toDoTextIndex.put(2, "보고서 작성", "");
+        toDoTextIndex.put(3, "보고서 검토", "보고서 수정");
+        toDoTextIndex.put(4, "점심", "");
+
+        //when
+        long[] toDoNos = toDoTextIndex.search(List.of("보고", "고서"), toDoNo -> true, 2);
+
+        //then
+        assertThat(toDoNos).containsExactly(3, 2);
+    }
+
+    @Test
+    public void searchTest_Put_Remove() {
+        //given
+        ToDoTextIndex toDoTextIndex = new ToDoTextIndex();
+        toDoTextIndex.put(1, "weekly report", "");
+        toDoTextIndex.put(2, "weekly sync", "");
+
+        //when
+        toDoTextIndex.put(1, "monthly report", "");
+        toDoTextIndex.remove(2);
+
+        //then
+        assertThat(toDoTextIndex.search(List.of("weekly"), toDoNo -> true, 10)).isEmpty();
+        assertThat(toDoTextIndex.search(List.of("monthly", "report"), toDoNo -> true, 10)).containsExactly(1);
+        assertThat(toDoTextIndex.search(List.of("report"), toDoNo -> toDoNo != 1, 10)).isEmpty();
+        assertThat(toDoTextIndex.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,128 @@
+package com.amore.task.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UserMailboxExecutorTest {
+    private static final int USER_COUNT = 8;
+    private static final int THREAD_COUNT = 8;
+    private static final int MESSAGE_COUNT = 5000;
+
+    @Test
+    public void submitTest_Single_Writer_In_Order() throws Exception {
+        //given
+        UserMailboxExecutor executor = new UserMailboxExecutor(4);
+        AtomicInteger[] writers = newCounters();
+        int[][] lastSequences = new int[USER_COUNT][THREAD_COUNT];
+        AtomicInteger violationCount = new AtomicInteger();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        //when
+        runConcurrently(thread -> {
+            Random random = new Random(thread);
+
+            for (int sequence=1; sequence<=MESSAGE_COUNT; sequence++) {
+                int userNo = random.nextInt(USER_COUNT);
+                int messageSequence = sequence;
+
+                addFuture(futures, executor.submit(userNo, () -> {
+                    enter(writers[userNo], violationCount);
+
+                    if (lastSequences[userNo][thread] >= messageSequence) {
+                        violationCount.incrementAndGet();
+                    }
+
+                    lastSequences[userNo][thread] = messageSequence;
+                    writers[userNo].decrementAndGet();
+
+                    return messageSequence;
+                }));
+            }
+        });
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+
+        //then
+        assertThat(futures).hasSize(THREAD_COUNT * MESSAGE_COUNT);
+        assertThat(violationCount.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void submitTest_Cross_Mailbox_Without_Deadlock() throws Exception {
+        //given
+        UserMailboxExecutor executor = new UserMailboxExecutor(4);
+        AtomicInteger[] writers = newCounters();
+        AtomicInteger violationCount = new AtomicInteger();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        //when
+        runConcurrently(thread -> {
+            Random random = new Random(thread);
+
+            for (int i=0; i<MESSAGE_COUNT; i++) {
+                int userNo = random.nextInt(USER_COUNT);
+                int otherUserNo = random.nextInt(USER_COUNT);
+
+                addFuture(futures, executor.submit(userNo, otherUserNo, () -> {
+                    enter(writers[userNo], violationCount);
+                    if (otherUserNo != userNo) {
+                        enter(writers[otherUserNo], violationCount);
+                        writers[otherUserNo].decrementAndGet();
+                    }
+                    writers[userNo].decrementAndGet();
+
+                    return userNo;
+                }));
+            }
+        });
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+
+        //then
+        assertThat(futures).hasSize(THREAD_COUNT * MESSAGE_COUNT);
+        assertThat(violationCount.get()).isEqualTo(0);
+    }
+
+    private AtomicInteger[] newCounters() {
+        AtomicInteger[] counters = new AtomicInteger[USER_COUNT];
+
+        for (int i=0; i<USER_COUNT; i++) {
+            counters[i] = new AtomicInteger();
+        }
+
+        return counters;
+    }
+
+    private void enter(AtomicInteger writer, AtomicInteger violationCount) {
+        if (writer.incrementAndGet() != 1) {
+            violationCount.incrementAndGet();
+        }
+    }
+
+    private synchronized void addFuture(List<CompletableFuture<Integer>> futures, CompletableFuture<Integer> future) {
+        futures.add(future);
+    }
+
+    private void runConcurrently(IntConsumer action) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        for (int thread=0; thread<THREAD_COUNT; thread++) {
+            int threadNo = thread;
+            executorService.execute(() -> action.accept(threadNo));
+        }
+
+        executorService.shutdown();
+        executorService.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,68 @@
+package com.amore.task.store;
+
+import com.amore.task.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UserNameIndexTest {
+
+    @Test
+    public void findTest_Prefix_Duplicate_Name() {
+        //given
+        UserNameIndex userNameIndex = new UserNameIndex();
+        String[] names = {"kim", "lee", "kimchi", "kim", "park", "ki"};
+
+        for (int i=0; i<names.length; i++) {
+            userNameIndex.put(new User(i + 1, names[i]));
+        }
+
+        //when
+        List<User> firstPage = userNameIndex.find("kim", null, 2);
+        List<User> secondPage = userNameIndex.find("kim", firstPage.get(1), 2);
+
+        //then
+        assertThat(firstPage).extracting(User::getNo).containsExactly(1L, 4L);
+        assertThat(secondPage).extracting(User::getNo).containsExactly(3L);
+        assertThat(userNameIndex.find("", null, 10)).extracting(User::getName)
+                .containsExactly("ki", "kim", "kim", "kimchi", "lee", "park");
+    }
+
+    @Test
+    public void findTest_After_Before_Prefix() {
+        //given
+        UserNameIndex userNameIndex = new UserNameIndex();
+        String[] names = {"kim", "lee", "kimchi", "kim", "park", "ki"};
+
+        for (int i=0; i<names.length; i++) {
+            userNameIndex.put(new User(i + 1, names[i]));
+        }
+
+        //when
+        List<User> userList = userNameIndex.find("lee", new User(6, "ki"), 10);
+        List<User> emptyList = userNameIndex.find("kim", new User(2, "lee"), 10);
+
+        //then
+        assertThat(userList).extracting(User::getNo).containsExactly(2L);
+        assertThat(emptyList).isEmpty();
+    }
+
+    @Test
+    public void removeTest() {
+        //given
+        UserNameIndex userNameIndex = new UserNameIndex();
+        User user = new User(1, "kim");
+
+        userNameIndex.put(user);
+        userNameIndex.put(new User(2, "kim"));
+
+        //when
+        userNameIndex.remove(user);
+
+        //then
+        assertThat(userNameIndex.size()).isEqualTo(1);
+        assertThat(userNameIndex.find("kim", null, 10)).extracting(User::getNo).containsExactly(2L);
+    }
+}